@@ -2,11 +2,19 @@ plugins {
     application
     java
     checkstyle
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.example"
 version = "1.0-SNAPSHOT"
 
+java {
+    toolchain {
+        // Virtual threads for the game server
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
 repositories {
     mavenCentral()
 }
@@ -23,10 +31,84 @@ application {
     mainClass.set("tiktactoe.TikTakToeDriver")
 }
 
+tasks.processResources {
+    from("resources") {
+        include("tablebase.bin")
+    }
+}
+
+tasks.register<JavaExec>("generateTablebase") {
+    group = "build"
+    description = "Solves every reachable position and writes resources/tablebase.bin"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.model.player.Tablebase")
+    args("resources/tablebase.bin")
+}
+
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Plays computer players against each other, e.g. -PsimArgs=\"medium easy 1000000\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.simulation.SelfPlaySimulator")
+    args((project.findProperty("simArgs") as String? ?: "medium easy 1000000").split(" "))
+}
+
+tasks.register<JavaExec>("rateGames") {
+    group = "application"
+    description = "Recomputes every rating from a game log, e.g. -PrateArgs=\"resources/games.log apply\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.model.rating.RatingBatch")
+    args((project.findProperty("rateArgs") as String? ?: "resources/games.log").split(" "))
+}
+
+tasks.register<JavaExec>("convertLeaderBoard") {
+    group = "application"
+    description = "Migrates the leaderboard between storage formats, e.g. -PconvertArgs=\"json binary\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.model.gamedata.LeaderBoardConverter")
+    args((project.findProperty("convertArgs") as String? ?: "json binary").split(" "))
+}
+
+tasks.register<JavaExec>("serve") {
+    group = "application"
+    description = "Hosts games for socket clients, e.g. -PserveArgs=\"7777 300\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.server.GameServer")
+    args((project.findProperty("serveArgs") as String? ?: "7777").split(" "))
+}
+
+tasks.register<JavaExec>("serveBinary") {
+    group = "application"
+    description = "Hosts games over the binary protocol, e.g. -PserveBinaryArgs=\"7778 300 4\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.server.NioGameServer")
+    args((project.findProperty("serveBinaryArgs") as String? ?: "7778").split(" "))
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "application"
+    description = "Plays sessions against the binary server over loopback, e.g. -PloadArgs=\"64 100 10 hard\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("tiktactoe.server.LoadGenerator")
+    args((project.findProperty("loadArgs") as String? ?: "64 100 10").split(" "))
+}
+
+tasks.withType<JavaExec>().configureEach {
+    System.getProperty("tiktactoe.leaderboard.format")?.let { systemProperty("tiktactoe.leaderboard.format", it) }
+}
+
 tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+}
+
 tasks.jar {
     manifest {
         attributes["Main-Class"] = application.mainClass.get()
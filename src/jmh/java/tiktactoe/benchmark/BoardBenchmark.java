@@ -0,0 +1,114 @@
+package tiktactoe.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.HumanPlayer;
+
+/**
+ * Benchmarks the queries the game and the computer players make on the board every move
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardBenchmark {
+    private PositionCorpus corpus;
+    private HumanPlayer playerX;
+    private HumanPlayer playerO;
+    private Board[] endgameBoards;
+    private HumanPlayer[] lastMovers;
+    private int[] cells;
+    private int index;
+
+    /**
+     * Builds the position corpus, the players whose wins are checked and a mix of unfinished and finished positions
+     * for the end of game checks, each paired with the player who moved last
+     */
+    @Setup
+    public void setup() {
+        corpus = new PositionCorpus();
+        playerX = new HumanPlayer("BenchX", GameEnum.X);
+        playerO = new HumanPlayer("BenchO", GameEnum.O);
+        cells = new int[9];
+        endgameBoards = new Board[PositionCorpus.SIZE];
+        lastMovers = new HumanPlayer[PositionCorpus.SIZE];
+        for (int i = 0; i < PositionCorpus.SIZE; i++) {
+            GameEnum lastMover;
+            if ((i & 1) == 0) {
+                endgameBoards[i] = corpus.getBoard(i);
+                lastMover = corpus.getToMove(i) == GameEnum.X ? GameEnum.O : GameEnum.X;
+            } else {
+                endgameBoards[i] = corpus.getFinishedBoard(i);
+                lastMover = endgameBoards[i].getMoveHistory().peek().getPlayerSymbol();
+            }
+            lastMovers[i] = lastMover == GameEnum.X ? playerX : playerO;
+        }
+    }
+
+    /**
+     * Moves on to the next position of the corpus
+     * @return The next board
+     */
+    private Board nextBoard() {
+        index = (index + 1) & (PositionCorpus.SIZE - 1);
+        return corpus.getBoard(index);
+    }
+
+    /**
+     * Moves on to the next position of the unfinished and finished mix
+     * @return The next board
+     */
+    private Board nextEndgameBoard() {
+        index = (index + 1) & (PositionCorpus.SIZE - 1);
+        return endgameBoards[index];
+    }
+
+    /**
+     * Measures checkWin for the player who moved last, over unfinished, won and full boards
+     * @return Whether that player has won, so the call isn't optimized away
+     */
+    @Benchmark
+    public boolean checkWin() {
+        Board board = nextEndgameBoard();
+        return board.checkWin(lastMovers[index]);
+    }
+
+    /**
+     * Measures checkTie, which checks the board is full and that neither player has won, over unfinished, won and
+     * full boards
+     * @return Whether the game is a tie
+     */
+    @Benchmark
+    public boolean checkTie() {
+        return nextEndgameBoard().checkTie(playerX, playerO);
+    }
+
+    /**
+     * Measures building the list of valid moves
+     * @return The valid moves
+     */
+    @Benchmark
+    public List<Move> getValidMoves() {
+        return nextBoard().getValidMoves(corpus.getToMove(index));
+    }
+
+    /**
+     * Measures the allocation-free move generation for comparison with getValidMoves
+     * @return The number of valid moves
+     */
+    @Benchmark
+    public int fillValidMoves() {
+        return nextBoard().fillValidMoves(cells);
+    }
+}
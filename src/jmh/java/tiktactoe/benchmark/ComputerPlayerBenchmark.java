@@ -0,0 +1,151 @@
+package tiktactoe.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.ComputerPlayer;
+import tiktactoe.model.player.EasyComputer;
+import tiktactoe.model.player.HardComputer;
+import tiktactoe.model.player.MctsComputer;
+import tiktactoe.model.player.MediumComputer;
+import tiktactoe.model.player.SearchBudget;
+import tiktactoe.model.player.TablebaseComputer;
+
+/**
+ * Benchmarks the computer players over the position corpus, always asking the player whose turn it is
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComputerPlayerBenchmark {
+    /**
+     * Playouts per Monte Carlo move, small enough to keep the benchmark's iterations short
+     */
+    private static final int MCTS_PLAYOUTS = 1000;
+
+    private PositionCorpus corpus;
+    private ComputerPlayer[] easy;
+    private ComputerPlayer[] medium;
+    private ComputerPlayer[] hard;
+    private ComputerPlayer[] tablebase;
+    private ComputerPlayer[] mcts;
+    private int index;
+
+    /**
+     * Builds the position corpus and one computer player of each kind for each symbol
+     */
+    @Setup
+    public void setup() {
+        corpus = new PositionCorpus();
+        easy = new ComputerPlayer[] {new EasyComputer("EasyX", GameEnum.X), new EasyComputer("EasyO", GameEnum.O)};
+        medium = new ComputerPlayer[] {
+            new MediumComputer("MediumX", GameEnum.X), new MediumComputer("MediumO", GameEnum.O)
+        };
+        hard = new ComputerPlayer[] {new HardComputer("HardX", GameEnum.X), new HardComputer("HardO", GameEnum.O)};
+        tablebase = new ComputerPlayer[] {
+            new TablebaseComputer("TablebaseX", GameEnum.X), new TablebaseComputer("TablebaseO", GameEnum.O)
+        };
+        mcts = new ComputerPlayer[] {new MctsComputer("MctsX", GameEnum.X), new MctsComputer("MctsO", GameEnum.O)};
+        for (ComputerPlayer player : mcts) {
+            ((MctsComputer) player).setSearchBudget(new SearchBudget(Long.MAX_VALUE, MCTS_PLAYOUTS));
+        }
+    }
+
+    /**
+     * Moves on to the next position of the corpus
+     * @return The next board
+     */
+    private Board nextBoard() {
+        index = (index + 1) & (PositionCorpus.SIZE - 1);
+        return corpus.getBoard(index);
+    }
+
+    /**
+     * Picks the player of a pair whose turn it is in the current position
+     * @param players The X player and the O player
+     * @return The player about to move
+     */
+    private ComputerPlayer toMove(ComputerPlayer[] players) {
+        return corpus.getToMove(index) == GameEnum.X ? players[0] : players[1];
+    }
+
+    /**
+     * Measures the search for a winning move
+     * @return The winning move or null
+     */
+    @Benchmark
+    public Move findWinningMove() {
+        Board board = nextBoard();
+        return medium[0].findWinningMove(board, corpus.getToMove(index));
+    }
+
+    /**
+     * Measures the search for a blocking move
+     * @return The blocking move or null
+     */
+    @Benchmark
+    public Move findBlockMove() {
+        Board board = nextBoard();
+        return medium[0].findBlockMove(board, corpus.getToMove(index));
+    }
+
+    /**
+     * Measures the easy computer's move choice
+     * @return The chosen move
+     */
+    @Benchmark
+    public Move easyGetMove() {
+        Board board = nextBoard();
+        return toMove(easy).getMove(board);
+    }
+
+    /**
+     * Measures the medium computer's move choice
+     * @return The chosen move
+     */
+    @Benchmark
+    public Move mediumGetMove() {
+        Board board = nextBoard();
+        return toMove(medium).getMove(board);
+    }
+
+    /**
+     * Measures the hard computer's search once its transposition table is warm
+     * @return The chosen move
+     */
+    @Benchmark
+    public Move hardGetMove() {
+        Board board = nextBoard();
+        return toMove(hard).getMove(board);
+    }
+
+    /**
+     * Measures the tablebase computer's lookup
+     * @return The chosen move
+     */
+    @Benchmark
+    public Move tablebaseGetMove() {
+        Board board = nextBoard();
+        return toMove(tablebase).getMove(board);
+    }
+
+    /**
+     * Measures the Monte Carlo computer's search on a fixed playout budget
+     * @return The chosen move
+     */
+    @Benchmark
+    public Move mctsGetMove() {
+        Board board = nextBoard();
+        return toMove(mcts).getMove(board);
+    }
+}
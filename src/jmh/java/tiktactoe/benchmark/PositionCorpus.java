@@ -0,0 +1,120 @@
+package tiktactoe.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+
+/**
+ * A fixed set of realistic positions for the benchmarks. Positions come from games where each side plays the winning
+ * or blocking move when there is one and a random move otherwise, so the corpus is the same on every run. It holds
+ * mid-game positions, where a player is about to move, and the finished positions those games ended in, either won or
+ * full.
+ */
+public final class PositionCorpus {
+    public static final int SIZE = 1024;
+    private static final long SEED = 2024L;
+
+    private final Board[] boards;
+    private final GameEnum[] toMove;
+    private final Board[] finishedBoards;
+
+    /**
+     * Constructor for PositionCorpus. Plays games until SIZE unfinished and SIZE finished positions have been
+     * collected
+     */
+    public PositionCorpus() {
+        this.boards = new Board[SIZE];
+        this.toMove = new GameEnum[SIZE];
+        this.finishedBoards = new Board[SIZE];
+        SplittableRandom random = new SplittableRandom(SEED);
+        int count = 0;
+        int finishedCount = 0;
+        while (count < SIZE || finishedCount < SIZE) {
+            List<Move> history = new ArrayList<>();
+            Board board = new Board();
+            board.initializeBoard();
+            GameEnum current = random.nextBoolean() ? GameEnum.X : GameEnum.O;
+            while (board.getEmptyPositions() != 0 && !board.checkWin(GameEnum.X) && !board.checkWin(GameEnum.O)) {
+                if (count < SIZE) {
+                    boards[count] = replay(history);
+                    toMove[count] = current;
+                    count++;
+                }
+                Move move = chooseMove(board, current, random);
+                board.makeMove(move);
+                history.add(move);
+                current = current == GameEnum.X ? GameEnum.O : GameEnum.X;
+            }
+            if (finishedCount < SIZE) {
+                finishedBoards[finishedCount++] = board;
+            }
+        }
+    }
+
+    /**
+     * Obtains one of the positions
+     * @param index The index of the position (0 to SIZE - 1)
+     * @return A board that is not finished yet
+     */
+    public Board getBoard(int index) {
+        return boards[index];
+    }
+
+    /**
+     * Obtains one of the finished positions
+     * @param index The index of the position (0 to SIZE - 1)
+     * @return A board that is either won or full
+     */
+    public Board getFinishedBoard(int index) {
+        return finishedBoards[index];
+    }
+
+    /**
+     * Obtains the symbol of the player about to move in one of the positions
+     * @param index The index of the position (0 to SIZE - 1)
+     * @return X or O
+     */
+    public GameEnum getToMove(int index) {
+        return toMove[index];
+    }
+
+    /**
+     * Picks a move the way a casual player would: win or block when possible, otherwise anything
+     * @param board The current board
+     * @param symbol The symbol of the player about to move
+     * @param random The random source of the corpus
+     * @return The chosen move
+     */
+    private static Move chooseMove(Board board, GameEnum symbol, SplittableRandom random) {
+        int empty = board.getEmptyPositions();
+        GameEnum other = symbol == GameEnum.X ? GameEnum.O : GameEnum.X;
+        int cell = Board.findCompletingCell(board.getPositions(symbol), empty);
+        if (cell < 0) {
+            cell = Board.findCompletingCell(board.getPositions(other), empty);
+        }
+        if (cell < 0) {
+            int[] cells = new int[9];
+            int count = board.fillValidMoves(cells);
+            cell = cells[random.nextInt(count)];
+        }
+        return Move.of(cell, symbol);
+    }
+
+    /**
+     * Builds a new board from a list of moves
+     * @param history The moves to play
+     * @return A board with those moves played
+     */
+    private static Board replay(List<Move> history) {
+        Board board = new Board();
+        board.initializeBoard();
+        for (Move move : history) {
+            board.makeMove(move);
+        }
+        return board;
+    }
+}
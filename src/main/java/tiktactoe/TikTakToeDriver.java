@@ -1,7 +1,11 @@
 package tiktactoe;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import javax.swing.SwingUtilities;
 
+import tiktactoe.server.GameServer;
 import tiktactoe.view.GuiMenu;
 
 /**
@@ -11,9 +15,16 @@ public class TikTakToeDriver {
 
     /**
      * The main method that runs the application
-     * @param args User arguments
+     * @param args User arguments. server [port] [idleSeconds] [computeThreads] hosts games for socket clients
+     *             instead of opening the menu
+     * @throws IOException If the server can't bind its port
+     * @throws InterruptedException If the server is interrupted
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("server")) {
+            GameServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         GuiMenu guiMenu = new GuiMenu();
         SwingUtilities.invokeLater(guiMenu::getUserInfo);
     }
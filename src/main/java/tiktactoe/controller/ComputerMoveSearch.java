@@ -0,0 +1,136 @@
+package tiktactoe.controller;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.ComputerPlayer;
+
+/**
+ * Searches computer moves on background threads so whoever asks, usually the Swing event dispatch thread, never
+ * waits for them. Each search works on a copy of the board and gets a time budget. A search that runs over it is
+ * interrupted and a quick fallback move is played instead: a win or a block if there is one, otherwise a random
+ * cell. Found moves are handed over through a publisher, so they are placed on the thread that owns the game. A
+ * cancelled search never publishes, even if it finished just before being cancelled. Computer players keep state
+ * while they search, so a search that was given up on has to finish before the next search starts
+ */
+public class ComputerMoveSearch implements AutoCloseable {
+    private final long budgetMillis;
+    private final Executor publisher;
+    private final ExecutorService searchThreads;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CompletableFuture<Move> pending;
+    private CompletableFuture<Void> lastWorker = CompletableFuture.completedFuture(null);
+
+    /**
+     * Constructor for the search
+     * @param budgetMillis How long a computer player may think about a move
+     * @param publisher Runs the callbacks of found moves, for example SwingUtilities::invokeLater
+     */
+    public ComputerMoveSearch(long budgetMillis, Executor publisher) {
+        this.budgetMillis = budgetMillis;
+        this.publisher = publisher;
+        this.searchThreads = Executors.newCachedThreadPool(Thread.ofPlatform().name("computer-move-", 0).daemon()
+                .factory());
+    }
+
+    /**
+     * Starts searching for a computer player's move. Whatever search was still running is cancelled, and this one
+     * waits within its own budget for it to stop. Must be called from one thread at a time
+     * @param computer The computer player to move
+     * @param board The board to move on. It is copied, so it may change while the search runs
+     * @param onMove Receives the move through the publisher, unless the search is cancelled first
+     * @return The search, which completes with the searched move or the fallback move
+     */
+    public CompletableFuture<Move> search(ComputerPlayer computer, Board board, Consumer<Move> onMove) {
+        cancel();
+        long requested = generation.get();
+        Board snapshot = board.copy();
+        Move fallback = fallbackMove(computer, board);
+        CompletableFuture<Move> search = new CompletableFuture<>();
+        CompletableFuture<Void> previous = lastWorker;
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        lastWorker = finished;
+        Future<?> worker = searchThreads.submit(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                previous.get();
+            } catch (InterruptedException | ExecutionException e) {
+                // Out of time or cancelled while the last search was still stopping, so the fallback move is played
+                previous.thenRun(() -> finished.complete(null));
+                return;
+            }
+            try {
+                search.complete(computer.getMove(snapshot));
+            } catch (RuntimeException e) {
+                search.completeExceptionally(e);
+            } finally {
+                finished.complete(null);
+            }
+        });
+        search.completeOnTimeout(fallback, budgetMillis, TimeUnit.MILLISECONDS).whenCompleteAsync((move, failure) -> {
+            // Stops a search that ran over its budget or was cancelled, if it checks for interrupts
+            worker.cancel(true);
+            if (started.compareAndSet(false, true)) {
+                // Cancelled before it ever ran, so the next search only waits for the one before this
+                previous.thenRun(() -> finished.complete(null));
+            }
+            if (!(failure instanceof CancellationException) && generation.get() == requested) {
+                onMove.accept(move != null && board.isValidMove(move) ? move : fallback);
+            }
+        }, publisher);
+        pending = search;
+        return search;
+    }
+
+    /**
+     * Cancels the running search, if there is one, so its move is never published
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        CompletableFuture<Move> search = pending;
+        if (search != null) {
+            search.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * Cancels the running search and stops the search threads
+     */
+    @Override
+    public void close() {
+        cancel();
+        searchThreads.shutdownNow();
+    }
+
+    /**
+     * Picks a move without searching, for when the computer player runs out of time
+     * @param computer The computer player to move
+     * @param board The board to move on
+     * @return A winning or blocking move if there is one, otherwise a random empty cell. Null if the board is full
+     */
+    private static Move fallbackMove(ComputerPlayer computer, Board board) {
+        Move move = computer.findWinningOrBlockMove(board, computer.getSymbol());
+        if (move != null) {
+            return move;
+        }
+        List<Move> moves = board.getValidMoves(computer.getSymbol());
+        return moves.isEmpty() ? null : moves.get(ThreadLocalRandom.current().nextInt(moves.size()));
+    }
+}
@@ -0,0 +1,139 @@
+package tiktactoe.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameState;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.ComputerPlayer;
+import tiktactoe.model.player.PlayerType;
+
+/**
+ * Headless game flow for tic-tac-toe. Drives a GameState through moves, results and record updates, and tells its
+ * listeners what happened. Nothing here needs a display, so games can run on servers and in simulations.
+ */
+public class GameEngine {
+    private GameState gameState;
+    private List<GameListener> listeners;
+
+    /**
+     * Constructor for GameEngine
+     * @param gameState The gameState to drive
+     */
+    public GameEngine(GameState gameState) {
+        this.gameState = gameState;
+        this.listeners = new ArrayList<>();
+    }
+
+    /**
+     * Registers a listener for the events of this engine. Listeners hear each event in the order they were added
+     * @param listener The listener to add
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Obtains the gameState driven by this engine
+     * @return The current gameState
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Places a move for the current player. If that move ends the round the records are updated and the listeners are
+     * told about the result, otherwise the turn passes to the other player
+     * @param move The move the current player wants to place
+     * @return True if the move was placed. False if it was invalid or the round is already over
+     */
+    public boolean playMove(Move move) {
+        Board board = gameState.getBoard();
+        if (move == null || isRoundOver() || !board.isValidMove(move)) {
+            return false;
+        }
+        PlayerType player = gameState.getCurrentPlayer();
+        board.makeMove(move);
+        for (GameListener listener : listeners) {
+            listener.onMovePlayed(player, move);
+        }
+
+        if (board.checkWin(player)) {
+            player.getRecord().addWin();
+            gameState.getOpponentPlayer().getRecord().addLoss();
+            for (GameListener listener : listeners) {
+                listener.onWin(player);
+            }
+        } else if (checkBoardTie()) {
+            player.getRecord().addTies();
+            gameState.getOpponentPlayer().getRecord().addTies();
+            for (GameListener listener : listeners) {
+                listener.onTie();
+            }
+        } else {
+            switchPlayer();
+        }
+        return true;
+    }
+
+    /**
+     * Asks the current player for a move and places it. The current player must be a computer player
+     * @return True if the move was placed. False otherwise
+     */
+    public boolean playComputerMove() {
+        ComputerPlayer computerPlayer = (ComputerPlayer) gameState.getCurrentPlayer();
+        return playMove(computerPlayer.getMove(gameState.getBoard()));
+    }
+
+    /**
+     * Keeps playing computer moves until the round is over or it is a human player's turn
+     */
+    public void playRound() {
+        while (!isRoundOver() && gameState.getCurrentPlayer() instanceof ComputerPlayer) {
+            if (!playComputerMove()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Clears the board and gives the first turn to player one
+     */
+    public void startNewRound() {
+        gameState.getBoard().resetBoard();
+        gameState.setCurrentPlayer(gameState.getPlayerOne());
+    }
+
+    /**
+     * Checks to see if the round has ended with a win or a tie
+     * @return True if no more moves can be played this round. False otherwise
+     */
+    public boolean isRoundOver() {
+        return checkBoardWin() || gameState.getBoard().isBoardFull();
+    }
+
+    /**
+     * Checks to see if a player has won based on the content of the board via gameState
+     * @return True if someone has won. False otherwise
+     */
+    public boolean checkBoardWin() {
+        Board board = gameState.getBoard();
+        return board.checkWin(gameState.getPlayerOne()) || board.checkWin(gameState.getPlayerTwo());
+    }
+
+    /**
+     * Checks to see if a player has tied based on the content of the board via gameState
+     * @return True gameState ends with a tie. False otherwise.
+     */
+    public boolean checkBoardTie() {
+        return gameState.getBoard().checkTie(gameState.getPlayerOne(), gameState.getPlayerTwo());
+    }
+
+    /**
+     * Simply changes the current player after a player has made a move.
+     */
+    public void switchPlayer() {
+        gameState.setCurrentPlayer(gameState.getOpponentPlayer());
+    }
+}
@@ -0,0 +1,29 @@
+package tiktactoe.controller;
+
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.PlayerType;
+
+/**
+ * Receives the events of a game driven by the GameEngine. A display, a server session or a simulator can listen to
+ * the same engine
+ */
+public interface GameListener {
+
+    /**
+     * Called after a move has been placed on the board
+     * @param player The player who made the move
+     * @param move The move that was placed
+     */
+    void onMovePlayed(PlayerType player, Move move);
+
+    /**
+     * Called after a player completes a line. Records have already been updated
+     * @param winner The player who won
+     */
+    void onWin(PlayerType winner);
+
+    /**
+     * Called after the board fills up without a winner. Records have already been updated
+     */
+    void onTie();
+}
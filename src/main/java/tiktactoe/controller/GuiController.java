@@ -2,8 +2,10 @@ package tiktactoe.controller;
 
 import java.util.Map;
 
+import javax.swing.SwingUtilities;
+
 import tiktactoe.model.gamedata.GameState;
-import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardService;
 import tiktactoe.model.gamedata.Move;
 import tiktactoe.model.gamedata.PlayerRecord;
 import tiktactoe.model.player.ComputerPlayer;
@@ -12,21 +14,40 @@ import tiktactoe.view.GuiMenu;
 import tiktactoe.view.TicTacToeGui;
 
 /**
- * Class that controls the logic behind gui application of tic-tac-toe
+ * Class that connects the gui application of tic-tac-toe to the headless GameEngine. Computer moves are searched in
+ * the background and placed back on the event dispatch thread, so the window keeps responding while they think
  */
 public class GuiController {
+    private static final long DEFAULT_MOVE_BUDGET_MILLIS = 2000;
 
     private GameState gameState;
     private TicTacToeGui gui;
+    private GameEngine engine;
+    private ComputerMoveSearch computerMoves;
 
     /**
-     * Constructor for GuiController
+     * Constructor for GuiController. Registers the rating recorder and the gui as listeners of the game engine
      * @param gameState The current gameState
      * @param gui The gui application display
      */
     public GuiController(GameState gameState, TicTacToeGui gui) {
+        this(gameState, gui, DEFAULT_MOVE_BUDGET_MILLIS);
+    }
+
+    /**
+     * Constructor for GuiController with a time budget for the computer player's moves
+     * @param gameState The current gameState
+     * @param gui The gui application display
+     * @param moveBudgetMillis How long the computer player may think about a move before a quick move is played
+     */
+    public GuiController(GameState gameState, TicTacToeGui gui, long moveBudgetMillis) {
         this.gameState = gameState;
         this.gui = gui;
+        this.engine = new GameEngine(gameState);
+        // The recorder goes first so a result is rated before the gui's play-again dialog can end the session
+        this.engine.addListener(new RatingRecorder(gameState, LeaderBoardService.getInstance()));
+        this.engine.addListener(gui);
+        this.computerMoves = new ComputerMoveSearch(moveBudgetMillis, SwingUtilities::invokeLater);
     }
 
     /**
@@ -36,52 +57,39 @@ public class GuiController {
      */
     public void clickSlotOnGrid(int row, int col) {
         if (this.gameState.getCurrentPlayer() instanceof HumanPlayer) {
-            Move move = new Move(row, col, this.gameState.getCurrentPlayer().getSymbol());
-            if (this.gameState.getBoard().isValidMove(move)) {
-                this.gameState.getBoard().makeMove(move);
-                gui.updateSlot(row, col, this.gameState.getCurrentPlayer().getSymbol());
-            } else {
+            Move move = Move.of(row, col, this.gameState.getCurrentPlayer().getSymbol());
+            if (!engine.playMove(move)) {
                 return;
             }
-
-            if (checkBoardWin()) {
-                this.gameState.getCurrentPlayer().getRecord().addWin();
-                this.gameState.getOpponentPlayer().getRecord().addLoss();
-                gui.displayWinner();
-            } else if (checkBoardTie()) {
-                this.gameState.getCurrentPlayer().getRecord().addTies();
-                this.gameState.getOpponentPlayer().getRecord().addTies();
-                gui.displayTie();
-            } else {
-                switchPlayer();
-                if (this.gameState.getCurrentPlayer() instanceof ComputerPlayer) {
-                    computerPlayerMove();
-                }
+            if (!engine.isRoundOver() && this.gameState.getCurrentPlayer() instanceof ComputerPlayer) {
+                computerPlayerMove();
             }
         }
     }
 
     /**
-     * Logic that handles the computer Ai move in the board game
+     * Logic that handles the computer Ai move in the board game. The move is searched in the background and placed
+     * on the event dispatch thread once it is found. Clicks are ignored meanwhile, since it isn't a human's turn
      */
     public void computerPlayerMove() {
-        ComputerPlayer computerPlayer = (ComputerPlayer) this.gameState.getCurrentPlayer();
         System.out.println("Computer Player Detected");
-        Move move = computerPlayer.getMove(this.gameState.getBoard());
-        this.gameState.getBoard().makeMove(move);
-        this.gui.updateSlot(move.getRow(), move.getCol(), this.gameState.getCurrentPlayer().getSymbol());
-
-        if (checkBoardWin()) {
-            this.gameState.getCurrentPlayer().getRecord().addWin();
-            this.gameState.getOpponentPlayer().getRecord().addLoss();
-            gui.displayWinner();
-        } else if (checkBoardTie()) {
-            this.gameState.getCurrentPlayer().getRecord().addTies();
-            this.gameState.getOpponentPlayer().getRecord().addTies();
-            gui.displayTie();
-        } else {
-            switchPlayer();
-        }
+        ComputerPlayer computer = (ComputerPlayer) gameState.getCurrentPlayer();
+        computerMoves.search(computer, gameState.getBoard(), engine::playMove);
+    }
+
+    /**
+     * Clears the board for another round of the same game session, dropping any computer move still being searched
+     */
+    public void startNewRound() {
+        computerMoves.cancel();
+        engine.startNewRound();
+    }
+
+    /**
+     * Stops any computer move still being searched, for when the window goes away
+     */
+    public void shutdown() {
+        computerMoves.close();
     }
 
     /**
@@ -89,14 +97,7 @@ public class GuiController {
      * @return True if someone has won. False otherwise
      */
     public boolean checkBoardWin() {
-        boolean result = false;
-        if (this.gameState.getBoard().checkWin(this.gameState.getPlayerOne())) {
-            result = true;
-        }
-        if (this.gameState.getBoard().checkWin(this.gameState.getPlayerTwo())) {
-            result = true;
-        }
-        return result;
+        return engine.checkBoardWin();
     }
 
     /**
@@ -104,18 +105,14 @@ public class GuiController {
      * @return True gameState ends with a tie. False otherwise.
      */
     public boolean checkBoardTie() {
-        return this.gameState.getBoard().checkTie(this.gameState.getPlayerOne(), this.gameState.getPlayerTwo());
+        return engine.checkBoardTie();
     }
 
     /**
      * Simply changes the current player after a player has made a move.
      */
     public void switchPlayer() {
-        if (this.gameState.getCurrentPlayer() == this.gameState.getPlayerOne()) {
-            this.gameState.setCurrentPlayer(this.gameState.getPlayerTwo());
-        } else {
-            this.gameState.setCurrentPlayer(this.gameState.getPlayerOne());
-        }
+        engine.switchPlayer();
     }
 
     /**
@@ -123,14 +120,12 @@ public class GuiController {
      */
     public void exitGameSession() {
         // Updates the leaderboard based on session
-        LeaderBoard leaderBoard = new LeaderBoard();
-        leaderBoard.initializeLeaderBoard();
         gameState.setPlayerScoreBoard(gameState.getPlayerOne(), gameState.getPlayerTwo());
         Map<String, PlayerRecord> sessionInfo = this.gameState.getScoreBoard();
-        leaderBoard.updateLeaderBoard(sessionInfo);
-        leaderBoard.updateJsonFile();
+        LeaderBoardService.getInstance().recordSession(sessionInfo);
 
         // Clears out of tic-tac-toe gui and opens menu options
+        shutdown();
         gui.dispose();
         this.gameState.getPlayerOne().getRecord().reset();
         GuiMenu menu = new GuiMenu();
@@ -0,0 +1,52 @@
+package tiktactoe.controller;
+
+import tiktactoe.model.gamedata.GameState;
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.PlayerType;
+
+/**
+ * Listens to a GameEngine and rates every finished round on the leaderboard service
+ */
+public class RatingRecorder implements GameListener {
+    private final GameState gameState;
+    private final LeaderBoardService leaderBoardService;
+
+    /**
+     * Constructor for RatingRecorder
+     * @param gameState The gameState driven by the engine being listened to
+     * @param leaderBoardService The service the results are rated on
+     */
+    public RatingRecorder(GameState gameState, LeaderBoardService leaderBoardService) {
+        this.gameState = gameState;
+        this.leaderBoardService = leaderBoardService;
+    }
+
+    /**
+     * Moves don't change ratings
+     * @param player The player who made the move
+     * @param move The move that was placed
+     */
+    @Override
+    public void onMovePlayed(PlayerType player, Move move) {
+    }
+
+    /**
+     * Rates the round as a win for the winner
+     * @param winner The player who won
+     */
+    @Override
+    public void onWin(PlayerType winner) {
+        PlayerType loser = winner == gameState.getPlayerOne() ? gameState.getPlayerTwo() : gameState.getPlayerOne();
+        leaderBoardService.recordGame(winner.getUsername(), loser.getUsername(), 1);
+    }
+
+    /**
+     * Rates the round as a tie
+     */
+    @Override
+    public void onTie() {
+        leaderBoardService.recordGame(gameState.getPlayerOne().getUsername(), gameState.getPlayerTwo().getUsername(),
+                0.5);
+    }
+}
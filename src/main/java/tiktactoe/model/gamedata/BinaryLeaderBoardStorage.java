@@ -0,0 +1,409 @@
+package tiktactoe.model.gamedata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the leaderboard in a memory-mapped file of fixed-width records, one per player, with the usernames in a
+ * separate string table. A record holds the offset of the player's username in the string table, their wins, losses
+ * and ties, and their rating and deviation. Since every record has the same size, a player's record is found by its
+ * slot number alone, so a single player can be read without reading the rest and a finished session is written by
+ * changing a few bytes in place.
+ * <p>
+ * The record file starts with a header holding a format tag, the version and the number of records in use. New players
+ * have their username appended to the string table and their record filled in before the header counts them, so a
+ * crash leaves at most an unused slot and some unreferenced bytes in the string table. Writers in different processes
+ * are kept apart by the same kind of lock file as the JSON storage
+ */
+public class BinaryLeaderBoardStorage implements LeaderBoardStorage {
+    private static final int MAGIC = 0x54544c42;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORD_BYTES = 32;
+    private static final int NAME_OFFSET = 0;
+    private static final int WINS_OFFSET = 4;
+    private static final int LOSS_OFFSET = 8;
+    private static final int TIE_OFFSET = 12;
+    private static final int RATING_OFFSET = 16;
+    private static final int DEVIATION_OFFSET = 24;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_USERNAME_BYTES = 0xFFFF;
+
+    private final Path recordFile;
+    private final Path nameFile;
+    private final Path lockFile;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private FileChannel records;
+    private MappedByteBuffer mapped;
+    private Object recordFileKey;
+    private int capacity;
+
+    /**
+     * Constructor for the storage. The files are created on the first write
+     * @param recordFile The file holding the fixed-width records
+     * @param nameFile The string table holding the usernames
+     */
+    public BinaryLeaderBoardStorage(Path recordFile, Path nameFile) {
+        this.recordFile = recordFile;
+        this.nameFile = nameFile;
+        this.lockFile = recordFile.resolveSibling(recordFile.getFileName() + ".lock");
+    }
+
+    /**
+     * Reads every record in the storage
+     * @return A map where the key is the player and their value is their all-time records
+     * @throws IOException If the files can't be read or aren't a binary leaderboard
+     */
+    @Override
+    public synchronized Map<String, PlayerRecord> load() throws IOException {
+        return LeaderBoardFiles.withLock(lockFile, () -> {
+            if (!openExisting()) {
+                return new HashMap<>();
+            }
+            Map<String, PlayerRecord> leaderBoard = new HashMap<>(slots.size() * 4 / 3 + 1);
+            for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+                leaderBoard.put(entry.getKey(), readSlot(entry.getValue()));
+            }
+            return leaderBoard;
+        });
+    }
+
+    /**
+     * Reads the record of a single player straight from the mapped file without reading any other record
+     * @param username The player's username
+     * @return The player's record. Null if the player isn't stored
+     * @throws IOException If the files can't be read or aren't a binary leaderboard
+     */
+    public synchronized PlayerRecord read(String username) throws IOException {
+        return LeaderBoardFiles.withLock(lockFile, () -> {
+            if (!openExisting()) {
+                return null;
+            }
+            Integer slot = slots.get(username);
+            return slot == null ? null : readSlot(slot);
+        });
+    }
+
+    /**
+     * Adds the records to the stored ones in place. Usernames that aren't stored yet are appended to the string table
+     * in a single write and given the next free slots
+     * @param gameRecords The records to add. Contains the username of the players and their record
+     * @throws IOException If the files can't be written
+     */
+    @Override
+    public synchronized void append(Map<String, PlayerRecord> gameRecords) throws IOException {
+        LeaderBoardFiles.withLock(lockFile, () -> {
+            openForWriting();
+            int count = slots.size();
+            int added = addPlayers(gameRecords.keySet());
+            for (Map.Entry<String, PlayerRecord> entry : gameRecords.entrySet()) {
+                int position = position(slots.get(entry.getKey()));
+                PlayerRecord record = entry.getValue();
+                mapped.putInt(position + WINS_OFFSET, mapped.getInt(position + WINS_OFFSET) + record.getWins());
+                mapped.putInt(position + LOSS_OFFSET, mapped.getInt(position + LOSS_OFFSET) + record.getLosses());
+                mapped.putInt(position + TIE_OFFSET, mapped.getInt(position + TIE_OFFSET) + record.getTies());
+                if (record.hasRating()) {
+                    mapped.putDouble(position + RATING_OFFSET, record.getRating());
+                    mapped.putDouble(position + DEVIATION_OFFSET, record.getDeviation());
+                }
+            }
+            commit(count + added);
+        });
+    }
+
+    /**
+     * Writes a new record file holding exactly the given players and renames it over the old one. Usernames already
+     * in the string table are reused, so the string table is only ever appended to
+     * @param leaderBoard A map where the key is the player and their value is their all-time records
+     * @throws IOException If the files can't be written
+     */
+    @Override
+    public synchronized void replaceAll(Map<String, PlayerRecord> leaderBoard) throws IOException {
+        LeaderBoardFiles.withLock(lockFile, () -> {
+            openForWriting();
+            Map<String, Integer> nameOffsets = new HashMap<>(slots.size() * 4 / 3 + 1);
+            for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+                nameOffsets.put(entry.getKey(), mapped.getInt(position(entry.getValue()) + NAME_OFFSET));
+            }
+            List<String> newNames = new ArrayList<>();
+            for (String username : leaderBoard.keySet()) {
+                if (!nameOffsets.containsKey(username)) {
+                    newNames.add(username);
+                }
+            }
+            int[] offsets = appendNames(newNames);
+            for (int i = 0; i < offsets.length; i++) {
+                nameOffsets.put(newNames.get(i), offsets[i]);
+            }
+
+            LeaderBoardFiles.writeAtomically(recordFile, out -> {
+                ByteBuffer buffer = ByteBuffer.allocate(Math.max(HEADER_BYTES, RECORD_BYTES));
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(leaderBoard.size()).putInt(0);
+                out.write(buffer.array(), 0, HEADER_BYTES);
+                for (Map.Entry<String, PlayerRecord> entry : leaderBoard.entrySet()) {
+                    PlayerRecord record = entry.getValue();
+                    buffer.clear();
+                    buffer.putInt(nameOffsets.get(entry.getKey())).putInt(record.getWins())
+                            .putInt(record.getLosses()).putInt(record.getTies())
+                            .putDouble(record.hasRating() ? record.getRating() : Double.NaN)
+                            .putDouble(record.getDeviation());
+                    out.write(buffer.array(), 0, RECORD_BYTES);
+                }
+            });
+            close();
+        });
+    }
+
+    /**
+     * Records are updated in place, so there is nothing to compact
+     */
+    @Override
+    public void compact() {
+    }
+
+    /**
+     * Closes the record file and forgets the username index so the next call opens the files again. The mapping itself
+     * is released once it is garbage collected
+     * @throws IOException If the record file can't be closed
+     */
+    public synchronized void close() throws IOException {
+        if (records != null) {
+            records.close();
+        }
+        records = null;
+        mapped = null;
+        recordFileKey = null;
+        capacity = 0;
+        slots.clear();
+    }
+
+    /**
+     * Makes sure the mapped file and username index are up to date with the files on disk. The caller holds the lock
+     * @return False if the leaderboard hasn't been written yet
+     * @throws IOException If the files can't be read or aren't a binary leaderboard
+     */
+    private boolean openExisting() throws IOException {
+        if (!Files.exists(recordFile)) {
+            close();
+            return false;
+        }
+        Object fileKey = Files.readAttributes(recordFile, BasicFileAttributes.class).fileKey();
+        if (records == null || fileKey == null || !fileKey.equals(recordFileKey)) {
+            // The record file was replaced since it was mapped, so everything is read again
+            close();
+            records = FileChannel.open(recordFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recordFileKey = fileKey;
+            if (records.size() < HEADER_BYTES) {
+                throw new IOException(recordFile + " is too short to be a binary leaderboard");
+            }
+            map(records.size());
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException(recordFile + " is not a version " + VERSION + " binary leaderboard");
+            }
+        }
+        indexNewSlots();
+        return true;
+    }
+
+    /**
+     * Opens the files, creating an empty leaderboard if there isn't one yet. The caller holds the lock
+     * @throws IOException If the files can't be created or read
+     */
+    private void openForWriting() throws IOException {
+        if (!Files.exists(recordFile)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putInt(0).putInt(0);
+            LeaderBoardFiles.writeAtomically(recordFile, header.array());
+        }
+        openExisting();
+    }
+
+    /**
+     * Adds the usernames of records other processes added since the index was last brought up to date. The caller holds
+     * the lock
+     * @throws IOException If the string table can't be read
+     */
+    private void indexNewSlots() throws IOException {
+        int count = mapped.getInt(COUNT_OFFSET);
+        if (count == slots.size()) {
+            return;
+        }
+        long needed = position(count);
+        if (needed > mapped.capacity()) {
+            if (records.size() < needed) {
+                throw new IOException(recordFile + " holds fewer records than its header counts");
+            }
+            map(records.size());
+        }
+        try (FileChannel names = FileChannel.open(nameFile, StandardOpenOption.READ)) {
+            MappedByteBuffer table = names.map(FileChannel.MapMode.READ_ONLY, 0, names.size());
+            for (int slot = slots.size(); slot < count; slot++) {
+                slots.put(readName(table, mapped.getInt(position(slot) + NAME_OFFSET)), slot);
+            }
+        }
+    }
+
+    /**
+     * Gives every username that isn't stored yet the next free slot. The usernames are appended to the string table
+     * and their records filled in, but the header doesn't count them until the records are committed
+     * @param usernames The usernames of the players being written
+     * @return The number of players added
+     * @throws IOException If the string table can't be written or the record file can't grow
+     */
+    private int addPlayers(Iterable<String> usernames) throws IOException {
+        List<String> newNames = new ArrayList<>();
+        for (String username : usernames) {
+            if (!slots.containsKey(username)) {
+                newNames.add(username);
+            }
+        }
+        if (newNames.isEmpty()) {
+            return 0;
+        }
+        int[] offsets = appendNames(newNames);
+        int count = slots.size();
+        ensureCapacity(count + newNames.size());
+        for (int i = 0; i < newNames.size(); i++) {
+            int slot = count + i;
+            int position = position(slot);
+            mapped.putInt(position + NAME_OFFSET, offsets[i]);
+            mapped.putInt(position + WINS_OFFSET, 0);
+            mapped.putInt(position + LOSS_OFFSET, 0);
+            mapped.putInt(position + TIE_OFFSET, 0);
+            mapped.putDouble(position + RATING_OFFSET, Double.NaN);
+            mapped.putDouble(position + DEVIATION_OFFSET, new PlayerRecord().getDeviation());
+            slots.put(newNames.get(i), slot);
+        }
+        return newNames.size();
+    }
+
+    /**
+     * Appends usernames to the string table in a single durable write. Each entry is the length of the UTF-8 bytes
+     * as two bytes followed by the bytes themselves
+     * @param usernames The usernames to append
+     * @return The offset of each username in the string table
+     * @throws IOException If a username is too long or the string table can't be written
+     */
+    private int[] appendNames(List<String> usernames) throws IOException {
+        int[] offsets = new int[usernames.size()];
+        if (usernames.isEmpty()) {
+            return offsets;
+        }
+        long start = Files.exists(nameFile) ? Files.size(nameFile) : 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < usernames.size(); i++) {
+            byte[] name = usernames.get(i).getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_USERNAME_BYTES) {
+                throw new IOException("Username is longer than " + MAX_USERNAME_BYTES + " bytes");
+            }
+            long offset = start + out.size();
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException(nameFile + " is full");
+            }
+            offsets[i] = (int) offset;
+            out.writeShort(name.length);
+            out.write(name);
+        }
+        LeaderBoardFiles.appendDurably(nameFile, bytes.toByteArray());
+        return offsets;
+    }
+
+    /**
+     * Forces the changed records to disk, then counts any new records in the header and forces that too
+     * @param count The number of records in use
+     */
+    private void commit(int count) {
+        mapped.force();
+        if (mapped.getInt(COUNT_OFFSET) != count) {
+            mapped.putInt(COUNT_OFFSET, count);
+            mapped.force();
+        }
+    }
+
+    /**
+     * Grows the record file so it has room for a number of records, doubling it to keep the number of remaps low
+     * @param count The number of records needed
+     * @throws IOException If the record file can't grow
+     */
+    private void ensureCapacity(int count) throws IOException {
+        if (count <= capacity) {
+            return;
+        }
+        long newCapacity = Math.max(MIN_CAPACITY, Math.max(count, (long) capacity * 2));
+        map(position(0) + newCapacity * RECORD_BYTES);
+    }
+
+    /**
+     * Maps the first bytes of the record file, growing the file if it is shorter
+     * @param length The number of bytes to map
+     * @throws IOException If the file can't be mapped
+     */
+    private void map(long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(recordFile + " is full");
+        }
+        mapped = records.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        capacity = (int) Math.min(Integer.MAX_VALUE, (length - HEADER_BYTES) / RECORD_BYTES);
+    }
+
+    /**
+     * Reads the record in a slot
+     * @param slot The slot of the record
+     * @return A new record with the wins, losses, ties and rating in the slot
+     */
+    private PlayerRecord readSlot(int slot) {
+        int position = position(slot);
+        PlayerRecord record = new PlayerRecord();
+        record.initializeWins(mapped.getInt(position + WINS_OFFSET));
+        record.initializeLoss(mapped.getInt(position + LOSS_OFFSET));
+        record.initializeTie(mapped.getInt(position + TIE_OFFSET));
+        double rating = mapped.getDouble(position + RATING_OFFSET);
+        if (!Double.isNaN(rating)) {
+            record.initializeRating(rating, mapped.getDouble(position + DEVIATION_OFFSET));
+        }
+        return record;
+    }
+
+    /**
+     * Reads a username from the string table
+     * @param table The mapped string table
+     * @param offset The offset of the username
+     * @return The username
+     * @throws IOException If the offset is outside the string table
+     */
+    private String readName(ByteBuffer table, int offset) throws IOException {
+        if (offset < 0 || offset + 2 > table.limit()) {
+            throw new IOException("Username offset " + offset + " is outside " + nameFile);
+        }
+        int length = Short.toUnsignedInt(table.getShort(offset));
+        if (offset + 2 + length > table.limit()) {
+            throw new IOException("Username at offset " + offset + " runs past the end of " + nameFile);
+        }
+        byte[] name = new byte[length];
+        table.get(offset + 2, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Works out where a slot starts in the record file
+     * @param slot The slot
+     * @return The byte offset of the slot
+     */
+    private static int position(int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+}
@@ -2,6 +2,7 @@ package tiktactoe.model.gamedata;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.Stack;
 
 import tiktactoe.model.player.PlayerType;
@@ -10,8 +11,37 @@ import tiktactoe.model.player.PlayerType;
  * Class that controls the data movement of the tic-tac-toe board
  */
 public class Board {
+    /**
+     * Masks of the eight winning lines in the order columns, rows, left-right diagonal, right-left diagonal.
+     * Bit (row * 3 + col) represents a cell.
+     */
+    private static final int[] WINNING_LINES = {
+        0b001_001_001, 0b010_010_010, 0b100_100_100,
+        0b000_000_111, 0b000_111_000, 0b111_000_000,
+        0b100_010_001, 0b001_010_100
+    };
+    public static final int WINNING_LINE_COUNT = WINNING_LINES.length;
+    public static final int FULL_BOARD = 0b111_111_111;
+    public static final int CORNERS = 0b101_000_101;
+    public static final int CENTER = 0b000_010_000;
+    private static final long ZOBRIST_SEED = 33L;
+    private static final long[][] ZOBRIST_KEYS = new long[2][9];
+
+    static {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        for (int side = 0; side < 2; side++) {
+            for (int cell = 0; cell < 9; cell++) {
+                ZOBRIST_KEYS[side][cell] = random.nextLong();
+            }
+        }
+    }
+
     private char[][] board;
     private Stack<Move> moveHistory;
+    private int xPositions;
+    private int oPositions;
+    private int emptyPositions;
+    private long zobristHash;
 
     /**
      * Constructor for the tic-tac-toe board
@@ -30,6 +60,7 @@ public class Board {
                 board[i][j] = ' ';
             }
         }
+        clearPositions();
     }
 
     /**
@@ -40,6 +71,24 @@ public class Board {
         return board;
     }
 
+    /**
+     * Makes an independent copy of the board, so a computer player can search it on another thread while this one
+     * keeps changing
+     * @return A board with the same cells and move history
+     */
+    public Board copy() {
+        Board copy = new Board();
+        for (int i = 0; i < 3; i++) {
+            copy.board[i] = board[i].clone();
+        }
+        copy.moveHistory.addAll(moveHistory);
+        copy.xPositions = xPositions;
+        copy.oPositions = oPositions;
+        copy.emptyPositions = emptyPositions;
+        copy.zobristHash = zobristHash;
+        return copy;
+    }
+
     /**
      * Resets the board to be all empty chars and clears the move history
      */
@@ -49,9 +98,20 @@ public class Board {
                 board[i][j] = ' ';
             }
         }
+        clearPositions();
         moveHistory.clear();
     }
 
+    /**
+     * Sets every cell of the position masks back to empty
+     */
+    private void clearPositions() {
+        xPositions = 0;
+        oPositions = 0;
+        emptyPositions = FULL_BOARD;
+        zobristHash = 0;
+    }
+
     /**
      * Whenever a player makes a move, this function should be called. Simply adds a Move object to our move
      * history stack
@@ -78,7 +138,7 @@ public class Board {
         int row = move.getRow();
         int col = move.getCol();
         if (row >= 0 && row < 3 && col >= 0 && col < 3) {
-            return board[row][col] == ' ';
+            return (emptyPositions & toBit(row, col)) != 0;
         }
         return false;
     }
@@ -93,6 +153,59 @@ public class Board {
         int row = move.getRow();
         int col = move.getCol();
         board[row][col] = move.getPlayerSymbolAsChar();
+
+        int cell = row * 3 + col;
+        clearCell(cell);
+        emptyPositions &= ~(1 << cell);
+        if (move.getPlayerSymbol() == GameEnum.X) {
+            xPositions |= 1 << cell;
+            zobristHash ^= ZOBRIST_KEYS[0][cell];
+        } else if (move.getPlayerSymbol() == GameEnum.O) {
+            oPositions |= 1 << cell;
+            zobristHash ^= ZOBRIST_KEYS[1][cell];
+        }
+    }
+
+    /**
+     * Takes back the last move made on the board. The slot of that move becomes empty again
+     * @return True if a move was taken back. False if there was no move to undo
+     */
+    public boolean undoLastMove() {
+        if (moveHistory.isEmpty()) {
+            return false;
+        }
+        Move move = moveHistory.pop();
+        int row = move.getRow();
+        int col = move.getCol();
+        board[row][col] = ' ';
+        int cell = row * 3 + col;
+        clearCell(cell);
+        emptyPositions |= 1 << cell;
+        return true;
+    }
+
+    /**
+     * Obtains the Zobrist hash of the current position. Boards with the same pieces on the same slots always have the
+     * same hash no matter the order the moves were made in
+     * @return A 64-bit hash of the position
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Removes whichever symbol occupies a cell from the position masks and the hash
+     * @param cell The cell index (row * 3 + col)
+     */
+    private void clearCell(int cell) {
+        int bit = 1 << cell;
+        if ((xPositions & bit) != 0) {
+            xPositions &= ~bit;
+            zobristHash ^= ZOBRIST_KEYS[0][cell];
+        } else if ((oPositions & bit) != 0) {
+            oPositions &= ~bit;
+            zobristHash ^= ZOBRIST_KEYS[1][cell];
+        }
     }
 
     /**
@@ -110,59 +223,128 @@ public class Board {
      * @return True if player has won. False otherwise.
      */
     public boolean checkWin(PlayerType player) {
-        char[][] currentBoard = this.getBoard();
-        char symbol = player.getSymbolAsChar();
-        if (
-                currentBoard[0][0] == symbol
-                && currentBoard[0][1] == symbol
-                && currentBoard[0][2] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[1][0] == symbol
-                && currentBoard[1][1] == symbol
-                && currentBoard[1][2] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[2][0] == symbol
-                && currentBoard[2][1] == symbol
-                && currentBoard[2][2] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[0][0] == symbol
-                && currentBoard[1][0] == symbol
-                && currentBoard[2][0] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[0][1] == symbol
-                && currentBoard[1][1] == symbol
-                && currentBoard[2][1] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[0][2] == symbol
-                && currentBoard[1][2] == symbol
-                && currentBoard[2][2] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[0][0] == symbol
-                && currentBoard[1][1] == symbol
-                && currentBoard[2][2] == symbol
-        ) {
-            return true;
-        } else if (
-                currentBoard[0][2] == symbol
-                && currentBoard[1][1] == symbol
-                && currentBoard[2][0] == symbol
-        ) {
-            return true;
-        } else {
-            return false;
+        return checkWin(player.getSymbol());
+    }
+
+    /**
+     * Checks to see if the given symbol occupies any of the eight winning lines of the board
+     * @param symbol The symbol of the player (X or O)
+     * @return True if that symbol has won. False otherwise.
+     */
+    public boolean checkWin(GameEnum symbol) {
+        return isWinningPosition(getPositions(symbol));
+    }
+
+    /**
+     * Obtains the cells occupied by a symbol as a bitmask. Bit (row * 3 + col) is set if that cell belongs to it
+     * @param symbol The symbol of the player (X or O)
+     * @return A 9-bit mask of the cells owned by that symbol. 0 for any other symbol
+     */
+    public int getPositions(GameEnum symbol) {
+        if (symbol == GameEnum.X) {
+            return xPositions;
+        } else if (symbol == GameEnum.O) {
+            return oPositions;
         }
+        return 0;
+    }
+
+    /**
+     * Obtains the empty cells of the board as a bitmask. Bit (row * 3 + col) is set if that cell is empty
+     * @return A 9-bit mask of the empty cells
+     */
+    public int getEmptyPositions() {
+        return emptyPositions;
+    }
+
+    /**
+     * Obtains the canonical form of the board among its eight rotations and reflections, seen from one player's side
+     * @param symbol The symbol whose cells form the first half of the canonical key
+     * @return The canonical position and the symmetry that maps this board onto it
+     */
+    public CanonicalPosition getCanonicalPosition(GameEnum symbol) {
+        GameEnum other = symbol == GameEnum.X ? GameEnum.O : GameEnum.X;
+        return new CanonicalPosition(getPositions(symbol), getPositions(other));
+    }
+
+    /**
+     * Finds every winning, blocking and fork cell for a player in one scan of the board
+     * @param symbol The symbol of the player the analysis is for (X or O)
+     * @return The threats for that player and their opponent
+     */
+    public ThreatAnalysis analyzeThreats(GameEnum symbol) {
+        GameEnum other = symbol == GameEnum.X ? GameEnum.O : GameEnum.X;
+        return new ThreatAnalysis(getPositions(symbol), getPositions(other));
+    }
+
+    /**
+     * Obtains the mask of a winning line
+     * @param line The index of the winning line (0-7)
+     * @return The mask of the line's three cells
+     */
+    public static int getWinningLine(int line) {
+        return WINNING_LINES[line];
+    }
+
+    /**
+     * Counts how many slots of a winning line a symbol occupies
+     * @param line The index of the winning line (0-7)
+     * @param symbol The symbol of the player (X or O)
+     * @return The number of slots of that line owned by the symbol (0-3)
+     */
+    public int countInLine(int line, GameEnum symbol) {
+        return Integer.bitCount(getPositions(symbol) & WINNING_LINES[line]);
+    }
+
+    /**
+     * Finds the first empty slot of a winning line
+     * @param line The index of the winning line (0-7)
+     * @return The cell index (row * 3 + col) of the lowest empty slot in that line. -1 if the line is full
+     */
+    public int getEmptyCellInLine(int line) {
+        int empty = emptyPositions & WINNING_LINES[line];
+        return empty == 0 ? -1 : Integer.numberOfTrailingZeros(empty);
+    }
+
+    /**
+     * Finds the cell that completes a line for a symbol, which is a line where the symbol owns two slots and the third
+     * is empty. Lines are checked in winning line order
+     * @param positions The cells owned by the symbol
+     * @param empty The empty cells of the board
+     * @return The cell index (row * 3 + col) of the first completing cell. -1 if there is none
+     */
+    public static int findCompletingCell(int positions, int empty) {
+        for (int line : WINNING_LINES) {
+            int open = empty & line;
+            if (open != 0 && Integer.bitCount(positions & line) == 2) {
+                return Integer.numberOfTrailingZeros(open);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a set of cells contains a full winning line
+     * @param positions A 9-bit mask of the cells owned by one player
+     * @return True if the mask covers at least one of the eight winning lines. False otherwise.
+     */
+    public static boolean isWinningPosition(int positions) {
+        for (int line : WINNING_LINES) {
+            if ((positions & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a row and column to the bit used for that cell in the position masks
+     * @param row The row of the cell (0-2)
+     * @param col The column of the cell (0-2)
+     * @return A mask with only that cell's bit set
+     */
+    public static int toBit(int row, int col) {
+        return 1 << (row * 3 + col);
     }
 
     /**
@@ -182,15 +364,7 @@ public class Board {
      * @return A list of possible moves that are still available
      */
     public List<Move> getValidMoves(GameEnum symbol) {
-        List<Move> validMoves = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (board[i][j] == ' ') {
-                    validMoves.add(new Move(i, j, symbol));
-                }
-            }
-        }
-        return validMoves;
+        return toMoveList(emptyPositions, symbol);
     }
 
     /**
@@ -199,20 +373,34 @@ public class Board {
      * @return A list of possible edge moves still available
      */
     public List<Move> getValidEdgeMoves(GameEnum symbol) {
-        List<Move> allValidMoves = this.getValidMoves(symbol);
-        List<Move> edgeMoves = new ArrayList<>();
-        for (Move move : allValidMoves) {
-            int row = move.getRow();
-            int col = move.getCol();
-            if (row == 0 && col == 0
-                    || row == 0 && col == 2
-                    || row == 2 && col == 0
-                    || row == 2 && col == 2
-            ) {
-                edgeMoves.add(move);
-            }
+        return toMoveList(emptyPositions & CORNERS, symbol);
+    }
+
+    /**
+     * Fills a buffer with the cell index (row * 3 + col) of every empty slot without allocating anything
+     * @param cells A buffer of at least 9 ints that receives the empty cells in row-major order
+     * @return The number of cells written to the buffer
+     */
+    public int fillValidMoves(int[] cells) {
+        int count = 0;
+        for (int empty = emptyPositions; empty != 0; empty &= empty - 1) {
+            cells[count++] = Integer.numberOfTrailingZeros(empty);
+        }
+        return count;
+    }
+
+    /**
+     * Converts every cell of a position mask into a list of shared Move instances
+     * @param mask A 9-bit position mask
+     * @param symbol The symbol of the player making the moves
+     * @return A list of moves in row-major order
+     */
+    private static List<Move> toMoveList(int mask, GameEnum symbol) {
+        List<Move> moves = new ArrayList<>(Integer.bitCount(mask));
+        for (; mask != 0; mask &= mask - 1) {
+            moves.add(Move.of(Integer.numberOfTrailingZeros(mask), symbol));
         }
-        return edgeMoves;
+        return moves;
     }
 
     /**
@@ -0,0 +1,103 @@
+package tiktactoe.model.gamedata;
+
+/**
+ * The eight symmetries of the 3x3 board (four rotations and four reflections) applied to cells and position masks.
+ * Transform 0 is the identity.
+ */
+public final class BoardSymmetry {
+    public static final int TRANSFORM_COUNT = 8;
+
+    private static final int[][] CELL_MAP = new int[TRANSFORM_COUNT][9];
+    private static final int[][] MASK_MAP = new int[TRANSFORM_COUNT][1 << 9];
+    private static final int[] INVERSE = new int[TRANSFORM_COUNT];
+
+    static {
+        for (int cell = 0; cell < 9; cell++) {
+            int row = cell / 3;
+            int col = cell % 3;
+            CELL_MAP[0][cell] = row * 3 + col;
+            CELL_MAP[1][cell] = col * 3 + (2 - row);
+            CELL_MAP[2][cell] = (2 - row) * 3 + (2 - col);
+            CELL_MAP[3][cell] = (2 - col) * 3 + row;
+            CELL_MAP[4][cell] = row * 3 + (2 - col);
+            CELL_MAP[5][cell] = (2 - row) * 3 + col;
+            CELL_MAP[6][cell] = col * 3 + row;
+            CELL_MAP[7][cell] = (2 - col) * 3 + (2 - row);
+        }
+        for (int t = 0; t < TRANSFORM_COUNT; t++) {
+            for (int mask = 0; mask < 1 << 9; mask++) {
+                int mapped = 0;
+                for (int cell = 0; cell < 9; cell++) {
+                    if ((mask & 1 << cell) != 0) {
+                        mapped |= 1 << CELL_MAP[t][cell];
+                    }
+                }
+                MASK_MAP[t][mask] = mapped;
+            }
+            for (int candidate = 0; candidate < TRANSFORM_COUNT; candidate++) {
+                boolean undoes = true;
+                for (int cell = 0; cell < 9; cell++) {
+                    undoes &= CELL_MAP[candidate][CELL_MAP[t][cell]] == cell;
+                }
+                if (undoes) {
+                    INVERSE[t] = candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * Empty constructor. This class only has static methods
+     */
+    private BoardSymmetry() {
+    }
+
+    /**
+     * Applies a symmetry to a single cell
+     * @param cell The cell index (row * 3 + col)
+     * @param transform The symmetry to apply (0-7)
+     * @return The index of the cell after the symmetry
+     */
+    public static int transformCell(int cell, int transform) {
+        return CELL_MAP[transform][cell];
+    }
+
+    /**
+     * Applies a symmetry to every cell of a position mask
+     * @param mask A 9-bit position mask
+     * @param transform The symmetry to apply (0-7)
+     * @return The position mask after the symmetry
+     */
+    public static int transformMask(int mask, int transform) {
+        return MASK_MAP[transform][mask];
+    }
+
+    /**
+     * Obtains the symmetry that undoes another one
+     * @param transform A symmetry (0-7)
+     * @return The inverse symmetry
+     */
+    public static int inverse(int transform) {
+        return INVERSE[transform];
+    }
+
+    /**
+     * Finds the symmetry that maps a position to its canonical form, which is the form with the smallest
+     * (first | second << 9) key among all eight symmetries
+     * @param first Cells owned by the first player of the position
+     * @param second Cells owned by the second player of the position
+     * @return The symmetry that produces the canonical form
+     */
+    public static int canonicalTransform(int first, int second) {
+        int bestTransform = 0;
+        int bestKey = first | second << 9;
+        for (int t = 1; t < TRANSFORM_COUNT; t++) {
+            int key = MASK_MAP[t][first] | MASK_MAP[t][second] << 9;
+            if (key < bestKey) {
+                bestKey = key;
+                bestTransform = t;
+            }
+        }
+        return bestTransform;
+    }
+}
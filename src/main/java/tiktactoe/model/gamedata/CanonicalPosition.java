@@ -0,0 +1,74 @@
+package tiktactoe.model.gamedata;
+
+/**
+ * The minimal representative of a board position among its eight symmetries, along with the symmetry used to reach
+ * it. Positions that are rotations or reflections of each other share the same canonical key.
+ */
+public class CanonicalPosition {
+    private final int first;
+    private final int second;
+    private final int transform;
+
+    /**
+     * Constructor for CanonicalPosition. Finds the canonical form of the given position
+     * @param first Cells owned by the first player of the position
+     * @param second Cells owned by the second player of the position
+     */
+    public CanonicalPosition(int first, int second) {
+        this.transform = BoardSymmetry.canonicalTransform(first, second);
+        this.first = BoardSymmetry.transformMask(first, transform);
+        this.second = BoardSymmetry.transformMask(second, transform);
+    }
+
+    /**
+     * Obtains the cells of the first player in canonical orientation
+     * @return A 9-bit position mask
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Obtains the cells of the second player in canonical orientation
+     * @return A 9-bit position mask
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    /**
+     * Obtains the symmetry that maps the original position to the canonical one
+     * @return The symmetry (0-7)
+     */
+    public int getTransform() {
+        return transform;
+    }
+
+    /**
+     * Obtains an 18-bit key that is the same for every symmetric copy of the position
+     * @return The canonical key (first | second << 9)
+     */
+    public int getKey() {
+        return first | second << 9;
+    }
+
+    /**
+     * Maps a move on the original board to the matching move on the canonical board
+     * @param move A move in original orientation
+     * @return The same move in canonical orientation
+     */
+    public Move toCanonical(Move move) {
+        int cell = BoardSymmetry.transformCell(move.getRow() * 3 + move.getCol(), transform);
+        return Move.of(cell, move.getPlayerSymbol());
+    }
+
+    /**
+     * Maps a move on the canonical board back to the matching move on the original board
+     * @param move A move in canonical orientation
+     * @return The same move in original orientation
+     */
+    public Move toOriginal(Move move) {
+        int cell = BoardSymmetry.transformCell(move.getRow() * 3 + move.getCol(), BoardSymmetry.inverse(transform));
+        return Move.of(cell, move.getPlayerSymbol());
+    }
+}
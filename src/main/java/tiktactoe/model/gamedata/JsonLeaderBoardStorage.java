@@ -0,0 +1,265 @@
+package tiktactoe.model.gamedata;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import tiktactoe.model.rating.Glicko;
+
+/**
+ * Keeps the leaderboard in a JSON snapshot plus an append-only journal of the game sessions played since the snapshot
+ * was written. Ending a session only appends to the journal, and the journal is folded back into the snapshot once it
+ * grows past a threshold. Every write happens under a lock file shared by all game processes, and the snapshot is only
+ * ever replaced atomically
+ */
+public class JsonLeaderBoardStorage implements LeaderBoardStorage {
+    private static final long COMPACTION_BYTES = 256 * 1024;
+    private static final long LEGACY_BYTES_PER_PLAYER = 48;
+    private static final int MAX_PRESIZE = 1 << 30;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Path snapshotFile;
+    private final LeaderBoardJournal journal;
+    private final Path lockFile;
+    private long sequence;
+    private boolean snapshotReadable = true;
+
+    /**
+     * Constructor for the storage
+     * @param snapshotFile The json snapshot of the leaderboard
+     * @param journalFile The journal of the sessions played since the snapshot
+     */
+    public JsonLeaderBoardStorage(Path snapshotFile, Path journalFile) {
+        this.snapshotFile = snapshotFile;
+        this.journal = new LeaderBoardJournal(journalFile);
+        this.lockFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".lock");
+    }
+
+    /**
+     * Reads the snapshot, then replays the sessions journaled after it. The snapshot is either a plain list of players
+     * or an object holding that list and the journal sequence number it includes. Snapshots are only ever replaced by
+     * a rename, so no lock is needed. A snapshot that can't be read is never replaced afterwards
+     * @return A map where the key is the player and their value is their all-time records
+     * @throws IOException If the snapshot or the journal can't be read, rather than handing back only part of the
+     *                     records
+     */
+    @Override
+    public Map<String, PlayerRecord> load() throws IOException {
+        sequence = 0;
+        snapshotReadable = true;
+        Map<String, PlayerRecord> leaderBoard = new HashMap<>();
+        File file = snapshotFile.toFile();
+        if (file.exists()) {
+            try {
+                leaderBoard = readSnapshot(file);
+            } catch (IOException | RuntimeException e) {
+                snapshotReadable = false;
+                throw new IOException("Could not read " + snapshotFile + ": " + e.getMessage(), e);
+            }
+        }
+        try {
+            sequence = journal.replay(leaderBoard, sequence);
+        } catch (IOException e) {
+            throw new IOException("Could not read " + journal.getPath() + ": " + e.getMessage(), e);
+        }
+        return leaderBoard;
+    }
+
+    /**
+     * Appends the records to the journal without reading the snapshot and compacts it once it is large enough. Holds
+     * the leaderboard lock throughout so sessions ended by other processes at the same time get their own sequence
+     * numbers
+     * @param gameRecords The records to append. Contains the username of the players and their record
+     * @throws IOException If the journal can't be written
+     */
+    @Override
+    public void append(Map<String, PlayerRecord> gameRecords) throws IOException {
+        LeaderBoardFiles.withLock(lockFile, () -> {
+            long lastSequence = journal.lastSequence();
+            if (lastSequence < 0) {
+                // No checkpoint to continue from, so the snapshot decides where the sequence starts
+                JsonLeaderBoardStorage onDisk = new JsonLeaderBoardStorage(snapshotFile, journal.getPath());
+                try {
+                    onDisk.load();
+                } catch (IOException e) {
+                    // The session is still journaled, numbered from whatever sequence could be read
+                }
+                lastSequence = onDisk.sequence;
+            }
+            sequence = journal.append(gameRecords, lastSequence);
+            if (journal.size() > COMPACTION_BYTES) {
+                compactLocked();
+            }
+        });
+    }
+
+    /**
+     * Replaces the snapshot and leaves a checkpoint past every journaled session, since the records already include
+     * them. A snapshot that couldn't be read is left alone so its players aren't overwritten by a leaderboard that is
+     * missing them
+     * @param leaderBoard A map where the key is the player and their value is their all-time records
+     * @throws IOException If the snapshot or journal can't be written
+     */
+    @Override
+    public void replaceAll(Map<String, PlayerRecord> leaderBoard) throws IOException {
+        LeaderBoardFiles.withLock(lockFile, () -> {
+            long lastSequence = Math.max(sequence, journal.lastSequence());
+            writeSnapshot(leaderBoard, lastSequence);
+            if (journal.size() > 0) {
+                journal.checkpoint(lastSequence);
+            }
+            sequence = lastSequence;
+        });
+    }
+
+    /**
+     * Folds the journal into the snapshot. The records are read from disk again under the leaderboard lock so
+     * sessions journaled by other processes are kept. A crash between writing the snapshot and the checkpoint is safe
+     * because the snapshot remembers the last sequence number it includes and replay skips everything up to it
+     * @throws IOException If the snapshot or journal can't be written
+     */
+    @Override
+    public void compact() throws IOException {
+        LeaderBoardFiles.withLock(lockFile, this::compactLocked);
+    }
+
+    /**
+     * Body of compact. The caller holds the leaderboard lock
+     * @throws IOException If the snapshot or journal can't be written
+     */
+    private void compactLocked() throws IOException {
+        JsonLeaderBoardStorage onDisk = new JsonLeaderBoardStorage(snapshotFile, journal.getPath());
+        Map<String, PlayerRecord> leaderBoard = onDisk.load();
+        onDisk.writeSnapshot(leaderBoard, onDisk.sequence);
+        journal.checkpoint(onDisk.sequence);
+    }
+
+    /**
+     * Replaces the snapshot with a streamed copy of the records. The caller holds the leaderboard lock
+     * @param leaderBoard The records to write
+     * @param includedSequence The journal sequence number the records include
+     * @throws IOException If the snapshot can't be written or couldn't be read when it was loaded
+     */
+    private void writeSnapshot(Map<String, PlayerRecord> leaderBoard, long includedSequence) throws IOException {
+        if (!snapshotReadable) {
+            throw new IOException("Refusing to replace " + snapshotFile + " since it could not be read");
+        }
+        LeaderBoardFiles.writeAtomically(snapshotFile, out -> {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+                generator.writeStartObject();
+                generator.writeNumberField("sequence", includedSequence);
+                generator.writeNumberField("count", leaderBoard.size());
+                generator.writeArrayFieldStart("players");
+                for (Map.Entry<String, PlayerRecord> entry : leaderBoard.entrySet()) {
+                    PlayerRecord record = entry.getValue();
+                    generator.writeStartObject();
+                    generator.writeStringField("username", entry.getKey());
+                    generator.writeNumberField("wins", record.getWins());
+                    generator.writeNumberField("loss", record.getLosses());
+                    generator.writeNumberField("tie", record.getTies());
+                    generator.writeNumberField("rating", record.getRating());
+                    generator.writeNumberField("rd", record.getDeviation());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        });
+    }
+
+    /**
+     * Streams the snapshot into a map one player at a time, so no tree of the whole file is ever built. The map is
+     * presized from the player count written ahead of the players, or from the file size for a snapshot in the
+     * original list format
+     * @param file The snapshot to read
+     * @return The players in the snapshot
+     * @throws IOException If the snapshot can't be read or isn't a leaderboard
+     */
+    private Map<String, PlayerRecord> readSnapshot(File file) throws IOException {
+        Map<String, PlayerRecord> leaderBoard = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(file)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                leaderBoard = presize(leaderBoard, file.length() / LEGACY_BYTES_PER_PLAYER);
+                readPlayers(parser, leaderBoard);
+            } else if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (field.equals("sequence")) {
+                        sequence = parser.getLongValue();
+                    } else if (field.equals("count")) {
+                        leaderBoard = presize(leaderBoard, parser.getLongValue());
+                    } else if (field.equals("players")) {
+                        readPlayers(parser, leaderBoard);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                throw new IOException("Expected a list or an object at the start of " + file);
+            }
+        }
+        return leaderBoard;
+    }
+
+    /**
+     * Reads the list of players the parser is at into a map
+     * @param parser A parser whose current token starts the list of players
+     * @param leaderBoard The map the players are added to
+     * @throws IOException If a player can't be read
+     */
+    private static void readPlayers(JsonParser parser, Map<String, PlayerRecord> leaderBoard) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a list of players");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String username = null;
+            PlayerRecord record = new PlayerRecord();
+            double rating = Double.NaN;
+            double deviation = Glicko.INITIAL_DEVIATION;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "username" -> username = parser.getText();
+                    case "wins" -> record.initializeWins(parser.getIntValue());
+                    case "loss" -> record.initializeLoss(parser.getIntValue());
+                    case "tie" -> record.initializeTie(parser.getIntValue());
+                    case "rating" -> rating = parser.getDoubleValue();
+                    case "rd" -> deviation = parser.getDoubleValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (username == null) {
+                throw new IOException("Player without a username in the snapshot");
+            }
+            if (!Double.isNaN(rating)) {
+                record.initializeRating(rating, deviation);
+            }
+            leaderBoard.put(username, record);
+        }
+    }
+
+    /**
+     * Replaces an empty map with one big enough to hold a number of players without resizing
+     * @param leaderBoard The map read into so far
+     * @param players The number of players expected
+     * @return The map to keep reading into
+     */
+    private static Map<String, PlayerRecord> presize(Map<String, PlayerRecord> leaderBoard, long players) {
+        if (leaderBoard.isEmpty() && players > 0) {
+            int capacity = (int) Math.min(players * 4 / 3 + 1, MAX_PRESIZE);
+            return new HashMap<>(capacity);
+        }
+        return leaderBoard;
+    }
+}
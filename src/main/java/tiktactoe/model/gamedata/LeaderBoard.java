@@ -1,126 +1,347 @@
 package tiktactoe.model.gamedata;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import tiktactoe.model.rating.Glicko;
 
 /**
- * A leaderboard class that records the all-time record of players
+ * A leaderboard class that records the all-time record of players. The records are read from a storage once and kept
+ * in memory, and ending a session only hands that session's records to the storage. The storage format is picked with
+ * the tiktactoe.leaderboard.format system property: json, the default, keeps a snapshot and a journal, while binary
+ * keeps memory-mapped fixed-width records that are updated in place.
+ * <p>
+ * Any number of threads can end sessions at once. Each player's record sits in its own atomic reference in a
+ * concurrent map and is never changed once published: an update builds a new record and swaps it in with a
+ * compare-and-set, so no session is lost and a player's wins, losses, ties and rating are always read together.
+ * Players whose rating changed are put in a set that readers drain into the ranking index before answering, so
+ * writers never wait on the ranking and every page is cut from the ranking at a single moment
  */
 public class LeaderBoard {
 
+    /**
+     * The system property that picks the storage format of the default leaderboard
+     */
+    public static final String FORMAT_PROPERTY = "tiktactoe.leaderboard.format";
     private static final String LEADERBOARD_FILE = "resources/leaderboard.json";
-    private Map<String, PlayerRecord> leaderBoard;
+    private static final String JOURNAL_FILE = "resources/leaderboard.journal";
+    private static final String RECORD_FILE = "resources/leaderboard.bin";
+    private static final String NAME_FILE = "resources/leaderboard.names";
+    private volatile ConcurrentHashMap<String, AtomicReference<PlayerRecord>> leaderBoard;
+    private final Set<String> rerank = ConcurrentHashMap.newKeySet();
+    /**
+     * Guards itself and rankedRatings. Only readers and initializeLeaderBoard take it
+     */
+    private final RankingIndex ranking = new RankingIndex();
+    private final Map<String, Double> rankedRatings = new HashMap<>();
+    private final LeaderBoardStorage storage;
 
     /**
-     * Constructor for leaderboard
+     * Constructor for leaderboard. The storage format is read from the tiktactoe.leaderboard.format system property
      */
     public LeaderBoard() {
-        leaderBoard = new HashMap<>();
+        this(createStorage(System.getProperty(FORMAT_PROPERTY, "json")));
+    }
+
+    /**
+     * Constructor for a leaderboard stored as json in other files
+     * @param snapshotFile The json snapshot of the leaderboard
+     * @param journalFile The journal of the sessions played since the snapshot
+     */
+    public LeaderBoard(Path snapshotFile, Path journalFile) {
+        this(new JsonLeaderBoardStorage(snapshotFile, journalFile));
+    }
+
+    /**
+     * Constructor for a leaderboard kept in any storage
+     * @param storage Where the records are kept on disk
+     */
+    public LeaderBoard(LeaderBoardStorage storage) {
+        leaderBoard = new ConcurrentHashMap<>();
+        this.storage = storage;
+    }
+
+    /**
+     * Creates the storage for one of the formats, kept in the resources folder
+     * @param format json or binary
+     * @return The storage for the format
+     * @throws IllegalArgumentException If the format isn't json or binary
+     */
+    public static LeaderBoardStorage createStorage(String format) {
+        return switch (format) {
+            case "json" -> new JsonLeaderBoardStorage(Paths.get(LEADERBOARD_FILE), Paths.get(JOURNAL_FILE));
+            case "binary" -> new BinaryLeaderBoardStorage(Paths.get(RECORD_FILE), Paths.get(NAME_FILE));
+            default -> throw new IllegalArgumentException("Unknown leaderboard format " + format);
+        };
     }
 
     /**
-     * Reads from a json file and populates the leaderboard field member with items in the file
+     * Reads every record from the storage into memory and ranks the players
      */
     public void initializeLeaderBoard() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, PlayerRecord> records = new HashMap<>();
         try {
-            JsonNode node = objectMapper.readTree(new File(LEADERBOARD_FILE));
-            for (JsonNode playerNode : node) {
-                String username = playerNode.get("username").asText();
-                int wins = playerNode.get("wins").asInt();
-                int losses = playerNode.get("loss").asInt();
-                int ties = playerNode.get("tie").asInt();
-
-                PlayerRecord record = new PlayerRecord();
-                record.initializeWins(wins);
-                record.initializeLoss(losses);
-                record.initializeTie(ties);
-                leaderBoard.put(username, record);
+            records = storage.load();
+        } catch (IOException e) {
+            System.out.println("Error reading leaderboard");
+            System.out.println(e.getMessage());
+        }
+        ConcurrentHashMap<String, AtomicReference<PlayerRecord>> loaded =
+                new ConcurrentHashMap<>(records.size() * 4 / 3 + 1);
+        synchronized (ranking) {
+            ranking.clear();
+            rankedRatings.clear();
+            rerank.clear();
+            for (Map.Entry<String, PlayerRecord> entry : records.entrySet()) {
+                loaded.put(entry.getKey(), new AtomicReference<>(entry.getValue()));
+                ranking.insert(entry.getKey(), entry.getValue().getRating());
+                rankedRatings.put(entry.getKey(), entry.getValue().getRating());
             }
+            leaderBoard = loaded;
+        }
+    }
+
+    /**
+     * Records a finished game session. The session is written to the storage without reading the rest of the
+     * leaderboard and applied to this leaderboard
+     * @param gameRecords The records of a game session. Contains the username of the players and their record
+     */
+    public void recordSession(Map<String, PlayerRecord> gameRecords) {
+        try {
+            storage.append(gameRecords);
+            updateLeaderBoard(gameRecords);
+        } catch (IOException e) {
+            System.out.println("Error writing leaderboard");
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the records of one or more game sessions to the storage. The records of this leaderboard are left alone
+     * @param gameRecords The records to write. Contains the username of the players and their record
+     * @throws IOException If the storage can't be written
+     */
+    public void persistSession(Map<String, PlayerRecord> gameRecords) throws IOException {
+        storage.append(gameRecords);
+    }
+
+    /**
+     * Reclaims the space taken up by earlier sessions in the storage, such as folding the json journal into the
+     * snapshot. The records of this leaderboard are left alone
+     */
+    public void compact() {
+        try {
+            storage.compact();
         } catch (IOException e) {
-            System.out.println("Error reading leaderboard.json");
+            System.out.println("Error compacting leaderboard");
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * Rates a finished game and moves both players to their new ranks. Players who aren't on the leaderboard yet are
+     * added with no wins, losses or ties, which arrive later with the session records. A game between two players with
+     * the same username isn't rated
+     * @param playerOne The username of one player
+     * @param playerTwo The username of the other player
+     * @param scoreOne The score of player one. 1 for a win, 0.5 for a tie and 0 for a loss
+     */
+    public void recordGame(String playerOne, String playerTwo, double scoreOne) {
+        if (playerOne.equals(playerTwo)) {
+            return;
+        }
+        AtomicReference<PlayerRecord> one = entryOf(playerOne);
+        AtomicReference<PlayerRecord> two = entryOf(playerTwo);
+        // The new ratings depend on both old ones, so both players are locked, always in username order
+        boolean oneFirst = playerOne.compareTo(playerTwo) < 0;
+        synchronized (oneFirst ? one : two) {
+            synchronized (oneFirst ? two : one) {
+                PlayerRecord ratedOne = copyOf(one.get());
+                PlayerRecord ratedTwo = copyOf(two.get());
+                Glicko.rateGame(ratedOne, ratedTwo, scoreOne);
+                one.updateAndGet(current -> withRating(current, ratedOne));
+                two.updateAndGet(current -> withRating(current, ratedTwo));
+            }
+        }
+        rerank.add(playerOne);
+        rerank.add(playerTwo);
+    }
+
     /**
      * After the end of a game session, the player's leaderboard are updated based on their performance of that game
-     * session and stored in the leaderboard
+     * session and stored in the leaderboard. Records that carry a rating replace the player's rating. Safe to call from
+     * many threads at once
      * @param gameRecords The records of a game session. Contains the username of the players and their record
      */
     public void updateLeaderBoard(Map<String, PlayerRecord> gameRecords) {
-        System.out.println(gameRecords.size() + ": " + gameRecords.keySet());
         for (Map.Entry<String, PlayerRecord> entry : gameRecords.entrySet()) {
             String username = entry.getKey();
             PlayerRecord record = entry.getValue();
-            if (leaderBoard.containsKey(username)) {
-                int additionalWins = record.getWins();
-                int additionalLoss = record.getLosses();
-                int additionalTie = record.getTies();
-                leaderBoard.get(username).updateWins(additionalWins);
-                leaderBoard.get(username).updateLoss(additionalLoss);
-                leaderBoard.get(username).updateTies(additionalTie);
+            AtomicReference<PlayerRecord> current = entryOf(username);
+            if (record.hasRating()) {
+                synchronized (current) {
+                    current.updateAndGet(old -> withSession(old, record));
+                }
+                rerank.add(username);
             } else {
-                leaderBoard.put(username, record);
+                current.updateAndGet(old -> withSession(old, record));
             }
         }
     }
 
     /**
-     * Converts the data from the leaderboard field member back into a json object via overwriting.
-     * Since my json is a list of hashmaps, I need to pass a list of maps
+     * Converts the data from the leaderboard field member back into the storage via overwriting, so the storage holds
+     * exactly the players of this leaderboard
      */
     public void updateJsonFile() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        List<Map<String, Object>> updatedLeaderBoard = new ArrayList<>();
-        for (Map.Entry<String, PlayerRecord> entry : leaderBoard.entrySet()) {
-            Map<String, Object> temp = new HashMap<>();
-            String username = entry.getKey();
-            int wins = entry.getValue().getWins();
-            int losses = entry.getValue().getLosses();
-            int ties = entry.getValue().getTies();
-            temp.put("username", username);
-            temp.put("wins", wins);
-            temp.put("loss", losses);
-            temp.put("tie", ties);
-            updatedLeaderBoard.add(temp);
+        Map<String, PlayerRecord> records = new HashMap<>(leaderBoard.size() * 4 / 3 + 1);
+        for (Map.Entry<String, AtomicReference<PlayerRecord>> entry : leaderBoard.entrySet()) {
+            records.put(entry.getKey(), entry.getValue().get());
         }
         try {
-            objectMapper.writeValue(new File(LEADERBOARD_FILE), updatedLeaderBoard);
+            storage.replaceAll(records);
         } catch (IOException e) {
-            System.out.println("Error converting to JSON");
+            System.out.println("Error writing leaderboard");
+            System.out.println(e.getMessage());
         }
     }
 
     /**
-     * From the leaderboard, obtain the top five players to be displayed later
+     * From the leaderboard, obtain the five highest rated players to be displayed later
      * @return A hashmap where the key is the player and their value is their all-time records
      */
     public Map<String, PlayerRecord> getTopFiveLeaderBoard() {
-        Comparator<Integer> comparator = (o1, o2) -> Integer.compare(o1, o2);
-        Comparator<Map.Entry<String, PlayerRecord>> compareWins = (
-                o1,
-                o2) ->
-                        comparator.compare(o2.getValue().getWins(), o1.getValue().getWins());
-
-        Map<String, PlayerRecord> topFiveLeaderBoard = leaderBoard
-                .entrySet()
-                .stream()
-                .sorted(compareWins)
-                .limit(5)
-                .collect(Collectors
-                    .toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) ->
-                    e1, LinkedHashMap::new));
-        return topFiveLeaderBoard;
+        return getRankRange(1, 5);
+    }
+
+    /**
+     * Obtains a page of the leaderboard. Players are ranked by rating, with equal ratings ordered by username
+     * @param fromRank The first rank to include, 1 being the highest rating
+     * @param count The most players to include
+     * @return A map in rank order where the key is the player and their value is a copy of their all-time records
+     */
+    public Map<String, PlayerRecord> getRankRange(int fromRank, int count) {
+        Map<String, PlayerRecord> page = new LinkedHashMap<>();
+        synchronized (ranking) {
+            rerank();
+            for (String username : ranking.range(fromRank, count)) {
+                page.put(username, copyOf(leaderBoard.get(username).get()));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Obtains the all-time record of a player
+     * @param username The player's username
+     * @return A copy of the player's record. Null if the player isn't on the leaderboard
+     */
+    public PlayerRecord getRecord(String username) {
+        AtomicReference<PlayerRecord> record = leaderBoard.get(username);
+        return record == null ? null : copyOf(record.get());
+    }
+
+    /**
+     * Obtains the rank of a player
+     * @param username The player's username
+     * @return The rank of the player, 1 being the highest rating. -1 if the player isn't on the leaderboard
+     */
+    public int getRank(String username) {
+        synchronized (ranking) {
+            rerank();
+            Double rating = rankedRatings.get(username);
+            return rating == null ? -1 : ranking.rankOf(username, rating);
+        }
+    }
+
+    /**
+     * Obtains the record of a player, adding a player who isn't on the leaderboard yet with an empty record
+     * @param username The player's username
+     * @return The reference holding the player's record
+     */
+    private AtomicReference<PlayerRecord> entryOf(String username) {
+        AtomicReference<PlayerRecord> record = leaderBoard.get(username);
+        if (record == null) {
+            AtomicReference<PlayerRecord> added = new AtomicReference<>(new PlayerRecord());
+            record = leaderBoard.putIfAbsent(username, added);
+            if (record == null) {
+                record = added;
+                rerank.add(username);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Moves every player whose rating changed since the last read to their new rank. A player is taken out of the set
+     * before their rating is read, so a rating changed meanwhile puts them back for the next read. The caller holds
+     * the ranking lock
+     */
+    private void rerank() {
+        for (Iterator<String> iterator = rerank.iterator(); iterator.hasNext();) {
+            String username = iterator.next();
+            iterator.remove();
+            double rating = leaderBoard.get(username).get().getRating();
+            Double ranked = rankedRatings.put(username, rating);
+            if (ranked == null) {
+                ranking.insert(username, rating);
+            } else if (ranked != rating) {
+                ranking.remove(username, ranked);
+                ranking.insert(username, rating);
+            }
+        }
+    }
+
+    /**
+     * Builds the record a player has after a game session
+     * @param current The player's record before the session
+     * @param session The player's record from the session
+     * @return A new record with the session's wins, losses and ties added and its rating, if it has one
+     */
+    private static PlayerRecord withSession(PlayerRecord current, PlayerRecord session) {
+        PlayerRecord updated = copyOf(current);
+        updated.updateWins(session.getWins());
+        updated.updateLoss(session.getLosses());
+        updated.updateTies(session.getTies());
+        if (session.hasRating()) {
+            updated.initializeRating(session.getRating(), session.getDeviation());
+        }
+        return updated;
+    }
+
+    /**
+     * Builds the record a player has after being rated
+     * @param current The player's record before the rating
+     * @param rated A record holding the new rating
+     * @return A new record with the wins, losses and ties of current and the rating of rated
+     */
+    private static PlayerRecord withRating(PlayerRecord current, PlayerRecord rated) {
+        PlayerRecord updated = copyOf(current);
+        updated.initializeRating(rated.getRating(), rated.getDeviation());
+        return updated;
+    }
+
+    /**
+     * Copies a record so the records held by the leaderboard are never changed after they are published
+     * @param record The record to copy
+     * @return A new record with the same wins, losses, ties and rating
+     */
+    private static PlayerRecord copyOf(PlayerRecord record) {
+        PlayerRecord copy = new PlayerRecord();
+        copy.initializeWins(record.getWins());
+        copy.initializeLoss(record.getLosses());
+        copy.initializeTie(record.getTies());
+        if (record.hasRating()) {
+            copy.initializeRating(record.getRating(), record.getDeviation());
+        }
+        return copy;
     }
 }
@@ -0,0 +1,50 @@
+package tiktactoe.model.gamedata;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Migrates the leaderboard in the resources folder from one storage format to another. Every record is read from the
+ * source, journaled sessions included, and replaces whatever the target held. The source is left as it is, and the
+ * target is left alone if the source can't be read or holds no players
+ */
+public final class LeaderBoardConverter {
+
+    /**
+     * Empty constructor. This class only has static methods
+     */
+    private LeaderBoardConverter() {
+    }
+
+    /**
+     * Copies every record from one storage to another
+     * @param source The storage to read
+     * @param target The storage to replace
+     * @return The number of players copied
+     * @throws IOException If the source can't be read or holds no players, or the target can't be written
+     */
+    public static int convert(LeaderBoardStorage source, LeaderBoardStorage target) throws IOException {
+        Map<String, PlayerRecord> records = source.load();
+        if (records.isEmpty()) {
+            throw new IOException("Refusing to convert a leaderboard with no players");
+        }
+        target.replaceAll(records);
+        return records.size();
+    }
+
+    /**
+     * Converts the leaderboard in the resources folder
+     * @param args fromFormat toFormat, each json or binary
+     * @throws IOException If the source can't be read or the target can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args[0].equals(args[1])) {
+            System.out.println("Usage: LeaderBoardConverter <json|binary> <json|binary>");
+            return;
+        }
+        long startTime = System.nanoTime();
+        int players = convert(LeaderBoard.createStorage(args[0]), LeaderBoard.createStorage(args[1]));
+        System.out.printf("Converted %d players from %s to %s in %.2fs%n", players, args[0], args[1],
+                (System.nanoTime() - startTime) / 1e9);
+    }
+}
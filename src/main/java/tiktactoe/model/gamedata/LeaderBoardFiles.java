@@ -0,0 +1,271 @@
+package tiktactoe.model.gamedata;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Crash-safe file operations shared by the leaderboard snapshot and journal. Files are replaced by writing a temporary
+ * file next to them, forcing it to disk and renaming it over the original, so readers only ever see the old or the new
+ * contents. Writers in different processes are kept apart by an exclusive lock on a separate lock file
+ */
+public final class LeaderBoardFiles {
+
+    /**
+     * FileChannel locks are held by the whole JVM, so threads of the same process also need to wait for each other
+     */
+    private static final Map<Path, ReentrantLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Empty constructor. This class only has static methods
+     */
+    private LeaderBoardFiles() {
+    }
+
+    /**
+     * Replaces the contents of a file so a crash leaves either the old or the new contents, never a mix of both
+     * @param target The file to replace
+     * @param contents The new contents of the file
+     * @throws IOException If the file can't be written
+     */
+    public static void writeAtomically(Path target, byte[] contents) throws IOException {
+        writeAtomically(target, out -> out.write(contents));
+    }
+
+    /**
+     * Replaces the contents of a file with whatever a writer streams out, so large files never need to be built in
+     * memory first. A crash leaves either the old or the new contents, never a mix of both
+     * @param target The file to replace
+     * @param writer Writes the new contents of the file
+     * @throws IOException If the file can't be written
+     */
+    public static void writeAtomically(Path target, ContentWriter writer) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                writer.write(new NonClosingOutputStream(out));
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        forceDirectory(directory);
+    }
+
+    /**
+     * Appends to a file and forces the new bytes to disk before returning
+     * @param target The file to append to. It is created if it doesn't exist
+     * @param contents The bytes to append
+     * @throws IOException If the file can't be written
+     */
+    public static void appendDurably(Path target, byte[] contents) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Waits until no other thread or process holds the lock file and takes it
+     * @param lockFile The file used as the lock. It is created if it doesn't exist and never holds any data
+     * @return The held lock. Closing it releases the lock
+     * @throws IOException If the lock file can't be opened or locked
+     */
+    public static Lock lock(Path lockFile) throws IOException {
+        ReentrantLock processLock = PROCESS_LOCKS.computeIfAbsent(lockFile.toAbsolutePath().normalize(),
+                path -> new ReentrantLock());
+        processLock.lock();
+        try {
+            FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                return new Lock(processLock, channel, channel.lock());
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            processLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an action while holding the lock file, and releases it afterwards even if the action fails
+     * @param lockFile The file used as the lock. It is created if it doesn't exist and never holds any data
+     * @param action The work to do under the lock
+     * @throws IOException If the lock file can't be locked or the action fails
+     */
+    public static void withLock(Path lockFile, LockedAction action) throws IOException {
+        withLock(lockFile, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Reads something while holding the lock file, and releases it afterwards even if the read fails
+     * @param lockFile The file used as the lock. It is created if it doesn't exist and never holds any data
+     * @param read The read to do under the lock
+     * @param <T> The type of what is read
+     * @return Whatever the read returned
+     * @throws IOException If the lock file can't be locked or the read fails
+     */
+    public static <T> T withLock(Path lockFile, LockedRead<T> read) throws IOException {
+        Lock lock = lock(lockFile);
+        try {
+            return read.read();
+        } finally {
+            lock.close();
+        }
+    }
+
+    /**
+     * Forces a rename in a directory to disk. Not every platform can open a directory, so failures are ignored
+     * @param directory The directory holding a renamed file
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The rename itself already happened, only its durability on this platform is unknown
+        }
+    }
+
+    /**
+     * Writes the contents of a file being replaced
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes the whole contents of the file
+         * @param out The stream to write to. Closing it has no effect
+         * @throws IOException If the contents can't be written
+         */
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Work done while holding the lock file
+     */
+    @FunctionalInterface
+    public interface LockedAction {
+
+        /**
+         * Does the work
+         * @throws IOException If the work fails
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * A read done while holding the lock file
+     * @param <T> The type of what is read
+     */
+    @FunctionalInterface
+    public interface LockedRead<T> {
+
+        /**
+         * Does the read
+         * @return What was read
+         * @throws IOException If the read fails
+         */
+        T read() throws IOException;
+    }
+
+    /**
+     * Keeps a writer from closing the temporary file before it has been forced to disk
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        /**
+         * Constructor for the stream
+         * @param out The stream to write to
+         */
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        /**
+         * Writes a range of bytes in one go rather than one byte at a time
+         * @param bytes The bytes to write
+         * @param offset The first byte to write
+         * @param length The number of bytes to write
+         * @throws IOException If the bytes can't be written
+         */
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        /**
+         * Flushes instead of closing
+         * @throws IOException If the stream can't be flushed
+         */
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * An exclusive lock held on a lock file by this thread
+     */
+    public static final class Lock implements AutoCloseable {
+        private final ReentrantLock processLock;
+        private final FileChannel channel;
+        private final FileLock fileLock;
+
+        /**
+         * Constructor for a held lock
+         * @param processLock The lock keeping other threads of this process out
+         * @param channel The open lock file
+         * @param fileLock The lock keeping other processes out
+         */
+        private Lock(ReentrantLock processLock, FileChannel channel, FileLock fileLock) {
+            this.processLock = processLock;
+            this.channel = channel;
+            this.fileLock = fileLock;
+        }
+
+        /**
+         * Releases the lock for other threads and processes
+         * @throws IOException If the lock file can't be released
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                fileLock.release();
+                channel.close();
+            } finally {
+                processLock.unlock();
+            }
+        }
+    }
+}
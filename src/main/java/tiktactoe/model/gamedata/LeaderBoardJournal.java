@@ -0,0 +1,195 @@
+package tiktactoe.model.gamedata;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An append-only log of leaderboard changes. Every line is a JSON object holding one player's wins, losses and ties
+ * from a single game session, and their rating once they have one, tagged with a sequence number that only grows. A
+ * line with only a sequence number is a checkpoint left behind by compaction, so the next append knows where to
+ * continue without reading the snapshot. Callers hold the leaderboard lock while appending so two processes never
+ * hand out the same sequence number
+ */
+public class LeaderBoardJournal {
+    private static final int TAIL_BYTES = 512;
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for the journal
+     * @param path The file the journal is stored in. It is created on the first append
+     */
+    public LeaderBoardJournal(Path path) {
+        this.path = path;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Obtains the file the journal is stored in
+     * @return The path of the journal
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Obtains the size of the journal on disk
+     * @return The size of the journal in bytes. 0 if it doesn't exist
+     * @throws IOException If the size can't be read
+     */
+    public long size() throws IOException {
+        return Files.exists(path) ? Files.size(path) : 0;
+    }
+
+    /**
+     * Appends the records of a game session with a single sequential write
+     * @param gameRecords The records of a game session. Contains the username of the players and their record
+     * @param lastSequence The sequence number of the newest entry already in the journal or the snapshot
+     * @return The sequence number of the last appended entry
+     * @throws IOException If the journal can't be written
+     */
+    public long append(Map<String, PlayerRecord> gameRecords, long lastSequence) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        if (!endsWithNewline()) {
+            // Finishes off a line torn by a crash so the new entries start on a line of their own
+            lines.append('\n');
+        }
+        long sequence = lastSequence;
+        for (Map.Entry<String, PlayerRecord> entry : gameRecords.entrySet()) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("seq", ++sequence);
+            line.put("username", entry.getKey());
+            line.put("wins", entry.getValue().getWins());
+            line.put("loss", entry.getValue().getLosses());
+            line.put("tie", entry.getValue().getTies());
+            if (entry.getValue().hasRating()) {
+                line.put("rating", entry.getValue().getRating());
+                line.put("rd", entry.getValue().getDeviation());
+            }
+            lines.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+        LeaderBoardFiles.appendDurably(path, lines.toString().getBytes(StandardCharsets.UTF_8));
+        return sequence;
+    }
+
+    /**
+     * Adds every entry newer than a sequence number to a leaderboard map, with later ratings replacing earlier ones.
+     * Lines that can't be parsed, such as one torn by a crash, are skipped
+     * @param leaderBoard The map the entries are added to
+     * @param afterSequence Entries with this sequence number or lower are already included and are skipped
+     * @return The sequence number of the newest line in the journal, or afterSequence if it is newer
+     * @throws IOException If the journal can't be read
+     */
+    public long replay(Map<String, PlayerRecord> leaderBoard, long afterSequence) throws IOException {
+        long lastSequence = afterSequence;
+        if (!Files.exists(path)) {
+            return lastSequence;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode node = parseLine(line);
+                if (node == null) {
+                    continue;
+                }
+                long sequence = node.get("seq").asLong();
+                lastSequence = Math.max(lastSequence, sequence);
+                if (sequence <= afterSequence || !node.has("username")) {
+                    continue;
+                }
+                PlayerRecord record = leaderBoard.computeIfAbsent(node.get("username").asText(),
+                        username -> new PlayerRecord());
+                record.updateWins(node.get("wins").asInt());
+                record.updateLoss(node.get("loss").asInt());
+                record.updateTies(node.get("tie").asInt());
+                if (node.has("rating")) {
+                    record.initializeRating(node.get("rating").asDouble(), node.get("rd").asDouble());
+                }
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Reads the sequence number of the newest line without reading the rest of the journal
+     * @return The newest sequence number. -1 if the journal is missing or holds no complete line
+     * @throws IOException If the journal can't be read
+     */
+    public long lastSequence() throws IOException {
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            long length = file.length();
+            long start = Math.max(0, length - TAIL_BYTES);
+            byte[] tail = new byte[(int) (length - start)];
+            file.seek(start);
+            file.readFully(tail);
+            String[] lines = new String(tail, StandardCharsets.UTF_8).split("\n");
+            for (int i = lines.length - 1; i >= 0; i--) {
+                JsonNode node = parseLine(lines[i]);
+                if (node != null) {
+                    return node.get("seq").asLong();
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the whole journal with a single checkpoint once a snapshot holds every entry up to that point
+     * @param sequence The sequence number the snapshot includes
+     * @throws IOException If the journal can't be written
+     */
+    public void checkpoint(long sequence) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("seq", sequence);
+        String contents = objectMapper.writeValueAsString(line) + "\n";
+        LeaderBoardFiles.writeAtomically(path, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks that the journal is missing, empty or finishes with a complete line
+     * @return True if a new line can be appended as is
+     * @throws IOException If the journal can't be read
+     */
+    private boolean endsWithNewline() throws IOException {
+        if (!Files.exists(path)) {
+            return true;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            if (file.length() == 0) {
+                return true;
+            }
+            file.seek(file.length() - 1);
+            return file.read() == '\n';
+        }
+    }
+
+    /**
+     * Parses one line of the journal
+     * @param line A line of the journal
+     * @return The parsed entry. Null if the line is blank, torn or has no sequence number
+     */
+    private JsonNode parseLine(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return node != null && node.has("seq") ? node : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package tiktactoe.model.gamedata;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import tiktactoe.model.rating.GameResult;
+
+/**
+ * A long-lived leaderboard shared by the menu and every game session. The leaderboard is read from disk once and then
+ * served from memory. Finished sessions are applied in memory right away and written to the storage in the background,
+ * with every session ended during the flush delay merged into a single append. Every rated game is also appended to a
+ * game log, one rating period per day, so the ratings can be recomputed in bulk later. Sessions, rated players and
+ * games wait in lock-free queues, so threads ending sessions never wait on each other or on the writer
+ */
+public final class LeaderBoardService {
+    private static final long FLUSH_DELAY_MILLIS = 2000;
+    private static final String GAME_LOG_FILE = "resources/games.log";
+
+    private final LeaderBoard leaderBoard;
+    private final Path gameLog;
+    private final long flushDelayMillis;
+    private final ScheduledExecutorService writer;
+    private final Queue<Map<String, PlayerRecord>> pendingSessions = new ConcurrentLinkedQueue<>();
+    private final Set<String> pendingRatings = ConcurrentHashMap.newKeySet();
+    private final Queue<GameResult> pendingGames = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Holder class so the leaderboard is only read the first time the service is used
+     */
+    private static final class Holder {
+        private static final LeaderBoardService INSTANCE = createDefault();
+    }
+
+    /**
+     * Constructor for the leaderboard service. Reads the leaderboard from disk
+     * @param leaderBoard The leaderboard to serve. It is initialized by this constructor
+     * @param gameLog The file rated games are appended to
+     * @param flushDelayMillis How long finished sessions wait in memory before being written together
+     */
+    public LeaderBoardService(LeaderBoard leaderBoard, Path gameLog, long flushDelayMillis) {
+        this.leaderBoard = leaderBoard;
+        this.gameLog = gameLog;
+        this.flushDelayMillis = flushDelayMillis;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        leaderBoard.initializeLeaderBoard();
+    }
+
+    /**
+     * Obtains the service backed by the leaderboard files in the resources folder
+     * @return The shared leaderboard service
+     */
+    public static LeaderBoardService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Obtains the top five players from memory
+     * @return A copy of the top five players and their all-time records, best first
+     */
+    public Map<String, PlayerRecord> getTopFive() {
+        return getRankRange(1, 5);
+    }
+
+    /**
+     * Obtains a page of the leaderboard from memory. Players are ranked by rating, ties broken by username
+     * @param fromRank The first rank to include, 1 being the highest rating
+     * @param count The most players to include
+     * @return A copy of the players and their all-time records in rank order
+     */
+    public Map<String, PlayerRecord> getRankRange(int fromRank, int count) {
+        return leaderBoard.getRankRange(fromRank, count);
+    }
+
+    /**
+     * Obtains the rank of a player from memory
+     * @param username The player's username
+     * @return The rank of the player, 1 being the highest rating. -1 if the player isn't on the leaderboard
+     */
+    public int getRank(String username) {
+        return leaderBoard.getRank(username);
+    }
+
+    /**
+     * Applies a finished game session in memory and queues it to be written in the background
+     * @param gameRecords The records of a game session. Contains the username of the players and their record
+     */
+    public void recordSession(Map<String, PlayerRecord> gameRecords) {
+        leaderBoard.updateLeaderBoard(gameRecords);
+        // Copies the records since the session keeps resetting its own
+        Map<String, PlayerRecord> session = new HashMap<>();
+        merge(session, gameRecords);
+        pendingSessions.add(session);
+        scheduleFlush();
+    }
+
+    /**
+     * Rates a finished game in memory and queues the new ratings and the game to be written in the background. The
+     * ratings themselves are read when they are written, so the newest rating is always the one written
+     * @param playerOne The username of one player
+     * @param playerTwo The username of the other player
+     * @param scoreOne The score of player one. 1 for a win, 0.5 for a tie and 0 for a loss
+     */
+    public void recordGame(String playerOne, String playerTwo, double scoreOne) {
+        leaderBoard.recordGame(playerOne, playerTwo, scoreOne);
+        pendingRatings.add(playerOne);
+        pendingRatings.add(playerTwo);
+        pendingGames.add(new GameResult(LocalDate.now(ZoneOffset.UTC).toEpochDay(), playerOne, playerTwo, scoreOne));
+        scheduleFlush();
+    }
+
+    /**
+     * Writes every queued session to the storage on the calling thread. Sessions that fail to write are queued again
+     * and retried by the next flush
+     */
+    public void flush() {
+        flushScheduled.set(false);
+        Map<String, PlayerRecord> batch = new HashMap<>();
+        Map<String, PlayerRecord> session;
+        while ((session = pendingSessions.poll()) != null) {
+            merge(batch, session);
+        }
+        List<String> rated = new ArrayList<>();
+        for (Iterator<String> iterator = pendingRatings.iterator(); iterator.hasNext();) {
+            String username = iterator.next();
+            iterator.remove();
+            rated.add(username);
+            PlayerRecord current = leaderBoard.getRecord(username);
+            batch.computeIfAbsent(username, key -> new PlayerRecord())
+                    .initializeRating(current.getRating(), current.getDeviation());
+        }
+        if (!batch.isEmpty()) {
+            try {
+                leaderBoard.persistSession(batch);
+            } catch (IOException e) {
+                System.out.println("Error writing leaderboard");
+                System.out.println(e.getMessage());
+                requeue(batch, rated);
+            }
+        }
+
+        List<GameResult> games = new ArrayList<>();
+        GameResult game;
+        while ((game = pendingGames.poll()) != null) {
+            games.add(game);
+        }
+        if (!games.isEmpty()) {
+            StringBuilder lines = new StringBuilder();
+            for (GameResult result : games) {
+                lines.append(result.toLogLine()).append('\n');
+            }
+            try {
+                LeaderBoardFiles.appendDurably(gameLog, lines.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.out.println("Error writing games.log");
+                System.out.println(e.getMessage());
+                pendingGames.addAll(games);
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Creates the default service and makes sure queued sessions are written when the program exits
+     * @return The service backed by the leaderboard files in the resources folder
+     */
+    private static LeaderBoardService createDefault() {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(), Paths.get(GAME_LOG_FILE),
+                FLUSH_DELAY_MILLIS);
+        Runtime.getRuntime().addShutdownHook(new Thread(service::flush, "leaderboard-flush"));
+        return service;
+    }
+
+    /**
+     * Makes sure the background writer will flush the queue once the flush delay has passed
+     */
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queues a batch that failed to write again. Its ratings are dropped and their players marked as rated instead, so
+     * the retry writes whatever rating they have by then rather than an older one
+     * @param batch The batch that failed to write
+     * @param rated The players whose rating the batch carried
+     */
+    private void requeue(Map<String, PlayerRecord> batch, List<String> rated) {
+        Map<String, PlayerRecord> counts = new HashMap<>();
+        for (Map.Entry<String, PlayerRecord> entry : batch.entrySet()) {
+            PlayerRecord record = entry.getValue();
+            PlayerRecord count = new PlayerRecord();
+            count.initializeWins(record.getWins());
+            count.initializeLoss(record.getLosses());
+            count.initializeTie(record.getTies());
+            counts.put(entry.getKey(), count);
+            if (record.hasRating()) {
+                pendingRatings.add(entry.getKey());
+            }
+        }
+        pendingRatings.addAll(rated);
+        pendingSessions.add(counts);
+        scheduleFlush();
+    }
+
+    /**
+     * Adds records to the running totals of a batch, copying any record the batch doesn't have yet. Ratings are
+     * replaced by the newest one
+     * @param batch The batch being built
+     * @param gameRecords The records to add
+     */
+    private static void merge(Map<String, PlayerRecord> batch, Map<String, PlayerRecord> gameRecords) {
+        for (Map.Entry<String, PlayerRecord> entry : gameRecords.entrySet()) {
+            PlayerRecord record = entry.getValue();
+            PlayerRecord total = batch.computeIfAbsent(entry.getKey(), username -> new PlayerRecord());
+            total.updateWins(record.getWins());
+            total.updateLoss(record.getLosses());
+            total.updateTies(record.getTies());
+            if (record.hasRating()) {
+                total.initializeRating(record.getRating(), record.getDeviation());
+            }
+        }
+    }
+}
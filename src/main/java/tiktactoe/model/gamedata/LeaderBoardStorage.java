@@ -0,0 +1,40 @@
+package tiktactoe.model.gamedata;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Where the all-time records of the leaderboard are kept on disk. The leaderboard reads every record once and then
+ * only hands finished sessions to the storage, so a storage can write each session as cheaply as its format allows.
+ * Every write is safe against other game processes using the same files at the same time
+ */
+public interface LeaderBoardStorage {
+
+    /**
+     * Reads every record in the storage
+     * @return A map where the key is the player and their value is their all-time records
+     * @throws IOException If the records can't be read
+     */
+    Map<String, PlayerRecord> load() throws IOException;
+
+    /**
+     * Adds the records of one or more game sessions to the records already stored. Wins, losses and ties are added
+     * to the stored totals and records that carry a rating replace the stored rating
+     * @param gameRecords The records to add. Contains the username of the players and their record
+     * @throws IOException If the records can't be written
+     */
+    void append(Map<String, PlayerRecord> gameRecords) throws IOException;
+
+    /**
+     * Replaces every stored record, so the storage holds exactly the given players afterwards
+     * @param leaderBoard A map where the key is the player and their value is their all-time records
+     * @throws IOException If the records can't be written
+     */
+    void replaceAll(Map<String, PlayerRecord> leaderBoard) throws IOException;
+
+    /**
+     * Reclaims the space taken up by earlier writes. Storages that update their records in place have nothing to do
+     * @throws IOException If the storage can't be rewritten
+     */
+    void compact() throws IOException;
+}
@@ -4,9 +4,18 @@ package tiktactoe.model.gamedata;
  * Class that represents a player's move
  */
 public class Move {
-    private int row;
-    private int col;
-    private GameEnum playerSymbol;
+    private static final Move[] INTERNED = new Move[18];
+
+    static {
+        for (int cell = 0; cell < 9; cell++) {
+            INTERNED[cell] = new Move(cell / 3, cell % 3, GameEnum.X);
+            INTERNED[9 + cell] = new Move(cell / 3, cell % 3, GameEnum.O);
+        }
+    }
+
+    private final int row;
+    private final int col;
+    private final GameEnum playerSymbol;
 
     /**
      * Constructor for the move class
@@ -20,6 +29,36 @@ public class Move {
         this.playerSymbol = playerSymbol;
     }
 
+    /**
+     * Obtains a shared Move instance. Moves never change once created, so the 18 possible X and O moves are created
+     * once and reused instead of allocating a new Move every time
+     * @param row The row position of the move
+     * @param col The column position of the move
+     * @param playerSymbol The symbol of the player making the move
+     * @return A move with the given position and symbol
+     */
+    public static Move of(int row, int col, GameEnum playerSymbol) {
+        if (row < 0 || row >= 3 || col < 0 || col >= 3) {
+            return new Move(row, col, playerSymbol);
+        }
+        return of(row * 3 + col, playerSymbol);
+    }
+
+    /**
+     * Obtains a shared Move instance for a cell index
+     * @param cell The cell index of the move (row * 3 + col)
+     * @param playerSymbol The symbol of the player making the move
+     * @return A move with the given position and symbol
+     */
+    public static Move of(int cell, GameEnum playerSymbol) {
+        if (playerSymbol == GameEnum.X) {
+            return INTERNED[cell];
+        } else if (playerSymbol == GameEnum.O) {
+            return INTERNED[9 + cell];
+        }
+        return new Move(cell / 3, cell % 3, playerSymbol);
+    }
+
     /**
      * Obtains the row of the move
      * @return An int representation of the row number
@@ -36,6 +75,14 @@ public class Move {
         return col;
     }
 
+    /**
+     * Obtains the symbol of the player making the move
+     * @return The GameEnum of the player's symbol
+     */
+    public GameEnum getPlayerSymbol() {
+        return playerSymbol;
+    }
+
     /**
      * Converts the player's symbol to a char
      * @return A char representation of the player's symbol
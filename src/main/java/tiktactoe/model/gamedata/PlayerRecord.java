@@ -1,20 +1,28 @@
 package tiktactoe.model.gamedata;
 
+import tiktactoe.model.rating.Glicko;
+
 /**
- * A class that stores a player's record given the current gaming session
+ * A class that stores a player's record given the current gaming session, along with their Glicko rating
  */
 public class PlayerRecord {
     private int wins;
     private int losses;
     private int ties;
+    private double rating;
+    private double deviation;
+    private boolean rated;
 
     /**
-     * Constructor for player record. Initializes all the data members to 0
+     * Constructor for player record. Initializes all the data members to 0 and the rating to that of a new player
      */
     public PlayerRecord() {
         this.wins = 0;
         this.losses = 0;
         this.ties = 0;
+        this.rating = Glicko.INITIAL_RATING;
+        this.deviation = Glicko.INITIAL_DEVIATION;
+        this.rated = false;
     }
 
     /**
@@ -41,6 +49,41 @@ public class PlayerRecord {
         return ties;
     }
 
+    /**
+     * Obtains the Glicko rating
+     * @return The player's rating. 1500 for a player who hasn't been rated
+     */
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * Obtains the Glicko rating deviation
+     * @return How uncertain the player's rating is. 350 for a player who hasn't been rated
+     */
+    public double getDeviation() {
+        return deviation;
+    }
+
+    /**
+     * Checks to see if the rating was set rather than left at the value of a new player
+     * @return True if the rating has been set
+     */
+    public boolean hasRating() {
+        return rated;
+    }
+
+    /**
+     * Sets the rating and rating deviation to whatever is provided
+     * @param rating The Glicko rating
+     * @param deviation The Glicko rating deviation
+     */
+    public void initializeRating(double rating, double deviation) {
+        this.rating = rating;
+        this.deviation = deviation;
+        this.rated = true;
+    }
+
     /**
      * Updates the wins by one
      */
@@ -111,11 +154,14 @@ public class PlayerRecord {
     }
 
     /**
-     * Resets the player's record to 0 once again
+     * Resets the player's record to 0 once again and the rating to that of a new player
      */
     public void reset() {
         this.wins = 0;
         this.losses = 0;
         this.ties = 0;
+        this.rating = Glicko.INITIAL_RATING;
+        this.deviation = Glicko.INITIAL_DEVIATION;
+        this.rated = false;
     }
 }
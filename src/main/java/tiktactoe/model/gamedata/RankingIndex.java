@@ -0,0 +1,220 @@
+package tiktactoe.model.gamedata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * An indexable skip list that keeps players ordered by score, highest first, with ties broken by username. Every link
+ * remembers how many players it skips over, so finding the player at a rank or the rank of a player takes O(log N)
+ * expected time and the top K players are the first K nodes of the bottom level
+ */
+public class RankingIndex {
+    private static final int MAX_LEVEL = 32;
+    private static final int LEVEL_UP_ONE_IN = 4;
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final SplittableRandom random = new SplittableRandom();
+    private int level = 1;
+    private int size;
+
+    /**
+     * A player in the skip list
+     */
+    private static final class Node {
+        private final String username;
+        private final double score;
+        private final Node[] next;
+        private final int[] span;
+
+        /**
+         * Constructor for a node
+         * @param username The player's username
+         * @param score The player's score
+         * @param height The number of levels the node is linked into
+         */
+        private Node(String username, double score, int height) {
+            this.username = username;
+            this.score = score;
+            this.next = new Node[height];
+            this.span = new int[height];
+        }
+    }
+
+    /**
+     * Obtains the number of players in the index
+     * @return The number of players
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a player. A player must be removed with their old score before being added again with a new one
+     * @param username The player's username
+     * @param score The player's score, such as their wins or rating
+     */
+    public void insert(String username, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && compare(node.next[i], username, score) < 0) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int height = randomHeight();
+        if (height > level) {
+            for (int i = level; i < height; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = size;
+            }
+            level = height;
+        }
+        Node inserted = new Node(username, score, height);
+        for (int i = 0; i < height; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = height; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Removes a player
+     * @param username The player's username
+     * @param score The score the player was added with
+     * @return True if the player was in the index
+     */
+    public boolean remove(String username, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i], username, score) < 0) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node removed = node.next[0];
+        if (removed == null || compare(removed, username, score) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == removed) {
+                update[i].span[i] += removed.span[i] - 1;
+                update[i].next[i] = removed.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Finds the rank of a player
+     * @param username The player's username
+     * @param score The score the player was added with
+     * @return The rank of the player, 1 being the highest score. -1 if the player isn't in the index
+     */
+    public int rankOf(String username, double score) {
+        int rank = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && compare(node.next[i], username, score) <= 0) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node != head && compare(node, username, score) == 0) {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtains the usernames of the players ranked from a rank onwards
+     * @param fromRank The first rank to include, 1 being the highest score
+     * @param count The most players to include
+     * @return The usernames in rank order. Shorter than count if the index runs out of players
+     */
+    public List<String> range(int fromRank, int count) {
+        List<String> usernames = new ArrayList<>(Math.max(0, Math.min(count, size - fromRank + 1)));
+        if (fromRank < 1 || fromRank > size) {
+            return usernames;
+        }
+        int traversed = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= fromRank) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+        }
+        while (node != null && usernames.size() < count) {
+            usernames.add(node.username);
+            node = node.next[0];
+        }
+        return usernames;
+    }
+
+    /**
+     * Obtains the usernames of the players with the highest scores
+     * @param count The most players to include
+     * @return The usernames in rank order
+     */
+    public List<String> top(int count) {
+        return range(1, count);
+    }
+
+    /**
+     * Removes every player
+     */
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    /**
+     * Orders a node against a player. Players with higher scores come first and equal scores are ordered by username
+     * @param node A node of the skip list
+     * @param username The other player's username
+     * @param score The other player's score
+     * @return A negative number if the node comes first, positive if the player comes first and 0 if they are the same
+     */
+    private static int compare(Node node, String username, double score) {
+        int byScore = Double.compare(score, node.score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        return node.username.compareTo(username);
+    }
+
+    /**
+     * Picks how many levels a new node is linked into. Each extra level is a quarter as likely as the one below
+     * @return A height between 1 and MAX_LEVEL
+     */
+    private int randomHeight() {
+        int height = 1;
+        while (height < MAX_LEVEL && random.nextInt(LEVEL_UP_ONE_IN) == 0) {
+            height++;
+        }
+        return height;
+    }
+}
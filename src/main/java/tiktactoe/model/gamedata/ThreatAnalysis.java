@@ -0,0 +1,119 @@
+package tiktactoe.model.gamedata;
+
+/**
+ * The threats on the board for a player and their opponent, found in a single scan of the eight winning lines.
+ * A winning cell completes a line right away. A fork cell creates two winning cells at once, which can't both be
+ * blocked. All cells are given as 9-bit masks where bit (row * 3 + col) represents a cell.
+ */
+public class ThreatAnalysis {
+    private int winningCells;
+    private int blockingCells;
+    private int forkCells;
+    private int opponentForkCells;
+    private int firstWinningCell;
+    private int firstBlockingCell;
+
+    /**
+     * Constructor for ThreatAnalysis. Scans every line once for both players
+     * @param own Cells owned by the player the analysis is for
+     * @param opponent Cells owned by the opponent
+     */
+    public ThreatAnalysis(int own, int opponent) {
+        this.firstWinningCell = -1;
+        this.firstBlockingCell = -1;
+        int empty = Board.FULL_BOARD & ~(own | opponent);
+        int ownOpenLines = 0;
+        int opponentOpenLines = 0;
+        for (int i = 0; i < Board.WINNING_LINE_COUNT; i++) {
+            int line = Board.getWinningLine(i);
+            int open = empty & line;
+            if (open == 0) {
+                continue;
+            }
+            int ownCount = Integer.bitCount(own & line);
+            int opponentCount = Integer.bitCount(opponent & line);
+            if (ownCount == 2) {
+                winningCells |= open;
+                if (firstWinningCell < 0) {
+                    firstWinningCell = Integer.numberOfTrailingZeros(open);
+                }
+            } else if (opponentCount == 2) {
+                blockingCells |= open;
+                if (firstBlockingCell < 0) {
+                    firstBlockingCell = Integer.numberOfTrailingZeros(open);
+                }
+            } else if (ownCount == 1 && opponentCount == 0) {
+                // An empty cell shared by two lines that each hold one of our symbols turns both into threats
+                forkCells |= ownOpenLines & open;
+                ownOpenLines |= open;
+            } else if (opponentCount == 1 && ownCount == 0) {
+                opponentForkCells |= opponentOpenLines & open;
+                opponentOpenLines |= open;
+            }
+        }
+    }
+
+    /**
+     * Obtains the cells that win the game right away for the player
+     * @return A 9-bit mask of winning cells
+     */
+    public int getWinningCells() {
+        return winningCells;
+    }
+
+    /**
+     * Obtains the cells the opponent would win with, which the player has to block
+     * @return A 9-bit mask of blocking cells
+     */
+    public int getBlockingCells() {
+        return blockingCells;
+    }
+
+    /**
+     * Obtains the cells that create two winning cells at once for the player
+     * @return A 9-bit mask of fork cells
+     */
+    public int getForkCells() {
+        return forkCells;
+    }
+
+    /**
+     * Obtains the cells that would create two winning cells at once for the opponent
+     * @return A 9-bit mask of the opponent's fork cells
+     */
+    public int getOpponentForkCells() {
+        return opponentForkCells;
+    }
+
+    /**
+     * Obtains the winning cell of the first line that has one, checking lines in winning line order
+     * @return The cell index (row * 3 + col). -1 if there is no winning cell
+     */
+    public int getFirstWinningCell() {
+        return firstWinningCell;
+    }
+
+    /**
+     * Obtains the blocking cell of the first line that has one, checking lines in winning line order
+     * @return The cell index (row * 3 + col). -1 if there is no blocking cell
+     */
+    public int getFirstBlockingCell() {
+        return firstBlockingCell;
+    }
+
+    /**
+     * Checks whether the player already has two or more winning cells, so the opponent can only block one of them
+     * @return True if the player has a double threat. False otherwise
+     */
+    public boolean hasDoubleThreat() {
+        return Integer.bitCount(winningCells) >= 2;
+    }
+
+    /**
+     * Checks whether the opponent already has two or more winning cells
+     * @return True if the opponent has a double threat. False otherwise
+     */
+    public boolean opponentHasDoubleThreat() {
+        return Integer.bitCount(blockingCells) >= 2;
+    }
+}
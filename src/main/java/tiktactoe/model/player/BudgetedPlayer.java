@@ -0,0 +1,26 @@
+package tiktactoe.model.player;
+
+/**
+ * A computer player whose effort per move is bounded by a search budget, so callers such as the game servers can
+ * trade strength for latency
+ */
+public interface BudgetedPlayer {
+
+    /**
+     * Sets how much effort each later move may take. It can be changed between moves from any thread
+     * @param searchBudget The budget of each move
+     */
+    void setSearchBudget(SearchBudget searchBudget);
+
+    /**
+     * Obtains how much effort each move may take
+     * @return The budget of each move
+     */
+    SearchBudget getSearchBudget();
+
+    /**
+     * Obtains what the last move cost
+     * @return The statistics of the last search, or null if there hasn't been one
+     */
+    SearchStatistics getLastSearch();
+}
@@ -1,20 +1,22 @@
 package tiktactoe.model.player;
 
-import static tiktactoe.model.gamedata.GameEnum.NONE;
-
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import tiktactoe.model.gamedata.Board;
 import tiktactoe.model.gamedata.GameEnum;
 import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.gamedata.ThreatAnalysis;
 
 /**
  * An abstract class of Computer player that inherits from abstract class PlayerType
  */
 public abstract class ComputerPlayer extends PlayerType {
+    private RandomGenerator random;
 
     /**
-     * Constructor for computer player that inherits via super
+     * Constructor for computer player that inherits via super. Randomness comes from ThreadLocalRandom of whichever
+     * thread asks for a move
      * @param username The computer player's name
      * @param symbol The computer player's symbol
      */
@@ -22,6 +24,26 @@ public abstract class ComputerPlayer extends PlayerType {
         super(username, symbol);
     }
 
+    /**
+     * Constructor for computer player that draws its randomness from the given source, for example a SplittableRandom
+     * owned by one simulation worker or a seeded generator to replay games exactly
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     * @param random The random source of this player. Null to use ThreadLocalRandom
+     */
+    public ComputerPlayer(String username, GameEnum symbol, RandomGenerator random) {
+        super(username, symbol);
+        this.random = random;
+    }
+
+    /**
+     * Obtains the random source of this player
+     * @return The random source given to the constructor, or the current thread's ThreadLocalRandom
+     */
+    protected RandomGenerator getRandomGenerator() {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
     /**
      * Declared method that will obtain the computer player's move
      * @param board The board of the tic-tac-toe game in data representation
@@ -29,6 +51,31 @@ public abstract class ComputerPlayer extends PlayerType {
      */
     public abstract Move getMove(Board board);
 
+    /**
+     * Obtains the symbol of the opposing player
+     * @param symbol A player's symbol (X or O)
+     * @return O if given X. X otherwise
+     */
+    protected static GameEnum opponentOf(GameEnum symbol) {
+        if (symbol == GameEnum.X) {
+            return GameEnum.O;
+        }
+        return GameEnum.X;
+    }
+
+    /**
+     * Finds the n-th set cell of a position mask, counting from the lowest cell index
+     * @param mask A 9-bit position mask
+     * @param n Which set cell to return, starting at 0. Must be less than the number of set cells
+     * @return The cell index (row * 3 + col)
+     */
+    protected static int nthCell(int mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
     /**
      * Given the board and the player's symbol. Will detect moves that needs to be blocked to prevent a loss
      * @param board The board of the tic-tac-toe game in data representation
@@ -36,86 +83,8 @@ public abstract class ComputerPlayer extends PlayerType {
      * @return A move object that represents a move that needs to be blocked to prevent a loss
      */
     public Move findBlockMove(Board board, GameEnum symbol) {
-        GameEnum opponentSymbol;
-        if (symbol == GameEnum.X) {
-            opponentSymbol = GameEnum.O;
-        } else {
-            opponentSymbol = GameEnum.X;
-        }
-        // Check Each column
-        for (int i = 0; i < 3; i++) {
-            int opponentCount = 0;
-            int ourCount = 0;
-            int nullsFound = 0;
-            // Each individual row's content in GameEnum
-            List<GameEnum> columnContent = board.getCol(i);
-
-            // Loop thru this content and look at gameEnums
-            for (GameEnum c : columnContent) {
-                if (c == opponentSymbol) {
-                    opponentCount++;
-                } else if (c == symbol) {
-                    ourCount++;
-                } else {
-                    nullsFound++;
-                }
-            }
-            // If there are more than 1 empty slot in this row, continue
-            if (nullsFound == 1 && opponentCount == 2) {
-                return new Move(columnContent.indexOf(NONE), i, symbol);
-            }
-        }
-        for (int i = 0; i < 3; i++) {
-            int opponentCount = 0;
-            int ourCount = 0;
-            int nullsFound = 0;
-            List<GameEnum> rowContent = board.getRow(i);
-            for (GameEnum c : rowContent) {
-                if (c == opponentSymbol) {
-                    opponentCount++;
-                } else if (c == symbol) {
-                    ourCount++;
-                } else {
-                    nullsFound++;
-                }
-            }
-            if (nullsFound == 1 && opponentCount == 2) {
-                return new Move(i, rowContent.indexOf(NONE), symbol);
-            }
-        }
-        List<GameEnum> lrDiagonal = board.getLrDiagonal();
-        int opponentCount = 0;
-        int ourCount = 0;
-        int nullsFound = 0;
-        for (GameEnum c : lrDiagonal) {
-            if (c == opponentSymbol) {
-                opponentCount++;
-            } else if (c == symbol) {
-                ourCount++;
-            } else {
-                nullsFound++;
-            }
-        }
-        if (nullsFound == 1 && opponentCount == 2) {
-            return new Move(lrDiagonal.indexOf(NONE), lrDiagonal.indexOf(NONE), symbol);
-        }
-        List<GameEnum> rlDiagonal = board.getRlDiagonal();
-        opponentCount = 0;
-        ourCount = 0;
-        nullsFound = 0;
-        for (GameEnum c : rlDiagonal) {
-            if (c == opponentSymbol) {
-                opponentCount++;
-            } else if (c == symbol) {
-                ourCount++;
-            } else {
-                nullsFound++;
-            }
-        }
-        if (nullsFound == 1 && opponentCount == 2) {
-            return new Move(rlDiagonal.indexOf(NONE), 2 - rlDiagonal.indexOf(NONE) , symbol);
-        }
-        return null;
+        int cell = board.analyzeThreats(symbol).getFirstBlockingCell();
+        return cell < 0 ? null : Move.of(cell, symbol);
     }
 
     /**
@@ -125,89 +94,32 @@ public abstract class ComputerPlayer extends PlayerType {
      * @return A move object that represents a move that results in a win
      */
     public Move findWinningMove(Board board, GameEnum symbol) {
-        GameEnum opponentSymbol;
-        if (symbol == GameEnum.X) {
-            opponentSymbol = GameEnum.O;
-        } else {
-            opponentSymbol = GameEnum.X;
-        }
-        // Check Each column
-        for (int i = 0; i < 3; i++) {
-            int opponentCount = 0;
-            int ourCount = 0;
-            int nullsFound = 0;
-            // Each individual column's content in GameEnum
-            List<GameEnum> rowContent = board.getCol(i);
+        int cell = board.analyzeThreats(symbol).getFirstWinningCell();
+        return cell < 0 ? null : Move.of(cell, symbol);
+    }
 
-            // Loop thru this content and look at gameEnums
-            for (GameEnum c : rowContent) {
-                if (c == opponentSymbol) {
-                    opponentCount++;
-                } else if (c == symbol) {
-                    ourCount++;
-                } else {
-                    nullsFound++;
-                }
-            }
-            // If there are more than 1 empty slot in this row, continue
-            if (nullsFound == 1 && ourCount == 2) {
-                // [X X NONE]
-                return new Move(rowContent.indexOf(NONE), i, symbol);
-            }
-        }
-        for (int i = 0; i < 3; i++) {
-            int opponentCount = 0;
-            int ourCount = 0;
-            int nullsFound = 0;
-            List<GameEnum> rowContent = board.getRow(i);
-            for (GameEnum c : rowContent) {
-                if (c == opponentSymbol) {
-                    opponentCount++;
-                } else if (c == symbol) {
-                    ourCount++;
-                } else {
-                    nullsFound++;
-                }
-            }
-            if (nullsFound == 1 && ourCount == 2) {
-                return new Move(i, rowContent.indexOf(NONE), symbol);
-            }
-        }
-        List<GameEnum> lrDiagonal = board.getLrDiagonal();
-        int opponentCount = 0;
-        int ourCount = 0;
-        int nullsFound = 0;
-        for (GameEnum c : lrDiagonal) {
-            if (c == opponentSymbol) {
-                opponentCount++;
-            } else if (c == symbol) {
-                ourCount++;
-            } else {
-                nullsFound++;
-            }
-        }
-        if (nullsFound == 1 && ourCount == 2) {
-            return new Move(lrDiagonal.indexOf(NONE), lrDiagonal.indexOf(NONE), symbol);
-        }
-        List<GameEnum> rlDiagonal = board.getRlDiagonal();
+    /**
+     * Looks for a winning move and a blocking move in the same scan of the eight lines
+     * @param board The board of the tic-tac-toe game in data representation
+     * @param symbol The computer player's symbol
+     * @return A winning move if there is one, otherwise a blocking move. Null if there is neither
+     */
+    public Move findWinningOrBlockMove(Board board, GameEnum symbol) {
+        return findWinningOrBlockMove(board.analyzeThreats(symbol), symbol);
+    }
 
-        opponentCount = 0;
-        ourCount = 0;
-        nullsFound = 0;
-        for (GameEnum c : rlDiagonal) {
-            if (c == opponentSymbol) {
-                opponentCount++;
-            } else if (c == symbol) {
-                ourCount++;
-            } else {
-                nullsFound++;
-            }
-        }
-        if (nullsFound == 1 && ourCount == 2) {
-            // O O NONE
-            return new Move(rlDiagonal.indexOf(NONE), 2 - rlDiagonal.indexOf(NONE) , symbol);
+    /**
+     * Picks a winning move first and a blocking move second from an existing threat analysis
+     * @param threats The threat analysis of the board for the computer player
+     * @param symbol The computer player's symbol
+     * @return A winning move if there is one, otherwise a blocking move. Null if there is neither
+     */
+    public Move findWinningOrBlockMove(ThreatAnalysis threats, GameEnum symbol) {
+        int cell = threats.getFirstWinningCell();
+        if (cell < 0) {
+            cell = threats.getFirstBlockingCell();
         }
-        return null;
+        return cell < 0 ? null : Move.of(cell, symbol);
     }
 
     /**
@@ -217,7 +129,7 @@ public abstract class ComputerPlayer extends PlayerType {
      * @return True if there is a possible winning move. False otherwise
      */
     public boolean possibleWinningMove(Board board, GameEnum symbol) {
-        return findWinningMove(board, symbol) != null;
+        return board.analyzeThreats(symbol).getWinningCells() != 0;
     }
 
     /**
@@ -227,6 +139,6 @@ public abstract class ComputerPlayer extends PlayerType {
      * @return True if there is a possible blocking move. False otherwise
      */
     public boolean possibleBlockingMove(Board board, GameEnum symbol) {
-        return findBlockMove(board, symbol) != null;
+        return board.analyzeThreats(symbol).getBlockingCells() != 0;
     }
 }
@@ -1,7 +1,6 @@
 package tiktactoe.model.player;
 
-import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import tiktactoe.model.gamedata.Board;
 import tiktactoe.model.gamedata.GameEnum;
@@ -11,7 +10,6 @@ import tiktactoe.model.gamedata.Move;
  * Easy computer class that inherits from computer player abstract class
  */
 public class EasyComputer extends ComputerPlayer {
-    private Random random;
 
     /**
      * Constructor for easyComputer
@@ -20,7 +18,16 @@ public class EasyComputer extends ComputerPlayer {
      */
     public EasyComputer(String username, GameEnum symbol) {
         super(username, symbol);
-        random = new Random();
+    }
+
+    /**
+     * Constructor for easyComputer with its own random source
+     * @param username The username for easy computer
+     * @param symbol The easy computer's symbol
+     * @param random The random source used to pick moves
+     */
+    public EasyComputer(String username, GameEnum symbol, RandomGenerator random) {
+        super(username, symbol, random);
     }
 
     /**
@@ -29,9 +36,8 @@ public class EasyComputer extends ComputerPlayer {
      * @return A random int that is in the bounds of valid moves.
      */
     public int getRandom(Board board) {
-        List<Move> validMoves = board.getValidMoves(this.getSymbol());
-        int size = validMoves.size();
-        return random.nextInt(size);
+        int size = Integer.bitCount(board.getEmptyPositions());
+        return getRandomGenerator().nextInt(size);
     }
 
     /**
@@ -42,10 +48,10 @@ public class EasyComputer extends ComputerPlayer {
      */
     @Override
     public Move getMove(Board board) {
-        List<Move> validMoves = board.getValidMoves(this.getSymbol());
-        if (validMoves.isEmpty()) {
+        int empty = board.getEmptyPositions();
+        if (empty == 0) {
             return null;
         }
-        return validMoves.get(this.getRandom(board));
+        return Move.of(nthCell(empty, this.getRandom(board)), this.getSymbol());
     }
 }
@@ -0,0 +1,206 @@
+package tiktactoe.model.player;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.BoardSymmetry;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.gamedata.ThreatAnalysis;
+
+/**
+ * A class of the hard computer Ai that extends from the SearchingComputer class. It searches the game tree with
+ * alpha-beta pruning, deepening until it sees the end of every line, so with an unlimited budget it never loses.
+ * Lines cut short by a smaller budget are scored as draws
+ */
+public class HardComputer extends SearchingComputer {
+    private static final int WIN_SCORE = 10;
+    private static final int[] MOVE_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+    private static final int EXACT = 1;
+    private static final int LOWER_BOUND = 2;
+    private static final int UPPER_BOUND = 3;
+
+    /**
+     * Transposition table shared by every hard computer. Indexed by the canonical (mover | opponent << 9) key so all
+     * eight symmetric copies of a position share one entry. Each entry packs the bound type, score and best cell (in
+     * canonical orientation) into a single int so concurrent readers never see a torn entry. An entry of 0 means the
+     * position has not been searched yet.
+     */
+    private static final int[] TRANSPOSITION_TABLE = new int[1 << 18];
+
+    private long tableHits;
+
+    /**
+     * Constructor for the hard computer
+     * @param username Username for hard computer
+     * @param symbol Symbol for hard computer
+     */
+    public HardComputer(String username, GameEnum symbol) {
+        super(username, symbol);
+    }
+
+    /**
+     * Overrides and defines the getMove method declared in ComputerPlayer.
+     * Searches the lines of play from the current board as deep as the search budget allows and picks the move with
+     * the best guaranteed result
+     * @param board The tic-tac-toe board in data representation
+     * @return The move object that represents the move that the computer wants to place
+     */
+    @Override
+    public Move getMove(Board board) {
+        tableHits = 0;
+        return super.getMove(board);
+    }
+
+    /**
+     * Takes a win on the spot without searching
+     * @param board The tic-tac-toe board in data representation
+     * @return The winning cell, or -1 if there is none
+     */
+    @Override
+    protected int immediateMove(Board board) {
+        int mover = board.getPositions(this.getSymbol());
+        int opponent = board.getPositions(opponentOf(this.getSymbol()));
+        return new ThreatAnalysis(mover, opponent).getFirstWinningCell();
+    }
+
+    /**
+     * Scores every empty cell to the given depth and picks the best, the earliest in the move order on a tie
+     * @param board The tic-tac-toe board in data representation
+     * @param depth The number of plies to look ahead
+     * @return The best cell
+     */
+    @Override
+    protected int searchDepth(Board board, int depth) {
+        int empty = board.getEmptyPositions();
+        int mover = board.getPositions(this.getSymbol());
+        int opponent = board.getPositions(opponentOf(this.getSymbol()));
+        int bestCell = -1;
+        int bestScore = -WIN_SCORE - 1;
+        for (int cell : MOVE_ORDER) {
+            int bit = 1 << cell;
+            if ((empty & bit) == 0) {
+                continue;
+            }
+            int score = adjust(-negamax(opponent, mover | bit, depth - 1, -WIN_SCORE - 1, WIN_SCORE + 1));
+            if (score > bestScore) {
+                bestScore = score;
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+
+    /**
+     * Obtains the number of positions visited by the last call to getMove
+     * @return The node count of the last search
+     */
+    public long getNodeCount() {
+        SearchStatistics search = getLastSearch();
+        return search == null ? 0 : search.getNodes();
+    }
+
+    /**
+     * Obtains the number of positions answered by the transposition table during the last call to getMove
+     * @return The table hit count of the last search
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * Scores a position from the point of view of the player about to move. Wins are worth more the sooner they happen
+     * @param mover Cells owned by the player about to move
+     * @param opponent Cells owned by the player that just moved
+     * @param depth The plies left to look ahead. A position the depth runs out on is scored as a draw
+     * @param alpha Lowest score the caller is still interested in
+     * @param beta Highest score the caller is still interested in
+     * @return The score of the position. Positive if the mover wins, negative if it loses and 0 for a draw
+     */
+    private int negamax(int mover, int opponent, int depth, int alpha, int beta) {
+        visitNode();
+        if (Board.isWinningPosition(opponent)) {
+            return -WIN_SCORE;
+        }
+        int empty = Board.FULL_BOARD & ~(mover | opponent);
+        if (empty == 0) {
+            return 0;
+        }
+        if (Board.findCompletingCell(mover, empty) >= 0) {
+            return adjust(WIN_SCORE);
+        }
+
+        int transform = BoardSymmetry.canonicalTransform(mover, opponent);
+        int key = BoardSymmetry.transformMask(mover, transform) | BoardSymmetry.transformMask(opponent, transform) << 9;
+        int entry = TRANSPOSITION_TABLE[key];
+        int tableCell = -1;
+        if (entry != 0) {
+            tableHits++;
+            int flag = entry >>> 16;
+            int score = (byte) (entry >>> 8);
+            tableCell = BoardSymmetry.transformCell((entry & 0xFF) - 1, BoardSymmetry.inverse(transform));
+            if (flag == EXACT) {
+                return score;
+            } else if (flag == LOWER_BOUND) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) {
+                return score;
+            }
+        }
+        if (depth == 0) {
+            noteHorizon();
+            return 0;
+        }
+
+        int originalAlpha = alpha;
+        int bestScore = -WIN_SCORE - 1;
+        int bestCell = -1;
+        for (int i = -1; i < MOVE_ORDER.length; i++) {
+            int cell = i < 0 ? tableCell : MOVE_ORDER[i];
+            if (cell < 0 || i >= 0 && cell == tableCell || (empty & 1 << cell) == 0) {
+                continue;
+            }
+            // The child window is widened by one so the distance adjustment can never turn a bound into a wrong value
+            int score = adjust(-negamax(opponent, mover | 1 << cell, depth - 1, -beta - 1, -alpha + 1));
+            if (score > bestScore) {
+                bestScore = score;
+                bestCell = cell;
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        if (depth < Integer.bitCount(empty)) {
+            // Only scores of positions searched to the end of the game are true for every later search
+            return bestScore;
+        }
+        int flag;
+        if (bestScore <= originalAlpha) {
+            flag = UPPER_BOUND;
+        } else if (bestScore >= beta) {
+            flag = LOWER_BOUND;
+        } else {
+            flag = EXACT;
+        }
+        int canonicalCell = BoardSymmetry.transformCell(bestCell, transform);
+        TRANSPOSITION_TABLE[key] = flag << 16 | (bestScore & 0xFF) << 8 | canonicalCell + 1;
+        return bestScore;
+    }
+
+    /**
+     * Moves a score one step closer to a draw so that faster wins and slower losses are preferred
+     * @param score The score of a child position from the parent's point of view
+     * @return The adjusted score
+     */
+    private static int adjust(int score) {
+        if (score > 0) {
+            return score - 1;
+        } else if (score < 0) {
+            return score + 1;
+        }
+        return 0;
+    }
+}
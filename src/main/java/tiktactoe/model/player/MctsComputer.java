@@ -0,0 +1,275 @@
+package tiktactoe.model.player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+
+/**
+ * A computer player that picks moves by Monte Carlo tree search. Each playout walks the tree with UCT, grows it by
+ * one node and finishes the game with random moves, and the move played is the one the search visited most. It
+ * needs no knowledge of the game beyond its rules, so its strength is set by the search budget, where nodes count
+ * playouts, and by the exploration constant. Given a pool and a parallelism above one, several workers grow the same
+ * tree at once. Trees are borrowed from a few spares shared by every Monte Carlo player for the length of a move, so
+ * memory follows the number of moves searched at once rather than the number of players. A player must only be asked
+ * for one move at a time
+ */
+public class MctsComputer extends ComputerPlayer implements BudgetedPlayer {
+    /**
+     * The textbook exploration constant, the square root of two
+     */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+    public static final int DEFAULT_PLAYOUTS = 20_000;
+    public static final int DEFAULT_CAPACITY = 1 << 17;
+    public static final SearchBudget DEFAULT_BUDGET = new SearchBudget(Long.MAX_VALUE, DEFAULT_PLAYOUTS);
+
+    /**
+     * Reading the clock costs about as much as a playout, so each worker only reads it every this many playouts
+     */
+    private static final int CLOCK_CHECK_MASK = 0xF;
+    private static final int CELLS = Integer.bitCount(Board.FULL_BOARD);
+
+    /**
+     * Trees left over from earlier moves. Only as many are kept as there are processors to search with them
+     */
+    private static final BlockingQueue<MctsTree> SPARE_TREES =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private static final AtomicInteger TREES_MADE = new AtomicInteger();
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final double exploration;
+    private final int capacity;
+    private volatile SearchBudget searchBudget = DEFAULT_BUDGET;
+    private volatile SearchStatistics lastSearch;
+
+    /**
+     * Constructor for a Monte Carlo computer that searches on the thread asking for a move
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     */
+    public MctsComputer(String username, GameEnum symbol) {
+        this(username, symbol, null);
+    }
+
+    /**
+     * Constructor for a Monte Carlo computer that searches on the thread asking for a move, with its own random source
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     * @param random The random source the playouts are seeded from. Null to use ThreadLocalRandom
+     */
+    public MctsComputer(String username, GameEnum symbol, RandomGenerator random) {
+        this(username, symbol, random, null, 1, DEFAULT_EXPLORATION, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for a Monte Carlo computer that searches on a pool
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     * @param random The random source the playouts are seeded from. Null to use ThreadLocalRandom
+     * @param pool The pool the workers run on. Null to search on the thread asking for a move
+     * @param parallelism The number of workers growing the tree at once
+     * @param exploration The UCT exploration constant. Higher values try weaker moves more often
+     * @param capacity The most nodes a tree can hold, less if the playout budget can't fill it. Playouts go on without
+     *                 growing the tree once it is full
+     * @throws IllegalArgumentException If the parallelism, exploration or capacity is out of range
+     */
+    public MctsComputer(String username, GameEnum symbol, RandomGenerator random, ForkJoinPool pool,
+                        int parallelism, double exploration, int capacity) {
+        super(username, symbol, random);
+        if (parallelism < 1 || exploration < 0 || capacity <= CELLS) {
+            throw new IllegalArgumentException("Invalid search settings");
+        }
+        this.pool = pool;
+        this.parallelism = pool == null ? 1 : parallelism;
+        this.exploration = exploration;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets how much effort each later move may take, counting playouts as nodes. Without any limit a move gets
+     * DEFAULT_PLAYOUTS playouts
+     * @param searchBudget The budget of each move
+     */
+    @Override
+    public void setSearchBudget(SearchBudget searchBudget) {
+        this.searchBudget = searchBudget;
+    }
+
+    /**
+     * Obtains how much effort each move may take
+     * @return The budget of each move
+     */
+    @Override
+    public SearchBudget getSearchBudget() {
+        return searchBudget;
+    }
+
+    /**
+     * Obtains what the last move cost. The depth is the deepest the tree grew and the nodes are the playouts
+     * @return The statistics of the last search, or null if there hasn't been one
+     */
+    @Override
+    public SearchStatistics getLastSearch() {
+        return lastSearch;
+    }
+
+    /**
+     * Obtains how many search trees the Monte Carlo players have made between them. Moves searched one after another
+     * reuse the spares, so this only grows with the moves searched at once, not with the number of players
+     * @return The number of trees made since the class was loaded
+     */
+    public static int getTreesMade() {
+        return TREES_MADE.get();
+    }
+
+    /**
+     * Grows a fresh tree from the board until the budget runs out or the asking thread is interrupted
+     * @param board The tic-tac-toe board in data representation
+     * @return The most visited move. Null if the board is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        int empty = board.getEmptyPositions();
+        if (empty == 0) {
+            return null;
+        }
+        SearchBudget budget = searchBudget;
+        long playoutLimit = budget.getNodes();
+        if (playoutLimit == Long.MAX_VALUE && budget.getTimeNanos() == Long.MAX_VALUE) {
+            playoutLimit = DEFAULT_PLAYOUTS;
+        }
+        MctsTree tree = borrowTree((int) Math.min(capacity, Math.min(playoutLimit, capacity) * CELLS + 1));
+        try {
+            tree.reset(exploration);
+            Search search = new Search(tree, board.getPositions(getSymbol()),
+                    board.getPositions(opponentOf(getSymbol())), playoutLimit, budget.getTimeNanos(),
+                    Thread.currentThread());
+
+            SplittableRandom random = new SplittableRandom(getRandomGenerator().nextLong());
+            if (parallelism == 1) {
+                search.run(random);
+            } else {
+                List<Worker> workers = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    workers.add(new Worker(search, random.split()));
+                }
+                pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(workers)));
+            }
+
+            int cell = tree.bestCell();
+            if (cell < 0) {
+                cell = nthCell(empty, getRandomGenerator().nextInt(Integer.bitCount(empty)));
+            }
+            lastSearch = new SearchStatistics(search.maxDepth.get(), tree.getRootVisits(),
+                    System.nanoTime() - search.startTime, false);
+            return Move.of(cell, getSymbol());
+        } finally {
+            SPARE_TREES.offer(tree);
+        }
+    }
+
+    /**
+     * Takes a spare tree, or makes one if there is none large enough
+     * @param nodes The most nodes the search may need
+     * @return A tree holding at least that many nodes
+     */
+    private static MctsTree borrowTree(int nodes) {
+        MctsTree tree = SPARE_TREES.poll();
+        if (tree != null && tree.getCapacity() >= nodes) {
+            return tree;
+        }
+        TREES_MADE.incrementAndGet();
+        return new MctsTree(nodes);
+    }
+
+    /**
+     * The state of one move's search shared by its workers
+     */
+    private static final class Search {
+        private final MctsTree tree;
+        private final int mover;
+        private final int opponent;
+        private final long playoutLimit;
+        private final long timeLimit;
+        private final Thread caller;
+        private final long startTime = System.nanoTime();
+        private final AtomicLong playouts = new AtomicLong();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+
+        /**
+         * Constructor for a search
+         * @param tree The tree the workers grow, already reset
+         * @param mover Cells of the computer player
+         * @param opponent Cells of its opponent
+         * @param playoutLimit The playouts the move may take
+         * @param timeLimit The wall-clock time the move may take, in nanoseconds
+         * @param caller The thread asking for the move, whose interrupt stops the search
+         */
+        private Search(MctsTree tree, int mover, int opponent, long playoutLimit, long timeLimit, Thread caller) {
+            this.tree = tree;
+            this.mover = mover;
+            this.opponent = opponent;
+            this.playoutLimit = playoutLimit;
+            this.timeLimit = timeLimit;
+            this.caller = caller;
+        }
+
+        /**
+         * Runs playouts on the calling thread until the budget runs out. The workers draw from one playout count, so
+         * a worker may run none once the limit is below the number of workers
+         * @param random The random source of this worker
+         */
+        private void run(RandomGenerator random) {
+            int[] path = new int[CELLS + 1];
+            int depth = 0;
+            for (int i = 0; playouts.getAndIncrement() < playoutLimit; i++) {
+                if (i > 0 && (i & CLOCK_CHECK_MASK) == 0
+                        && (System.nanoTime() - startTime >= timeLimit || caller.isInterrupted())) {
+                    break;
+                }
+                depth = Math.max(depth, tree.iterate(mover, opponent, random, path));
+            }
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    /**
+     * One worker of a parallel search, with its own random source
+     */
+    private static final class Worker extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+        private final transient SplittableRandom random;
+
+        /**
+         * Constructor for a worker
+         * @param search The search the worker takes part in
+         * @param random The random source of this worker
+         */
+        private Worker(Search search, SplittableRandom random) {
+            this.search = search;
+            this.random = random;
+        }
+
+        /**
+         * Runs the worker's playouts
+         */
+        @Override
+        protected void compute() {
+            search.run(random);
+        }
+    }
+}
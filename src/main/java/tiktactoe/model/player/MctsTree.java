@@ -0,0 +1,244 @@
+package tiktactoe.model.player;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.random.RandomGenerator;
+
+import tiktactoe.model.gamedata.Board;
+
+/**
+ * The search tree of the Monte Carlo player, kept in a pool of parallel arrays indexed by node instead of node
+ * objects. The pool is made once and reused for many moves, so growing the tree only claims the next free indexes.
+ * The children of a node sit next to each other, so a node only stores where they start and how many there are.
+ * Positions are a pair of cell masks, the player to move and the player who just moved, and the rules of the game
+ * are confined to the terminal checks, so another board only needs wider masks and its own win test.
+ * <p>
+ * Many threads grow the same tree at once. Counters are updated atomically, a node is expanded by whichever thread
+ * claims it first while the others play out from it, and the children are published by the write of their start
+ * index. Every node on a path is visited before the playout and only rewarded after it, so a path being explored
+ * looks like a loss to the other threads until its result arrives. That virtual loss spreads the threads over
+ * different lines
+ */
+final class MctsTree {
+    /**
+     * Rewards count half points so they stay ints: a win is worth two, a draw one and a loss nothing
+     */
+    static final int WIN = 2;
+    static final int DRAW = 1;
+
+    private static final int UNEXPANDED = -1;
+    private static final int EXPANDING = -2;
+    private static final int POOL_FULL = -3;
+
+    private final int capacity;
+    private final byte[] cells;
+    private final byte[] childCounts;
+    private final AtomicIntegerArray firstChildren;
+    private final AtomicIntegerArray visits;
+    private final AtomicIntegerArray rewards;
+    private final AtomicInteger size = new AtomicInteger();
+    private double exploration;
+
+    /**
+     * Constructor for a tree
+     * @param capacity The most nodes the tree can hold. Once it is full, leaves are played out without growing it
+     */
+    MctsTree(int capacity) {
+        this.capacity = capacity;
+        this.cells = new byte[capacity];
+        this.childCounts = new byte[capacity];
+        this.firstChildren = new AtomicIntegerArray(capacity);
+        this.visits = new AtomicIntegerArray(capacity);
+        this.rewards = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Obtains the most nodes the tree can hold
+     * @return The capacity of the pool
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Empties the tree, leaving only the root, for a new search. Must not be called while a search is running
+     * @param exploration The UCT exploration constant. Higher values try weaker moves more often
+     */
+    void reset(double exploration) {
+        this.exploration = exploration;
+        size.set(1);
+        initialize(0, -1);
+    }
+
+    /**
+     * Runs one iteration from the root: selects a path with UCT, expands the node at its end, plays out a random game
+     * from there and rewards the path with the result
+     * @param mover Cells of the player to move at the root
+     * @param opponent Cells of the other player
+     * @param random The random source of the calling thread
+     * @param path Room for the nodes of a path, one more than the number of cells
+     * @return The depth of the path below the root
+     */
+    int iterate(int mover, int opponent, RandomGenerator random, int[] path) {
+        int node = 0;
+        int depth = 0;
+        visits.getAndIncrement(0);
+        path[0] = 0;
+        int reward;
+        while (true) {
+            // The reward is for the player who moved into the node, which is the opponent at this point
+            if (Board.isWinningPosition(opponent)) {
+                reward = WIN;
+                break;
+            }
+            int empty = Board.FULL_BOARD & ~(mover | opponent);
+            if (empty == 0) {
+                reward = DRAW;
+                break;
+            }
+            int first = firstChildren.get(node);
+            if (first == UNEXPANDED && firstChildren.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+                first = expand(node, empty);
+            }
+            if (first < 0) {
+                // Being expanded by another thread, or no room left
+                reward = playout(mover, opponent, random);
+                break;
+            }
+            node = select(node, first);
+            int bit = 1 << cells[node];
+            int next = opponent;
+            opponent = mover | bit;
+            mover = next;
+            path[++depth] = node;
+            if (visits.getAndIncrement(node) == 0) {
+                reward = playout(mover, opponent, random);
+                break;
+            }
+        }
+        for (int i = depth; i >= 0; i--) {
+            rewards.getAndAdd(path[i], reward);
+            reward = WIN - reward;
+        }
+        return depth;
+    }
+
+    /**
+     * Picks the root's most visited child, the most robust choice once the search stops
+     * @return The cell of that child, or -1 if the root has no children yet
+     */
+    int bestCell() {
+        int first = firstChildren.get(0);
+        if (first < 0) {
+            return -1;
+        }
+        int best = first;
+        for (int child = first + 1; child < first + childCounts[0]; child++) {
+            if (visits.get(child) > visits.get(best)) {
+                best = child;
+            }
+        }
+        return cells[best];
+    }
+
+    /**
+     * Obtains the number of iterations that passed through the root
+     * @return The visits of the root
+     */
+    int getRootVisits() {
+        return visits.get(0);
+    }
+
+    /**
+     * Obtains how many nodes the tree holds
+     * @return The number of nodes, at most the capacity
+     */
+    int getSize() {
+        return Math.min(size.get(), capacity);
+    }
+
+    /**
+     * Claims and initializes a block of children, one per empty cell, and publishes them
+     * @param node The node to expand, already claimed by this thread
+     * @param empty The empty cells of the node's position
+     * @return The index of the first child, or POOL_FULL if there is no room
+     */
+    private int expand(int node, int empty) {
+        int count = Integer.bitCount(empty);
+        int first = size.getAndAdd(count);
+        if (first + count > capacity) {
+            firstChildren.set(node, POOL_FULL);
+            return POOL_FULL;
+        }
+        for (int child = first; empty != 0; child++, empty &= empty - 1) {
+            initialize(child, Integer.numberOfTrailingZeros(empty));
+        }
+        childCounts[node] = (byte) count;
+        // The volatile write publishes the children and their count to the other threads
+        firstChildren.set(node, first);
+        return first;
+    }
+
+    /**
+     * Clears a node of the pool
+     * @param node The node's index
+     * @param cell The cell of the move leading to the node, -1 for the root
+     */
+    private void initialize(int node, int cell) {
+        cells[node] = (byte) cell;
+        childCounts[node] = 0;
+        visits.set(node, 0);
+        rewards.set(node, 0);
+        firstChildren.set(node, UNEXPANDED);
+    }
+
+    /**
+     * Picks the child with the highest upper confidence bound. Children nobody has visited yet come first
+     * @param node The parent node
+     * @param first The index of its first child
+     * @return The index of the chosen child
+     */
+    private int select(int node, int first) {
+        double logVisits = Math.log(Math.max(1, visits.get(node)));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + childCounts[node]; child++) {
+            int childVisits = visits.get(child);
+            if (childVisits == 0) {
+                return child;
+            }
+            double value = rewards.get(child) / (2.0 * childVisits)
+                    + exploration * Math.sqrt(logVisits / childVisits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays random moves until the game ends
+     * @param mover Cells of the player to move
+     * @param opponent Cells of the player who just moved
+     * @param random The random source of the calling thread
+     * @return The reward of the player who just moved
+     */
+    private static int playout(int mover, int opponent, RandomGenerator random) {
+        boolean flipped = false;
+        while (true) {
+            if (Board.isWinningPosition(opponent)) {
+                return flipped ? 0 : WIN;
+            }
+            int empty = Board.FULL_BOARD & ~(mover | opponent);
+            if (empty == 0) {
+                return DRAW;
+            }
+            int cell = ComputerPlayer.nthCell(empty, random.nextInt(Integer.bitCount(empty)));
+            int next = opponent;
+            opponent = mover | 1 << cell;
+            mover = next;
+            flipped = !flipped;
+        }
+    }
+}
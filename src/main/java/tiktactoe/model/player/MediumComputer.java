@@ -1,7 +1,6 @@
 package tiktactoe.model.player;
 
-import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import tiktactoe.model.gamedata.Board;
 import tiktactoe.model.gamedata.GameEnum;
@@ -21,6 +20,16 @@ public class MediumComputer extends ComputerPlayer {
         super(username, symbol);
     }
 
+    /**
+     * Constructor for the medium computer with its own random source
+     * @param username Username for medium computer
+     * @param symbol Symbol for medium computer
+     * @param random The random source used to break ties between equally good moves
+     */
+    public MediumComputer(String username, GameEnum symbol, RandomGenerator random) {
+        super(username, symbol, random);
+    }
+
     /**
      * Overrides and defines the getMove method declared in ComputerPlayer.
      * This checks the board for potential moves and gets that move depending on win/loss conditions and priority pieces
@@ -29,37 +38,27 @@ public class MediumComputer extends ComputerPlayer {
      */
     @Override
     public Move getMove(Board board) {
-        List<Move> validMoves = board.getValidMoves(this.getSymbol());
-        if (possibleWinningMove(board, this.getSymbol())) {
-            return this.findWinningMove(board, this.getSymbol());
-        }
-        if (possibleBlockingMove(board, this.getSymbol())) {
-            return this.findBlockMove(board, this.getSymbol());
+        int empty = board.getEmptyPositions();
+        Move winOrBlock = this.findWinningOrBlockMove(board, this.getSymbol());
+        if (winOrBlock != null) {
+            return winOrBlock;
         }
         // Prioritize center
-        boolean centerPiece = validMoves
-                .stream()
-                .anyMatch(m -> m.getRow() == 1 && m.getCol() == 1);
-        if (centerPiece) {
-            for (Move move : validMoves) {
-                if (move.getRow() == 1 && move.getCol() == 1) {
-                    return move;
-                }
-            }
+        if ((empty & Board.CENTER) != 0) {
+            return Move.of(1, 1, this.getSymbol());
         }
         // Prioritize Edge
-        List<Move> validEdgeMoves = board.getValidEdgeMoves(this.getSymbol());
-        if (!validEdgeMoves.isEmpty()) {
-            Random randomMove = new Random();
-            return validEdgeMoves.get(randomMove.nextInt(validEdgeMoves.size()));
+        int edges = empty & Board.CORNERS;
+        RandomGenerator randomMove = getRandomGenerator();
+        if (edges != 0) {
+            return Move.of(nthCell(edges, randomMove.nextInt(Integer.bitCount(edges))), this.getSymbol());
         // Random move
         } else {
-            Random randomMove = new Random();
-            if (validMoves.isEmpty()) {
+            if (empty == 0) {
                 System.out.println("No valid moves found");
                 return null;
             }
-            return validMoves.get(randomMove.nextInt(validMoves.size()));
+            return Move.of(nthCell(empty, randomMove.nextInt(Integer.bitCount(empty))), this.getSymbol());
         }
     }
 }
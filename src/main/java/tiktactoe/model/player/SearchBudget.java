@@ -0,0 +1,78 @@
+package tiktactoe.model.player;
+
+/**
+ * How much effort a searching computer player may spend on one move, as wall-clock time and as positions visited.
+ * The search stops at whichever runs out first and plays the best move of the deepest search it finished
+ */
+public final class SearchBudget {
+    /**
+     * No limit at all, so the search always runs to the end of the game
+     */
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long timeNanos;
+    private final long nodes;
+
+    /**
+     * Constructor for a budget
+     * @param timeNanos The wall-clock time a move may take, in nanoseconds. Long.MAX_VALUE for no limit
+     * @param nodes The positions a move may visit. Long.MAX_VALUE for no limit
+     * @throws IllegalArgumentException If either limit isn't positive
+     */
+    public SearchBudget(long timeNanos, long nodes) {
+        if (timeNanos <= 0 || nodes <= 0) {
+            throw new IllegalArgumentException("Search budget must be positive");
+        }
+        this.timeNanos = timeNanos;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Builds a budget from a time in milliseconds
+     * @param millis The wall-clock time a move may take, in milliseconds
+     * @param nodes The positions a move may visit. Long.MAX_VALUE for no limit
+     * @return The budget
+     */
+    public static SearchBudget ofMillis(long millis, long nodes) {
+        return new SearchBudget(millis * 1_000_000L, nodes);
+    }
+
+    /**
+     * Obtains the wall-clock time a move may take
+     * @return The time limit in nanoseconds, Long.MAX_VALUE if there is none
+     */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /**
+     * Obtains the number of positions a move may visit
+     * @return The node limit, Long.MAX_VALUE if there is none
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Splits the budget between moves that have to be played one after the other
+     * @param ways The number of moves sharing the budget
+     * @return A budget with both limits divided, never below one nanosecond or one node. Missing limits stay missing
+     */
+    public SearchBudget share(int ways) {
+        if (ways <= 1) {
+            return this;
+        }
+        return new SearchBudget(timeNanos == Long.MAX_VALUE ? timeNanos : Math.max(1, timeNanos / ways),
+                nodes == Long.MAX_VALUE ? nodes : Math.max(1, nodes / ways));
+    }
+
+    /**
+     * Describes the budget
+     * @return The limits of the budget
+     */
+    @Override
+    public String toString() {
+        return (timeNanos == Long.MAX_VALUE ? "no time limit" : timeNanos / 1e6 + "ms") + ", "
+                + (nodes == Long.MAX_VALUE ? "no node limit" : nodes + " nodes");
+    }
+}
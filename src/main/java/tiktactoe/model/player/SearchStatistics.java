@@ -0,0 +1,76 @@
+package tiktactoe.model.player;
+
+/**
+ * What a searching computer player's last move cost: how deep it got, how many positions it visited and how long it
+ * took
+ */
+public final class SearchStatistics {
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final boolean complete;
+
+    /**
+     * Constructor for the statistics of one search
+     * @param depth The depth of the deepest search that finished, in plies
+     * @param nodes The positions visited over every iteration, the unfinished one included
+     * @param elapsedNanos The wall-clock time the search took
+     * @param complete True if the search reached the end of the game on every line, so the move is exact
+     */
+    public SearchStatistics(int depth, long nodes, long elapsedNanos, boolean complete) {
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.complete = complete;
+    }
+
+    /**
+     * Obtains the depth of the deepest search that finished
+     * @return The depth in plies
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Obtains the positions visited
+     * @return The node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Obtains how long the search took
+     * @return The wall-clock time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Checks to see if the search saw every line to the end of the game
+     * @return True if the move is exact. False if the budget cut the search short
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Works out the search speed
+     * @return Positions visited per second
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Describes the search
+     * @return The depth, node count, time and speed of the search
+     */
+    @Override
+    public String toString() {
+        return String.format("depth %d%s, %d nodes in %.3fms (%.0f nodes/s)", depth, complete ? " (complete)" : "",
+                nodes, elapsedNanos / 1e6, getNodesPerSecond());
+    }
+}
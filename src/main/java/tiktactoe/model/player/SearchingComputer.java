@@ -0,0 +1,170 @@
+package tiktactoe.model.player;
+
+import java.util.random.RandomGenerator;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+
+/**
+ * A computer player that searches with iterative deepening. It searches one ply deep, then two, and so on, keeping
+ * the best move of the deepest search that finished. The search stops once a depth sees every line to the end of the
+ * game, or once the search budget runs out, in which case the unfinished depth is thrown away. The first depth is
+ * always finished so there is always a move. Running out of budget includes the searching thread being interrupted,
+ * so a search that is cancelled stops early as well. Subclasses only search a single depth, calling visitNode for
+ * every position and noteHorizon wherever the depth cuts a line short
+ */
+public abstract class SearchingComputer extends ComputerPlayer implements BudgetedPlayer {
+    /**
+     * Reading the clock costs more than visiting a position, so it is only read every this many nodes
+     */
+    private static final int CLOCK_CHECK_MASK = 0xFF;
+    private static final SearchAborted ABORTED = new SearchAborted();
+
+    private volatile SearchBudget searchBudget = SearchBudget.UNLIMITED;
+    private volatile SearchStatistics lastSearch;
+    private long nodes;
+    private long nodeLimit;
+    private long startTime;
+    private long timeLimit;
+    private boolean budgeted;
+    private boolean horizonReached;
+
+    /**
+     * Constructor for a searching computer player
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     */
+    public SearchingComputer(String username, GameEnum symbol) {
+        super(username, symbol);
+    }
+
+    /**
+     * Constructor for a searching computer player with its own random source
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     * @param random The random source of this player. Null to use ThreadLocalRandom
+     */
+    public SearchingComputer(String username, GameEnum symbol, RandomGenerator random) {
+        super(username, symbol, random);
+    }
+
+    /**
+     * Sets how much effort each later move may take. It can be changed between moves from any thread
+     * @param searchBudget The budget of each move
+     */
+    @Override
+    public void setSearchBudget(SearchBudget searchBudget) {
+        this.searchBudget = searchBudget;
+    }
+
+    /**
+     * Obtains how much effort each move may take
+     * @return The budget of each move
+     */
+    @Override
+    public SearchBudget getSearchBudget() {
+        return searchBudget;
+    }
+
+    /**
+     * Obtains what the last move cost
+     * @return The statistics of the last search, or null if there hasn't been one
+     */
+    @Override
+    public SearchStatistics getLastSearch() {
+        return lastSearch;
+    }
+
+    /**
+     * Searches deeper and deeper until the game is solved or the budget runs out
+     * @param board The tic-tac-toe board in data representation
+     * @return The best move of the deepest search that finished. Null if the board is full
+     */
+    @Override
+    public Move getMove(Board board) {
+        int empty = board.getEmptyPositions();
+        if (empty == 0) {
+            return null;
+        }
+        SearchBudget budget = searchBudget;
+        startTime = System.nanoTime();
+        nodes = 0;
+        nodeLimit = budget.getNodes();
+        timeLimit = budget.getTimeNanos();
+        int bestCell = immediateMove(board);
+        if (bestCell >= 0) {
+            lastSearch = new SearchStatistics(1, 0, System.nanoTime() - startTime, true);
+            return Move.of(bestCell, getSymbol());
+        }
+
+        int depthReached = 0;
+        boolean complete = false;
+        budgeted = false;
+        for (int depth = 1; depth <= Integer.bitCount(empty) && !complete; depth++) {
+            horizonReached = false;
+            try {
+                bestCell = searchDepth(board, depth);
+            } catch (SearchAborted e) {
+                break;
+            }
+            depthReached = depth;
+            complete = !horizonReached;
+            // The first depth always finishes, every later one has to fit the budget
+            budgeted = true;
+        }
+        lastSearch = new SearchStatistics(depthReached, nodes, System.nanoTime() - startTime, complete);
+        return Move.of(bestCell, getSymbol());
+    }
+
+    /**
+     * Picks a move that needs no search, such as an immediate win
+     * @param board The tic-tac-toe board in data representation
+     * @return The cell to play, or -1 to search
+     */
+    protected int immediateMove(Board board) {
+        return -1;
+    }
+
+    /**
+     * Searches the board to a fixed depth
+     * @param board The tic-tac-toe board in data representation. It must be left as it was found, even when the
+     *              budget runs out in the middle, so searching position masks or a copy is simplest
+     * @param depth The number of plies to look ahead
+     * @return The best cell at that depth, row * 3 + col
+     */
+    protected abstract int searchDepth(Board board, int depth);
+
+    /**
+     * Counts a visited position and stops the search if the budget has run out
+     * @throws SearchAborted If the budget has run out, which unwinds the unfinished depth
+     */
+    protected final void visitNode() {
+        nodes++;
+        if (budgeted && (nodes >= nodeLimit || (nodes & CLOCK_CHECK_MASK) == 0
+                && (System.nanoTime() - startTime >= timeLimit || Thread.currentThread().isInterrupted()))) {
+            throw ABORTED;
+        }
+    }
+
+    /**
+     * Notes that the current depth cut a line short, so a deeper search could still change the move
+     */
+    protected final void noteHorizon() {
+        horizonReached = true;
+    }
+
+    /**
+     * Unwinds a search that ran out of budget. Thrown often, so one instance without a stack trace is reused
+     */
+    protected static final class SearchAborted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor for the shared instance
+         */
+        private SearchAborted() {
+            super("Search budget exhausted", null, false, false);
+        }
+    }
+}
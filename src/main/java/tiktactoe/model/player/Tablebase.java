@@ -0,0 +1,210 @@
+package tiktactoe.model.player;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+
+/**
+ * A solved table of every position reachable from an empty board. Positions are stored from the point of view of the
+ * player about to move and indexed by their ternary encoding (0 empty, 1 mover, 2 opponent for each cell), so the same
+ * table serves whichever symbol moves first.
+ */
+public final class Tablebase {
+    public static final String RESOURCE_NAME = "tablebase.bin";
+    public static final int SIZE = 19683;
+
+    private static final int MAGIC = 0x54544442;
+    private static final int WIN_SCORE = 10;
+    private static final int MOVES_MASK = 0x1FF;
+    private static final int SCORE_SHIFT = 9;
+    private static final int REACHABLE = 1 << 14;
+    private static final int[] TERNARY = new int[1 << 9];
+
+    static {
+        for (int mask = 0; mask < TERNARY.length; mask++) {
+            int value = 0;
+            int power = 1;
+            for (int cell = 0; cell < 9; cell++) {
+                if ((mask & 1 << cell) != 0) {
+                    value += power;
+                }
+                power *= 3;
+            }
+            TERNARY[mask] = value;
+        }
+    }
+
+    /**
+     * Holder class so the table is only loaded or generated the first time it is used
+     */
+    private static final class Holder {
+        private static final short[] TABLE = load();
+    }
+
+    /**
+     * Empty constructor. This class only has static methods
+     */
+    private Tablebase() {
+    }
+
+    /**
+     * Converts a position to its index in the table
+     * @param mover Cells owned by the player about to move
+     * @param opponent Cells owned by the other player
+     * @return The ternary encoding of the position
+     */
+    public static int indexOf(int mover, int opponent) {
+        return TERNARY[mover] + 2 * TERNARY[opponent];
+    }
+
+    /**
+     * Obtains the cells that keep the best game-theoretic result for the player about to move
+     * @param mover Cells owned by the player about to move
+     * @param opponent Cells owned by the other player
+     * @return A 9-bit mask of the best cells. 0 if the game is over or the position is unreachable from an empty board
+     */
+    public static int getBestMoves(int mover, int opponent) {
+        return Holder.TABLE[indexOf(mover, opponent)] & MOVES_MASK;
+    }
+
+    /**
+     * Obtains the result of the position with perfect play from both sides
+     * @param mover Cells owned by the player about to move
+     * @param opponent Cells owned by the other player
+     * @return WIN, LOST or TIE for the player about to move. NONE if the position can't be reached from an empty board
+     */
+    public static GameEnum getValue(int mover, int opponent) {
+        short entry = Holder.TABLE[indexOf(mover, opponent)];
+        if ((entry & REACHABLE) == 0) {
+            return GameEnum.NONE;
+        }
+        int score = scoreOf(entry);
+        if (score > 0) {
+            return GameEnum.WIN;
+        } else if (score < 0) {
+            return GameEnum.LOST;
+        }
+        return GameEnum.TIE;
+    }
+
+    /**
+     * Counts the positions that can be reached from an empty board, including finished games
+     * @return The number of reachable positions in the table
+     */
+    public static int countReachable() {
+        int count = 0;
+        for (short entry : Holder.TABLE) {
+            if ((entry & REACHABLE) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Solves every position reachable from an empty board
+     * @return The solved table
+     */
+    public static short[] generate() {
+        short[] table = new short[SIZE];
+        solve(0, 0, table);
+        return table;
+    }
+
+    /**
+     * Writes a freshly generated table to a file so it can be shipped as a resource
+     * @param args The path of the file to write. Defaults to resources/tablebase.bin
+     * @throws IOException If the file can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        String path = args.length > 0 ? args[0] : "resources/" + RESOURCE_NAME;
+        short[] table = generate();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(table.length);
+            for (short entry : table) {
+                out.writeShort(entry);
+            }
+        }
+        System.out.println("Wrote " + table.length + " positions to " + path);
+    }
+
+    /**
+     * Reads the table shipped in the jar. Falls back to solving the game if the resource is missing or unreadable
+     * @return The solved table
+     */
+    private static short[] load() {
+        InputStream resource = Tablebase.class.getResourceAsStream("/" + RESOURCE_NAME);
+        if (resource != null) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+                if (in.readInt() == MAGIC && in.readInt() == SIZE) {
+                    short[] table = new short[SIZE];
+                    for (int i = 0; i < SIZE; i++) {
+                        table[i] = in.readShort();
+                    }
+                    return table;
+                }
+            } catch (IOException e) {
+                System.out.println("Error reading " + RESOURCE_NAME);
+                System.out.println(e.getMessage());
+            }
+        }
+        return generate();
+    }
+
+    /**
+     * Solves a position and every position reachable from it, storing the results in the table
+     * @param mover Cells owned by the player about to move
+     * @param opponent Cells owned by the other player
+     * @param table The table being filled in
+     * @return The score of the position for the mover. Faster wins score higher
+     */
+    private static int solve(int mover, int opponent, short[] table) {
+        int index = indexOf(mover, opponent);
+        if ((table[index] & REACHABLE) != 0) {
+            return scoreOf(table[index]);
+        }
+        int score;
+        int bestMoves = 0;
+        int empty = Board.FULL_BOARD & ~(mover | opponent);
+        if (Board.isWinningPosition(opponent)) {
+            score = -WIN_SCORE;
+        } else if (empty == 0) {
+            score = 0;
+        } else {
+            score = -WIN_SCORE - 1;
+            for (int cell = 0; cell < 9; cell++) {
+                int bit = 1 << cell;
+                if ((empty & bit) == 0) {
+                    continue;
+                }
+                int childScore = -solve(opponent, mover | bit, table);
+                childScore -= Integer.signum(childScore);
+                if (childScore > score) {
+                    score = childScore;
+                    bestMoves = bit;
+                } else if (childScore == score) {
+                    bestMoves |= bit;
+                }
+            }
+        }
+        table[index] = (short) (REACHABLE | score + WIN_SCORE << SCORE_SHIFT | bestMoves);
+        return score;
+    }
+
+    /**
+     * Unpacks the score stored in a table entry
+     * @param entry A table entry
+     * @return The score of the position for the mover
+     */
+    private static int scoreOf(short entry) {
+        return ((entry & ~REACHABLE) >> SCORE_SHIFT) - WIN_SCORE;
+    }
+}
@@ -0,0 +1,41 @@
+package tiktactoe.model.player;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+
+/**
+ * A computer Ai that extends from the ComputerPlayer class and plays perfectly by looking up the current position in
+ * the precomputed Tablebase instead of searching
+ */
+public class TablebaseComputer extends ComputerPlayer {
+
+    /**
+     * Constructor for the tablebase computer
+     * @param username Username for tablebase computer
+     * @param symbol Symbol for tablebase computer
+     */
+    public TablebaseComputer(String username, GameEnum symbol) {
+        super(username, symbol);
+    }
+
+    /**
+     * Overrides and defines the getMove method declared in ComputerPlayer.
+     * Looks up the best move for the current position in the tablebase
+     * @param board The tic-tac-toe board in data representation
+     * @return The move object that represents the move that the computer wants to place
+     */
+    @Override
+    public Move getMove(Board board) {
+        int empty = board.getEmptyPositions();
+        if (empty == 0) {
+            return null;
+        }
+        int mover = board.getPositions(this.getSymbol());
+        int opponent = board.getPositions(opponentOf(this.getSymbol()));
+        int bestMoves = Tablebase.getBestMoves(mover, opponent);
+        // Positions that can't come from normal play aren't in the table, so any empty cell will do
+        int cell = Integer.numberOfTrailingZeros(bestMoves != 0 ? bestMoves : empty);
+        return Move.of(cell, this.getSymbol());
+    }
+}
@@ -0,0 +1,135 @@
+package tiktactoe.model.rating;
+
+/**
+ * The result of one finished game, as stored in the game log. Each line of the log is the rating period, both
+ * usernames and the score of player one, separated by tabs. Tabs, line breaks and backslashes in a username are
+ * written as backslash escapes, so a username can't add fields or lines to the log
+ */
+public class GameResult {
+    /**
+     * The characters escaped in usernames, and the letter written after the backslash for each
+     */
+    private static final String ESCAPED = "\\\t\r\n";
+    private static final String ESCAPES = "\\trn";
+
+    private final long period;
+    private final String playerOne;
+    private final String playerTwo;
+    private final double scoreOne;
+
+    /**
+     * Constructor for a game result
+     * @param period The rating period the game was played in
+     * @param playerOne The username of one player
+     * @param playerTwo The username of the other player
+     * @param scoreOne The score of player one. 1 for a win, 0.5 for a tie and 0 for a loss
+     */
+    public GameResult(long period, String playerOne, String playerTwo, double scoreOne) {
+        this.period = period;
+        this.playerOne = playerOne;
+        this.playerTwo = playerTwo;
+        this.scoreOne = scoreOne;
+    }
+
+    /**
+     * Parses a line of the game log
+     * @param line A line of the game log
+     * @return The game result. Null if the line is blank, torn or malformed
+     */
+    public static GameResult parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 4) {
+            return null;
+        }
+        try {
+            double score = Double.parseDouble(fields[3]);
+            if (score < 0 || score > 1) {
+                return null;
+            }
+            return new GameResult(Long.parseLong(fields[0]), unescape(fields[1]), unescape(fields[2]), score);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the result to a line of the game log
+     * @return The line, without the line separator
+     */
+    public String toLogLine() {
+        return period + "\t" + escape(playerOne) + "\t" + escape(playerTwo) + "\t" + scoreOne;
+    }
+
+    /**
+     * Obtains the rating period
+     * @return The rating period the game was played in
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Obtains the first player
+     * @return The username of player one
+     */
+    public String getPlayerOne() {
+        return playerOne;
+    }
+
+    /**
+     * Obtains the second player
+     * @return The username of player two
+     */
+    public String getPlayerTwo() {
+        return playerTwo;
+    }
+
+    /**
+     * Obtains the score of the first player
+     * @return 1 if player one won, 0.5 for a tie and 0 if player one lost
+     */
+    public double getScoreOne() {
+        return scoreOne;
+    }
+
+    /**
+     * Escapes the characters of a username that would break a line of the game log
+     * @param username The username
+     * @return The username with backslashes, tabs, carriage returns and newlines escaped
+     */
+    private static String escape(String username) {
+        StringBuilder field = new StringBuilder(username.length());
+        for (int i = 0; i < username.length(); i++) {
+            char c = username.charAt(i);
+            int escape = ESCAPED.indexOf(c);
+            if (escape >= 0) {
+                field.append('\\').append(ESCAPES.charAt(escape));
+            } else {
+                field.append(c);
+            }
+        }
+        return field.toString();
+    }
+
+    /**
+     * Reverses escape. A backslash that starts no known escape is kept as it is
+     * @param field A username field of the game log
+     * @return The username
+     */
+    private static String unescape(String field) {
+        if (field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder username = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            int escape = c == '\\' && i + 1 < field.length() ? ESCAPES.indexOf(field.charAt(i + 1)) : -1;
+            if (escape >= 0) {
+                c = ESCAPED.charAt(escape);
+                i++;
+            }
+            username.append(c);
+        }
+        return username.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package tiktactoe.model.rating;
+
+import tiktactoe.model.gamedata.PlayerRecord;
+
+/**
+ * The formulas of the Glicko rating system. A rating says how strong a player is and the deviation says how sure we
+ * are of it, so beating a player whose rating is well known counts for more than beating one who has barely played
+ */
+public final class Glicko {
+    public static final double INITIAL_RATING = 1500;
+    public static final double INITIAL_DEVIATION = 350;
+    public static final double MIN_DEVIATION = 30;
+
+    /**
+     * How much the deviation of an idle player grows each rating period. A settled deviation of 50 climbs back to 350
+     * after about 100 idle periods
+     */
+    public static final double DEFAULT_PERIOD_DECAY = 34.6;
+
+    static final double Q = Math.log(10) / 400;
+
+    /**
+     * Empty constructor. This class only has static methods
+     */
+    private Glicko() {
+    }
+
+    /**
+     * Shrinks the weight of a game against an opponent whose rating is uncertain
+     * @param deviation The opponent's rating deviation
+     * @return A weight between 0 and 1
+     */
+    public static double g(double deviation) {
+        return 1 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+
+    /**
+     * Obtains the score a player is expected to get against an opponent
+     * @param rating The player's rating
+     * @param opponentRating The opponent's rating
+     * @param opponentDeviation The opponent's rating deviation
+     * @return The expected score between 0 for a sure loss and 1 for a sure win
+     */
+    public static double expectedScore(double rating, double opponentRating, double opponentDeviation) {
+        return 1 / (1 + Math.pow(10, -g(opponentDeviation) * (rating - opponentRating) / 400));
+    }
+
+    /**
+     * Grows the deviation of a player for the rating periods they didn't play in
+     * @param deviation The deviation at the end of the last period they played in
+     * @param periods The number of periods that have gone by since
+     * @param periodDecay How much the deviation grows each period
+     * @return The grown deviation. Never more than that of a new player
+     */
+    public static double decay(double deviation, long periods, double periodDecay) {
+        if (periods <= 0) {
+            return deviation;
+        }
+        return Math.min(Math.sqrt(deviation * deviation + periodDecay * periodDecay * periods), INITIAL_DEVIATION);
+    }
+
+    /**
+     * Rates a single game right after it is played, treating it as a rating period of its own. Both players are rated
+     * against the other's rating from before the game
+     * @param playerOne The record of one player
+     * @param playerTwo The record of the other player
+     * @param scoreOne The score of player one. 1 for a win, 0.5 for a tie and 0 for a loss
+     */
+    public static void rateGame(PlayerRecord playerOne, PlayerRecord playerTwo, double scoreOne) {
+        RatingPeriod one = new RatingPeriod(playerOne.getRating(), playerOne.getDeviation());
+        RatingPeriod two = new RatingPeriod(playerTwo.getRating(), playerTwo.getDeviation());
+        one.addGame(playerTwo.getRating(), playerTwo.getDeviation(), scoreOne);
+        two.addGame(playerOne.getRating(), playerOne.getDeviation(), 1 - scoreOne);
+        playerOne.initializeRating(one.getNewRating(), one.getNewDeviation());
+        playerTwo.initializeRating(two.getNewRating(), two.getNewDeviation());
+    }
+}
@@ -0,0 +1,233 @@
+package tiktactoe.model.rating;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.PlayerRecord;
+
+/**
+ * Recomputes every rating from a game log. The log is streamed one rating period at a time, so only the games of the
+ * current period and one entry per player are ever held in memory. Within a period every player is rated against the
+ * ratings from the start of the period, so the players are rated in parallel on a fork-join pool
+ */
+public class RatingBatch {
+    private final double periodDecay;
+    private final ForkJoinPool pool;
+    private final Map<String, PlayerState> players = new HashMap<>();
+    private long lastPeriod = Long.MIN_VALUE;
+    private long gamesRated;
+    private long linesSkipped;
+
+    /**
+     * A player's rating along with the last period they played in
+     */
+    private static final class PlayerState {
+        private final PlayerRecord record = new PlayerRecord();
+        private long lastPeriod;
+
+        /**
+         * Constructor for a player's state
+         * @param period The period the player first appears in
+         */
+        private PlayerState(long period) {
+            this.lastPeriod = period;
+        }
+    }
+
+    /**
+     * Constructor for a batch
+     * @param periodDecay How much the deviation of an idle player grows each rating period
+     * @param pool The pool the players of each period are rated on
+     */
+    public RatingBatch(double periodDecay, ForkJoinPool pool) {
+        this.periodDecay = periodDecay;
+        this.pool = pool;
+    }
+
+    /**
+     * Rates every game in a log. Games are expected in period order, and a game from an earlier period than the one
+     * being collected is rated with that period
+     * @param gameLog The game log to read
+     * @throws IOException If the log can't be read
+     */
+    public void rate(Path gameLog) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(gameLog, StandardCharsets.UTF_8)) {
+            List<GameResult> games = new ArrayList<>();
+            long period = Long.MIN_VALUE;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                GameResult game = GameResult.parse(line);
+                if (game == null) {
+                    linesSkipped++;
+                    continue;
+                }
+                if (game.getPeriod() > period) {
+                    ratePeriod(period, games);
+                    games = new ArrayList<>();
+                    period = game.getPeriod();
+                }
+                games.add(game);
+            }
+            ratePeriod(period, games);
+        }
+    }
+
+    /**
+     * Rates the games of one rating period. Periods must be rated in increasing order
+     * @param period The rating period
+     * @param games The games played in the period
+     */
+    public void ratePeriod(long period, List<GameResult> games) {
+        Map<String, List<GameResult>> gamesByPlayer = new HashMap<>();
+        for (GameResult game : games) {
+            if (game.getPlayerOne().equals(game.getPlayerTwo())) {
+                continue;
+            }
+            addGame(gamesByPlayer, game.getPlayerOne(), game, period, game.getScoreOne());
+            addGame(gamesByPlayer, game.getPlayerTwo(), game, period, 1 - game.getScoreOne());
+            gamesRated++;
+        }
+        if (gamesByPlayer.isEmpty()) {
+            return;
+        }
+
+        List<String> usernames = new ArrayList<>(gamesByPlayer.keySet());
+        double[] newRatings = new double[usernames.size() * 2];
+        // Only reads the player states, so the players can be rated in any order on any thread
+        pool.submit(() -> IntStream.range(0, usernames.size()).parallel().forEach(i -> {
+            String username = usernames.get(i);
+            PlayerState state = players.get(username);
+            RatingPeriod ratingPeriod = new RatingPeriod(state.record.getRating(), deviationAt(state, period));
+            for (GameResult game : gamesByPlayer.get(username)) {
+                boolean isPlayerOne = game.getPlayerOne().equals(username);
+                PlayerState opponent = players.get(isPlayerOne ? game.getPlayerTwo() : game.getPlayerOne());
+                double score = isPlayerOne ? game.getScoreOne() : 1 - game.getScoreOne();
+                ratingPeriod.addGame(opponent.record.getRating(), deviationAt(opponent, period), score);
+            }
+            newRatings[2 * i] = ratingPeriod.getNewRating();
+            newRatings[2 * i + 1] = ratingPeriod.getNewDeviation();
+        })).join();
+
+        for (int i = 0; i < usernames.size(); i++) {
+            PlayerState state = players.get(usernames.get(i));
+            state.record.initializeRating(newRatings[2 * i], newRatings[2 * i + 1]);
+            state.lastPeriod = period;
+        }
+        lastPeriod = Math.max(lastPeriod, period);
+    }
+
+    /**
+     * Obtains the records worked out so far. Deviations are grown to the last period rated
+     * @return A map where the key is the player and their value is their wins, losses, ties and rating
+     */
+    public Map<String, PlayerRecord> getRecords() {
+        Map<String, PlayerRecord> records = new HashMap<>(players.size() * 4 / 3 + 1);
+        for (Map.Entry<String, PlayerState> entry : players.entrySet()) {
+            PlayerRecord record = entry.getValue().record;
+            PlayerRecord copy = new PlayerRecord();
+            copy.initializeWins(record.getWins());
+            copy.initializeLoss(record.getLosses());
+            copy.initializeTie(record.getTies());
+            copy.initializeRating(record.getRating(), deviationAt(entry.getValue(), lastPeriod));
+            records.put(entry.getKey(), copy);
+        }
+        return records;
+    }
+
+    /**
+     * Obtains the number of games rated so far
+     * @return The number of games rated
+     */
+    public long getGamesRated() {
+        return gamesRated;
+    }
+
+    /**
+     * Obtains the number of log lines that couldn't be parsed
+     * @return The number of lines skipped
+     */
+    public long getLinesSkipped() {
+        return linesSkipped;
+    }
+
+    /**
+     * Recomputes the ratings from a game log and prints the highest rated players
+     * @param args gameLog [apply]. With apply the recomputed ratings are written to the leaderboard
+     * @throws IOException If the log can't be read or the leaderboard can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: RatingBatch <gameLog> [apply]");
+            return;
+        }
+        RatingBatch batch = new RatingBatch(Glicko.DEFAULT_PERIOD_DECAY, ForkJoinPool.commonPool());
+        long startTime = System.nanoTime();
+        batch.rate(Paths.get(args[0]));
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        Map<String, PlayerRecord> records = batch.getRecords();
+        System.out.printf("Rated %d games for %d players in %.2fs, skipped %d lines%n",
+                batch.getGamesRated(), records.size(), seconds, batch.getLinesSkipped());
+
+        List<Map.Entry<String, PlayerRecord>> ranked = new ArrayList<>(records.entrySet());
+        ranked.sort((o1, o2) -> Double.compare(o2.getValue().getRating(), o1.getValue().getRating()));
+        for (int i = 0; i < Math.min(10, ranked.size()); i++) {
+            PlayerRecord record = ranked.get(i).getValue();
+            System.out.printf("%d. %s %.0f (RD %.0f) %d-%d-%d%n", i + 1, ranked.get(i).getKey(), record.getRating(),
+                    record.getDeviation(), record.getWins(), record.getLosses(), record.getTies());
+        }
+
+        if (args.length > 1 && args[1].equals("apply")) {
+            // Only the ratings are replaced. The win, loss and tie totals already on the leaderboard are kept
+            Map<String, PlayerRecord> ratings = new HashMap<>();
+            for (Map.Entry<String, PlayerRecord> entry : records.entrySet()) {
+                PlayerRecord rating = new PlayerRecord();
+                rating.initializeRating(entry.getValue().getRating(), entry.getValue().getDeviation());
+                ratings.put(entry.getKey(), rating);
+            }
+            new LeaderBoard().persistSession(ratings);
+            System.out.println("Wrote " + ratings.size() + " ratings to the leaderboard");
+        }
+    }
+
+    /**
+     * Files a game under one of its players and counts it in their record
+     * @param gamesByPlayer The games of the period grouped by player
+     * @param username The player
+     * @param game The game
+     * @param period The period being rated
+     * @param score The player's score in the game
+     */
+    private void addGame(Map<String, List<GameResult>> gamesByPlayer, String username, GameResult game, long period,
+            double score) {
+        gamesByPlayer.computeIfAbsent(username, key -> new ArrayList<>()).add(game);
+        PlayerRecord record = players.computeIfAbsent(username, key -> new PlayerState(period)).record;
+        if (score > 0.5) {
+            record.addWin();
+        } else if (score < 0.5) {
+            record.addLoss();
+        } else {
+            record.addTies();
+        }
+    }
+
+    /**
+     * Obtains a player's deviation grown for the periods they sat out
+     * @param state The player's state
+     * @param period The period being rated
+     * @return The deviation to rate the player with in that period
+     */
+    private double deviationAt(PlayerState state, long period) {
+        return Glicko.decay(state.record.getDeviation(), period - state.lastPeriod, periodDecay);
+    }
+}
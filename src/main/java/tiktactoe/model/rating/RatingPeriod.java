@@ -0,0 +1,65 @@
+package tiktactoe.model.rating;
+
+/**
+ * Collects the games one player played during a rating period and works out their rating at the end of it. Every game
+ * is rated against the opponent's rating from the start of the period, so the order of the games doesn't matter
+ */
+public class RatingPeriod {
+    private final double rating;
+    private final double deviation;
+    private double varianceSum;
+    private double improvementSum;
+
+    /**
+     * Constructor for a rating period
+     * @param rating The player's rating at the start of the period
+     * @param deviation The player's rating deviation at the start of the period, already grown for any idle periods
+     */
+    public RatingPeriod(double rating, double deviation) {
+        this.rating = rating;
+        this.deviation = deviation;
+    }
+
+    /**
+     * Adds a game to the period
+     * @param opponentRating The opponent's rating at the start of the period
+     * @param opponentDeviation The opponent's rating deviation at the start of the period
+     * @param score The player's score. 1 for a win, 0.5 for a tie and 0 for a loss
+     */
+    public void addGame(double opponentRating, double opponentDeviation, double score) {
+        double weight = Glicko.g(opponentDeviation);
+        double expected = Glicko.expectedScore(rating, opponentRating, opponentDeviation);
+        varianceSum += weight * weight * expected * (1 - expected);
+        improvementSum += weight * (score - expected);
+    }
+
+    /**
+     * Obtains the rating at the end of the period
+     * @return The new rating. Unchanged if no games were added
+     */
+    public double getNewRating() {
+        if (varianceSum == 0) {
+            return rating;
+        }
+        return rating + Glicko.Q * newVariance() * improvementSum;
+    }
+
+    /**
+     * Obtains the rating deviation at the end of the period
+     * @return The new rating deviation. Never below the minimum deviation
+     */
+    public double getNewDeviation() {
+        if (varianceSum == 0) {
+            return deviation;
+        }
+        return Math.max(Math.sqrt(newVariance()), Glicko.MIN_DEVIATION);
+    }
+
+    /**
+     * Combines the uncertainty from before the period with what the games of the period revealed
+     * @return The square of the new rating deviation before the minimum is applied
+     */
+    private double newVariance() {
+        return 1 / (1 / (deviation * deviation) + Glicko.Q * Glicko.Q * varianceSum);
+    }
+}
@@ -0,0 +1,221 @@
+package tiktactoe.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.model.player.SearchBudget;
+
+/**
+ * Hosts many game sessions in one JVM for clients connecting over a local socket. Every connection gets its own
+ * virtual thread, which blocks on the socket for free, so tens of thousands of idle players cost little more than their
+ * game state. Computer replies are searched on a small pool of platform threads sized to the machine instead, so a busy
+ * search never holds up the threads reading the sockets and the move latency stays flat however many players are
+ * connected. A session that sends nothing for the idle timeout is ended and its records are written like any other
+ */
+public class GameServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 7777;
+    private static final int DEFAULT_IDLE_SECONDS = 300;
+    private static final int BACKLOG = 1024;
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+    private static final SearchBudget DEFAULT_MOVE_BUDGET = SearchBudget.ofMillis(50, Long.MAX_VALUE);
+
+    private final int port;
+    private final LeaderBoardService leaderBoardService;
+    private final int idleTimeoutMillis;
+    private final int computeThreads;
+    private final Set<GameSession> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionsStarted = new AtomicInteger();
+    private final AtomicInteger pendingMoves = new AtomicInteger();
+    private volatile MoveBudget moveBudget;
+    private ServerSocket serverSocket;
+    private ExecutorService sessionThreads;
+    private ExecutorService computerMoves;
+    private Thread acceptThread;
+
+    /**
+     * Constructor for the server. Nothing is bound until the server is started
+     * @param port The local port to listen on. 0 picks a free port
+     * @param leaderBoardService The service finished rounds and sessions are recorded on
+     * @param idleTimeoutMillis How long a session may go without sending anything before it is ended
+     * @param computeThreads The number of threads computer moves are searched on
+     */
+    public GameServer(int port, LeaderBoardService leaderBoardService, int idleTimeoutMillis, int computeThreads) {
+        this.port = port;
+        this.leaderBoardService = leaderBoardService;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.computeThreads = computeThreads;
+        this.moveBudget = new MoveBudget(DEFAULT_MOVE_BUDGET, computeThreads);
+    }
+
+    /**
+     * Sets how long a computer move may be searched when the server isn't busy. Once more moves are waiting than
+     * there are compute threads, the waiting moves split it
+     * @param budget The budget of a move, 50ms by default
+     */
+    public void setMoveBudget(SearchBudget budget) {
+        this.moveBudget = new MoveBudget(budget, computeThreads);
+    }
+
+    /**
+     * Binds the loopback address and starts accepting connections in the background
+     * @throws IOException If the port can't be bound
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        sessionThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-session-", 0).factory());
+        computerMoves = Executors.newFixedThreadPool(computeThreads,
+                Thread.ofPlatform().name("computer-move-", 0).daemon().factory());
+        acceptThread = Thread.ofPlatform().name("game-server-accept").daemon().start(this::acceptConnections);
+    }
+
+    /**
+     * Obtains the port the server is listening on
+     * @return The bound port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Obtains the number of sessions currently connected
+     * @return The number of open sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Obtains the number of sessions accepted since the server started
+     * @return The number of sessions started
+     */
+    public int getSessionsStarted() {
+        return sessionsStarted.get();
+    }
+
+    /**
+     * Waits until the server stops accepting connections
+     * @throws InterruptedException If the caller is interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        acceptThread.join();
+    }
+
+    /**
+     * Stops accepting connections and ends every open session, recording what each has played
+     * @throws IOException If the server socket can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (GameSession session : sessions) {
+            session.disconnect();
+        }
+        sessionThreads.close();
+        computerMoves.shutdownNow();
+    }
+
+    /**
+     * Searches for the computer's move on the compute pool and waits for it, so the calling session thread only ever
+     * blocks and never searches. The move's budget shrinks with the number of moves waiting for the pool
+     * @param game The session whose computer player is to move
+     * @throws InterruptedException If the session is interrupted while waiting
+     */
+    void playComputerMove(HostedGame game) throws InterruptedException {
+        game.setSearchBudget(moveBudget.forLoad(pendingMoves.incrementAndGet()));
+        try {
+            computerMoves.submit(game::playComputerMove).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Computer move failed", e.getCause());
+        } finally {
+            pendingMoves.decrementAndGet();
+        }
+    }
+
+    /**
+     * Obtains the service finished rounds and sessions are recorded on
+     * @return The leaderboard service
+     */
+    LeaderBoardService getLeaderBoardService() {
+        return leaderBoardService;
+    }
+
+    /**
+     * Obtains how long a session may go without sending anything
+     * @return The idle timeout in milliseconds
+     */
+    int getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Forgets a session once it has ended
+     * @param session The session that ended
+     */
+    void sessionEnded(GameSession session) {
+        sessions.remove(session);
+    }
+
+    /**
+     * Hands every accepted connection to a new virtual thread until the server socket is closed
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                GameSession session = new GameSession(this, socket);
+                sessions.add(session);
+                sessionsStarted.incrementAndGet();
+                sessionThreads.execute(session);
+                if (serverSocket.isClosed()) {
+                    // Accepted just as the server closed, after close disconnected the sessions it knew about
+                    session.disconnect();
+                }
+            } catch (SocketException e) {
+                // The server socket was closed
+            } catch (IOException e) {
+                System.out.println("Error accepting connection");
+                System.out.println(e.getMessage());
+                // Usually out of file descriptors, which only a session ending will fix
+                try {
+                    Thread.sleep(ACCEPT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped
+     * @param args [port] [idleSeconds] [computeThreads]
+     * @throws IOException If the port can't be bound
+     * @throws InterruptedException If the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int idleSeconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_IDLE_SECONDS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(port, LeaderBoardService.getInstance(), idleSeconds * 1000, threads);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                server.getLeaderBoardService().flush();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }, "game-server-shutdown"));
+        System.out.println("Listening on " + server.getPort());
+        server.join();
+    }
+}
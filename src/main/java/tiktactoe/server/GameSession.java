@@ -0,0 +1,199 @@
+package tiktactoe.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.GameState;
+
+/**
+ * One client's game session against a computer player, run on its own virtual thread. The client sends one command
+ * per line and gets one line back for each:
+ * <ul>
+ *     <li>NEW username difficulty [X|O] starts the session against easy, medium, hard, tablebase or mcts</li>
+ *     <li>MOVE row col places the player's symbol and answers with the board after the computer's reply</li>
+ *     <li>ROUND clears the board for another round of the same session</li>
+ *     <li>BOARD repeats the board</li>
+ *     <li>QUIT ends the session</li>
+ * </ul>
+ * The board is answered as BOARD followed by the nine cells row by row, with - for an empty cell, and the state of
+ * the round: YOUR_MOVE, WIN and the winner's username, or TIE. Anything else is answered with ERROR and a reason. The
+ * player always moves first. The session's wins, losses and ties go to the leaderboard when it ends, however it ends
+ */
+public class GameSession implements Runnable {
+    /**
+     * Commands and answers are a few dozen characters, so small buffers keep tens of thousands of sessions cheap
+     */
+    private static final int LINE_BUFFER = 256;
+
+    private final GameServer server;
+    private final Socket socket;
+    private HostedGame game;
+    private boolean quit;
+
+    /**
+     * Constructor for a session
+     * @param server The server hosting the session
+     * @param socket The connection to the client
+     */
+    GameSession(GameServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    /**
+     * Answers the client's commands until they quit, disconnect or stay idle for too long
+     */
+    @Override
+    public void run() {
+        try (socket) {
+            socket.setSoTimeout(server.getIdleTimeoutMillis());
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8), LINE_BUFFER);
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8),
+                    LINE_BUFFER);
+            String line;
+            while (!quit && (line = in.readLine()) != null) {
+                out.write(handle(line.trim()));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (SocketTimeoutException e) {
+            // Idle for too long, so the session is reclaimed
+        } catch (IOException e) {
+            // The client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            recordSession();
+            server.sessionEnded(this);
+        }
+    }
+
+    /**
+     * Closes the connection, which ends the session on its own thread
+     */
+    void disconnect() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    /**
+     * Carries out one command
+     * @param command A line sent by the client
+     * @return The line to answer with
+     * @throws InterruptedException If the session is interrupted while the computer is moving
+     */
+    private String handle(String command) throws InterruptedException {
+        String[] words = command.split("\\s+");
+        String verb = words[0].toUpperCase();
+        if (verb.equals("QUIT")) {
+            quit = true;
+            return "BYE";
+        }
+        if (verb.equals("NEW")) {
+            return startSession(words);
+        }
+        if (game == null) {
+            return "ERROR Start a session with NEW username difficulty";
+        }
+        return switch (verb) {
+            case "MOVE" -> playMove(words);
+            case "ROUND" -> {
+                game.startNewRound();
+                yield describeBoard();
+            }
+            case "BOARD" -> describeBoard();
+            default -> "ERROR Unknown command " + words[0];
+        };
+    }
+
+    /**
+     * Creates the players and the first round of the session
+     * @param words NEW, the username, the difficulty and optionally the player's symbol
+     * @return The empty board, or an error if the session can't be started
+     */
+    private String startSession(String[] words) {
+        if (game != null) {
+            return "ERROR Session already started";
+        }
+        if (words.length < 3) {
+            return "ERROR Usage: NEW username difficulty [X|O]";
+        }
+        GameEnum symbol = words.length > 3 ? GameEnum.fromChar(Character.toUpperCase(words[3].charAt(0))) : GameEnum.X;
+        try {
+            game = new HostedGame(words[1], words[2], symbol, server.getLeaderBoardService());
+        } catch (IllegalArgumentException e) {
+            return "ERROR " + e.getMessage();
+        }
+        return describeBoard();
+    }
+
+    /**
+     * Places the player's move and lets the computer reply
+     * @param words MOVE, the row and the column
+     * @return The board after the computer's reply, or an error if the move can't be played
+     * @throws InterruptedException If the session is interrupted while the computer is moving
+     */
+    private String playMove(String[] words) throws InterruptedException {
+        if (game.getEngine().isRoundOver()) {
+            return "ERROR Round is over, start another with ROUND";
+        }
+        int row;
+        int col;
+        try {
+            row = Integer.parseInt(words[1]);
+            col = Integer.parseInt(words[2]);
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return "ERROR Usage: MOVE row col";
+        }
+        if (row < 0 || row > 2 || col < 0 || col > 2 || !game.playPlayerMove(row * 3 + col)) {
+            return "ERROR Invalid move";
+        }
+        if (game.isComputerToMove()) {
+            server.playComputerMove(game);
+        }
+        return describeBoard();
+    }
+
+    /**
+     * Describes the board and the state of the round
+     * @return BOARD, the nine cells and YOUR_MOVE, WIN and the winner's username, or TIE
+     */
+    private String describeBoard() {
+        GameState gameState = game.getGameState();
+        StringBuilder line = new StringBuilder("BOARD ");
+        for (char[] row : gameState.getBoard().getBoard()) {
+            for (char cell : row) {
+                line.append(cell == ' ' ? '-' : cell);
+            }
+        }
+        switch (game.getRoundState()) {
+            case WIN -> line.append(" WIN ").append(gameState.getPlayerOne().getUsername());
+            case LOST -> line.append(" WIN ").append(gameState.getPlayerTwo().getUsername());
+            case TIE -> line.append(" TIE");
+            default -> line.append(" YOUR_MOVE");
+        }
+        return line.toString();
+    }
+
+    /**
+     * Hands the wins, losses and ties of the session to the leaderboard, if it was ever started
+     */
+    private void recordSession() {
+        if (game != null) {
+            game.recordSession();
+        }
+    }
+}
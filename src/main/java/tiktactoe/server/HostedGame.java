@@ -0,0 +1,145 @@
+package tiktactoe.server;
+
+import tiktactoe.controller.GameEngine;
+import tiktactoe.controller.RatingRecorder;
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.GameState;
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.gamedata.PlayerRecord;
+import tiktactoe.model.player.BudgetedPlayer;
+import tiktactoe.model.player.ComputerPlayer;
+import tiktactoe.model.player.HumanPlayer;
+import tiktactoe.model.player.SearchBudget;
+import tiktactoe.simulation.SelfPlaySimulator;
+
+/**
+ * A remote player's game session against a computer player, shared by every server front end. The player is player
+ * one and always moves first. Every finished round is rated on the leaderboard service, and the session's wins,
+ * losses and ties are recorded on it once the session ends
+ */
+public class HostedGame {
+    private final GameState gameState;
+    private final GameEngine engine;
+    private final ComputerPlayer computer;
+    private final LeaderBoardService leaderBoardService;
+
+    /**
+     * Constructor for a session. The first round is started right away
+     * @param username The remote player's username
+     * @param difficulty easy, medium, hard, tablebase or mcts
+     * @param symbol The remote player's symbol, X or O
+     * @param leaderBoardService The service the rounds and the session are recorded on
+     * @throws IllegalArgumentException If the difficulty or symbol is unknown
+     */
+    public HostedGame(String username, String difficulty, GameEnum symbol, LeaderBoardService leaderBoardService) {
+        if (symbol != GameEnum.X && symbol != GameEnum.O) {
+            throw new IllegalArgumentException("Symbol must be X or O");
+        }
+        GameEnum computerSymbol = symbol == GameEnum.X ? GameEnum.O : GameEnum.X;
+        String type = difficulty.toLowerCase();
+        this.computer = SelfPlaySimulator.factoryFor(type).create(
+                Character.toUpperCase(type.charAt(0)) + type.substring(1) + "Ai", computerSymbol, null);
+        this.gameState = new GameState(new HumanPlayer(username, symbol), computer, new Board());
+        this.engine = new GameEngine(gameState);
+        this.leaderBoardService = leaderBoardService;
+        engine.addListener(new RatingRecorder(gameState, leaderBoardService));
+        engine.startNewRound();
+    }
+
+    /**
+     * Obtains the engine driving the session
+     * @return The game engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Obtains the state of the session
+     * @return The game state
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Places the remote player's move
+     * @param cell The cell to play, row * 3 + col
+     * @return True if the move was placed. False if it is out of range, taken, not the player's turn or the round is
+     *         over
+     */
+    public boolean playPlayerMove(int cell) {
+        if (cell < 0 || cell > 8 || gameState.getCurrentPlayer() != gameState.getPlayerOne()) {
+            return false;
+        }
+        return engine.playMove(Move.of(cell, gameState.getPlayerOne().getSymbol()));
+    }
+
+    /**
+     * Checks to see if the computer player is to move
+     * @return True if the round is still going and it is the computer's turn
+     */
+    public boolean isComputerToMove() {
+        return !engine.isRoundOver() && gameState.getCurrentPlayer() == gameState.getPlayerTwo();
+    }
+
+    /**
+     * Limits how long the computer player may think about its next moves. Players without a search budget ignore it
+     * @param budget The budget of each move
+     */
+    public void setSearchBudget(SearchBudget budget) {
+        if (computer instanceof BudgetedPlayer budgeted) {
+            budgeted.setSearchBudget(budget);
+        }
+    }
+
+    /**
+     * Lets the computer player reply on the calling thread
+     * @return The cell the computer played, row * 3 + col. -1 if it wasn't the computer's turn
+     */
+    public int playComputerMove() {
+        if (!isComputerToMove()) {
+            return -1;
+        }
+        engine.playRound();
+        Move last = gameState.getBoard().getMoveHistory().peek();
+        return last.getRow() * 3 + last.getCol();
+    }
+
+    /**
+     * Clears the board for another round of the same session
+     */
+    public void startNewRound() {
+        engine.startNewRound();
+    }
+
+    /**
+     * Works out how the round stands for the remote player
+     * @return WIN or LOST once someone has a line, TIE once the board is full and NONE while the round is going
+     */
+    public GameEnum getRoundState() {
+        Board board = gameState.getBoard();
+        if (board.checkWin(gameState.getPlayerOne())) {
+            return GameEnum.WIN;
+        } else if (board.checkWin(gameState.getPlayerTwo())) {
+            return GameEnum.LOST;
+        } else if (board.isBoardFull()) {
+            return GameEnum.TIE;
+        }
+        return GameEnum.NONE;
+    }
+
+    /**
+     * Hands the wins, losses and ties of the session to the leaderboard, unless no round was finished
+     */
+    public void recordSession() {
+        PlayerRecord record = gameState.getPlayerOne().getRecord();
+        if (record.getWins() + record.getLosses() + record.getTies() == 0) {
+            return;
+        }
+        gameState.setPlayerScoreBoard(gameState.getPlayerOne(), gameState.getPlayerTwo());
+        leaderBoardService.recordSession(gameState.getScoreBoard());
+    }
+}
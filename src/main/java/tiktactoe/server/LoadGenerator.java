@@ -0,0 +1,256 @@
+package tiktactoe.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardService;
+
+/**
+ * Plays many sessions against the NIO game server over loopback and reports the move rate and round-trip latency.
+ * Every connection hosts a number of sessions and sends one request for each of them per batch, a random move or a
+ * new round once the last one is over, then waits for all the results. Boards and latencies live in arrays made up
+ * front, so the measuring loop allocates nothing
+ */
+public class LoadGenerator {
+    private static final int LATENCY_SAMPLES = 1 << 14;
+
+    private final int port;
+    private final int sessions;
+    private final int difficulty;
+    private final long durationNanos;
+
+    /**
+     * Constructor for a load generator
+     * @param port The port the server listens on
+     * @param sessions The sessions to host on each connection
+     * @param difficulty EASY, MEDIUM, HARD, TABLEBASE or MCTS
+     * @param durationMillis How long each connection keeps playing
+     */
+    public LoadGenerator(int port, int sessions, int difficulty, long durationMillis) {
+        this.port = port;
+        this.sessions = sessions;
+        this.difficulty = difficulty;
+        this.durationNanos = durationMillis * 1_000_000L;
+    }
+
+    /**
+     * Plays from one connection until the duration is up
+     * @param username The username every session of the connection plays as
+     * @return The statistics of the connection
+     * @throws IOException If the connection fails
+     */
+    public Result run(String username) throws IOException {
+        try (NioGameClient client = new NioGameClient(port)) {
+            Connection connection = new Connection(client);
+            connection.open(username);
+            return connection.play();
+        }
+    }
+
+    /**
+     * The moves and batch round trips measured on a connection
+     * @param moves The moves played
+     * @param rounds The rounds finished
+     * @param latencies The round trip of each batch in nanoseconds, the latest LATENCY_SAMPLES at most
+     */
+    public record Result(long moves, long rounds, long[] latencies) {
+    }
+
+    /**
+     * The state of the sessions of one connection
+     */
+    private final class Connection implements NioGameClient.ResultHandler {
+        private final NioGameClient client;
+        private final int[] ids = new int[sessions];
+        private final boolean[][] taken = new boolean[sessions][9];
+        private final boolean[] over = new boolean[sessions];
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+        private int received;
+        private long moves;
+        private long rounds;
+        private long batches;
+
+        /**
+         * Constructor for a connection's state
+         * @param client The connected client
+         */
+        private Connection(NioGameClient client) {
+            this.client = client;
+        }
+
+        /**
+         * Opens every session of the connection
+         * @param username The username the sessions play as
+         * @throws IOException If the connection fails or a session can't be opened
+         */
+        private void open(String username) throws IOException {
+            for (int i = 0; i < sessions; i++) {
+                client.open(username, difficulty, GameEnum.X);
+            }
+            client.flush();
+            received = 0;
+            while (received < sessions) {
+                client.read((session, status, cell) -> {
+                    if (status != WireProtocol.OPENED) {
+                        throw new IllegalStateException("Session refused with status " + status);
+                    }
+                    ids[received++] = session;
+                });
+            }
+        }
+
+        /**
+         * Sends a batch with one request per session and waits for the results until the duration is up
+         * @return The statistics of the connection
+         * @throws IOException If the connection fails
+         */
+        private Result play() throws IOException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long end = System.nanoTime() + durationNanos;
+            long start;
+            while ((start = System.nanoTime()) < end) {
+                for (int i = 0; i < sessions; i++) {
+                    if (over[i]) {
+                        client.round(ids[i]);
+                    } else {
+                        int cell = random.nextInt(9);
+                        while (taken[i][cell]) {
+                            cell = (cell + 1) % 9;
+                        }
+                        taken[i][cell] = true;
+                        client.move(ids[i], cell);
+                        moves++;
+                    }
+                }
+                client.flush();
+                received = 0;
+                while (received < sessions) {
+                    client.read(this);
+                }
+                latencies[(int) (batches++ % LATENCY_SAMPLES)] = System.nanoTime() - start;
+            }
+            int samples = (int) Math.min(batches, LATENCY_SAMPLES);
+            return new Result(moves, rounds, Arrays.copyOf(latencies, samples));
+        }
+
+        /**
+         * Applies a result to the board of its session, which is the next one in sending order
+         * @param session The session the result is for
+         * @param status The status of the session
+         * @param cell The computer's reply or NO_CELL
+         */
+        @Override
+        public void onResult(int session, int status, int cell) {
+            int i = received++;
+            if (status == WireProtocol.YOUR_MOVE && cell == WireProtocol.NO_CELL) {
+                // Answer to a new round
+                Arrays.fill(taken[i], false);
+                over[i] = false;
+                return;
+            }
+            if (cell != WireProtocol.NO_CELL) {
+                taken[i][cell] = true;
+            }
+            if (status == WireProtocol.WIN || status == WireProtocol.LOSS || status == WireProtocol.TIE) {
+                over[i] = true;
+                rounds++;
+            } else if (status != WireProtocol.YOUR_MOVE) {
+                throw new IllegalStateException("Unexpected status " + status + " for session " + session);
+            }
+        }
+    }
+
+    /**
+     * Runs the load generator from the command line. Without a port a server is started in this JVM, recording on a
+     * leaderboard in a temporary directory
+     * @param args connections sessionsPerConnection seconds [difficulty] [port]
+     * @throws Exception If a connection fails or the run is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.out.println("Usage: LoadGenerator connections sessionsPerConnection seconds [difficulty] [port]");
+            return;
+        }
+        int connections = Integer.parseInt(args[0]);
+        int sessions = Integer.parseInt(args[1]);
+        long millis = Long.parseLong(args[2]) * 1000;
+        int difficulty = WireProtocol.difficultyCode(args.length > 3 ? args[3] : "hard");
+        NioGameServer server = null;
+        int port;
+        if (args.length > 4) {
+            port = Integer.parseInt(args[4]);
+        } else {
+            Path directory = Files.createTempDirectory("load-generator");
+            LeaderBoardService service = new LeaderBoardService(new LeaderBoard(directory.resolve("leaderboard.json"),
+                    directory.resolve("leaderboard.journal")), directory.resolve("games.log"), 1000);
+            server = new NioGameServer(0, service, 60000, Runtime.getRuntime().availableProcessors());
+            server.start();
+            port = server.getPort();
+        }
+
+        LoadGenerator generator = new LoadGenerator(port, sessions, difficulty, millis);
+        long startTime = System.nanoTime();
+        List<Result> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                String username = "Load" + i;
+                futures.add(executor.submit(() -> generator.run(username)));
+            }
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    System.out.println("Connection failed: " + e.getCause());
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        if (server != null) {
+            server.close();
+        }
+        report(results, connections * sessions, seconds);
+    }
+
+    /**
+     * Prints the totals of a run
+     * @param results The statistics of every connection that finished
+     * @param sessions The number of sessions played
+     * @param seconds How long the run took
+     */
+    private static void report(List<Result> results, int sessions, double seconds) {
+        long moves = 0;
+        long rounds = 0;
+        int samples = 0;
+        for (Result result : results) {
+            moves += result.moves();
+            rounds += result.rounds();
+            samples += result.latencies().length;
+        }
+        long[] latencies = new long[samples];
+        int next = 0;
+        for (Result result : results) {
+            System.arraycopy(result.latencies(), 0, latencies, next, result.latencies().length);
+            next += result.latencies().length;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%d sessions on %d connections played %d moves and %d rounds in %.2fs (%.0f moves/s)%n",
+                sessions, results.size(), moves, rounds, seconds, moves / seconds);
+        if (samples > 0) {
+            System.out.printf("Batch round trip p50 %.1fus, p99 %.1fus, max %.1fus%n",
+                    latencies[samples / 2] / 1e3, latencies[(int) (samples * 0.99)] / 1e3,
+                    latencies[samples - 1] / 1e3);
+        }
+    }
+}
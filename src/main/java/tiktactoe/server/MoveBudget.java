@@ -0,0 +1,40 @@
+package tiktactoe.server;
+
+import tiktactoe.model.player.SearchBudget;
+
+/**
+ * Shrinks the computer players' search budget as moves pile up, so the last move in line still gets answered within
+ * roughly one full budget. While there are no more moves waiting than threads to search them, every move gets the
+ * full budget. Beyond that the moves queued behind each thread split it between them
+ */
+final class MoveBudget {
+    private final SearchBudget base;
+    private final int workers;
+
+    /**
+     * Constructor for the policy
+     * @param base The budget of a move when the server isn't busy
+     * @param workers The number of threads searching computer moves
+     */
+    MoveBudget(SearchBudget base, int workers) {
+        this.base = base;
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Obtains the budget of a move when the server isn't busy
+     * @return The full budget
+     */
+    SearchBudget getBase() {
+        return base;
+    }
+
+    /**
+     * Works out the budget of a move given how many are waiting
+     * @param pendingMoves The moves waiting to be searched, this one included
+     * @return The budget of this move
+     */
+    SearchBudget forLoad(int pendingMoves) {
+        return base.share((pendingMoves + workers - 1) / workers);
+    }
+}
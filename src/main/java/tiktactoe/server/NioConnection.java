@@ -0,0 +1,286 @@
+package tiktactoe.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import tiktactoe.model.gamedata.GameEnum;
+
+/**
+ * One client connection of the NIO game server and the sessions it hosts. It is only ever touched by the event loop
+ * that owns it. The buffers and the session table are made once, so reading requests and writing results allocates
+ * nothing; only opening a session builds its game. While results are waiting to be written the connection stops
+ * reading, which pushes back on a client that sends faster than it reads
+ */
+final class NioConnection {
+    /**
+     * Large enough for hundreds of pipelined requests, small enough for thousands of connections
+     */
+    static final int BUFFER_SIZE = 4096;
+
+    private final NioGameServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] name = new byte[WireProtocol.MAX_NAME_LENGTH];
+    private HostedGame[] games = new HostedGame[8];
+    private int[] freeSessions = new int[8];
+    private int freeCount;
+    private int nextSession;
+    private long lastActive;
+    private boolean closing;
+    private int pendingRequests;
+
+    /**
+     * Constructor for a connection
+     * @param server The server hosting the connection
+     * @param channel The connection to the client, in non-blocking mode
+     * @param key The channel's registration with the event loop's selector
+     */
+    NioConnection(NioGameServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.lastActive = System.nanoTime();
+    }
+
+    /**
+     * Obtains when the client last sent anything
+     * @return The time of the last read, in System.nanoTime units
+     */
+    long getLastActive() {
+        return lastActive;
+    }
+
+    /**
+     * Reads what the client sent and answers every complete request
+     * @return False if the connection should be closed
+     * @throws IOException If the connection fails
+     */
+    boolean onReadable() throws IOException {
+        if (channel.read(in) < 0) {
+            return false;
+        }
+        lastActive = System.nanoTime();
+        return answerRequests();
+    }
+
+    /**
+     * Writes the results that didn't fit in the socket earlier, then answers the requests that were held back
+     * @return False if the connection should be closed
+     * @throws IOException If the connection fails
+     */
+    boolean onWritable() throws IOException {
+        return flush() && answerRequests();
+    }
+
+    /**
+     * Ends every session of the connection, recording each on the leaderboard, and closes it
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        for (int session = 0; session < nextSession; session++) {
+            endSession(session);
+        }
+    }
+
+    /**
+     * Answers the complete requests in the input buffer in batch frames, as long as the output buffer has room. A
+     * batch ends when the output buffer is full, so once a batch has been written out the next one is answered right
+     * away rather than waiting for the client to send more
+     * @return False if the connection should be closed
+     * @throws IOException If the connection fails
+     */
+    private boolean answerRequests() throws IOException {
+        boolean held = true;
+        while (held && !closing && out.position() == 0) {
+            in.flip();
+            pendingRequests = countRequests();
+            int count = 0;
+            int length;
+            while (!closing && out.remaining() >= WireProtocol.HEADER_SIZE + WireProtocol.RESULT_SIZE
+                    && (length = completeFrameLength()) != 0) {
+                if (count == 0) {
+                    out.putShort((short) 0);
+                }
+                if (length < 0) {
+                    // Nothing after an unknown opcode can be framed, so the connection can't go on
+                    putResult(WireProtocol.NO_SESSION, WireProtocol.BAD_REQUEST, WireProtocol.NO_CELL);
+                    closing = true;
+                } else {
+                    answerRequest();
+                }
+                pendingRequests--;
+                count++;
+            }
+            held = count > 0 && completeFrameLength() != 0;
+            in.compact();
+            if (count > 0) {
+                out.putShort(0, (short) count);
+            }
+            flush();
+        }
+        return !closing;
+    }
+
+    /**
+     * Works out the length of the request at the input buffer's position if all of it has arrived
+     * @return The length of the request, 0 if it hasn't fully arrived, or -1 if its opcode is unknown
+     */
+    private int completeFrameLength() {
+        int length = WireProtocol.frameLength(in);
+        return in.remaining() >= Math.abs(length) ? length : 0;
+    }
+
+    /**
+     * Counts the complete requests in the input buffer, so the computer's budget can shrink while many are waiting
+     * @return The number of complete requests from the buffer's position on
+     */
+    private int countRequests() {
+        int requests = 0;
+        int index = in.position();
+        int length;
+        while ((length = WireProtocol.frameLength(in, index)) > 0 && in.limit() - index >= length) {
+            index += length;
+            requests++;
+        }
+        return requests;
+    }
+
+    /**
+     * Answers the request at the input buffer's position, which has fully arrived
+     */
+    private void answerRequest() {
+        int opcode = in.get();
+        if (opcode == WireProtocol.OPEN) {
+            openSession();
+            return;
+        }
+        int session = in.getShort() & 0xFFFF;
+        int cell = opcode == WireProtocol.MOVE ? in.get() & 0xFF : WireProtocol.NO_CELL;
+        HostedGame game = session < nextSession ? games[session] : null;
+        if (game == null) {
+            putResult(session, WireProtocol.UNKNOWN_SESSION, WireProtocol.NO_CELL);
+        } else if (opcode == WireProtocol.MOVE) {
+            playMove(session, game, cell);
+        } else if (opcode == WireProtocol.ROUND) {
+            game.startNewRound();
+            putResult(session, WireProtocol.YOUR_MOVE, WireProtocol.NO_CELL);
+        } else {
+            endSession(session);
+            putResult(session, WireProtocol.CLOSED, WireProtocol.NO_CELL);
+        }
+    }
+
+    /**
+     * Starts a session from an OPEN request, reusing the id of an ended session if there is one
+     */
+    private void openSession() {
+        int difficulty = in.get() & 0xFF;
+        int symbol = in.get() & 0xFF;
+        int nameLength = in.get() & 0xFF;
+        in.get(name, 0, nameLength);
+        String username = new String(name, 0, nameLength, StandardCharsets.UTF_8);
+        String difficultyName = WireProtocol.difficultyName(difficulty);
+        if (difficultyName == null || symbol > 1 || !isValidUsername(username)
+                || (freeCount == 0 && nextSession == WireProtocol.MAX_SESSIONS)) {
+            putResult(WireProtocol.NO_SESSION, WireProtocol.BAD_REQUEST, WireProtocol.NO_CELL);
+            return;
+        }
+        int session = freeCount > 0 ? freeSessions[--freeCount] : nextSession++;
+        if (session == games.length) {
+            games = Arrays.copyOf(games, games.length * 2);
+        }
+        games[session] = new HostedGame(username, difficultyName, symbol == 0 ? GameEnum.X : GameEnum.O,
+                server.getLeaderBoardService());
+        server.sessionOpened();
+        putResult(session, WireProtocol.OPENED, WireProtocol.NO_CELL);
+    }
+
+    /**
+     * Checks a username sent with OPEN. Whitespace and control characters are refused, since the game log separates
+     * its fields with tabs and its lines with newlines
+     * @param username The decoded username
+     * @return True if the username is not empty and holds neither
+     */
+    private static boolean isValidUsername(String username) {
+        return !username.isEmpty()
+                && username.codePoints().noneMatch(c -> Character.isWhitespace(c) || Character.isISOControl(c));
+    }
+
+    /**
+     * Places the player's move and lets the computer reply on the event loop's thread, within a budget that shrinks
+     * with the requests still waiting behind this one
+     * @param session The session's id
+     * @param game The session's game
+     * @param cell The cell the player wants
+     */
+    private void playMove(int session, HostedGame game, int cell) {
+        if (!game.playPlayerMove(cell)) {
+            putResult(session, WireProtocol.INVALID_MOVE, WireProtocol.NO_CELL);
+            return;
+        }
+        int reply = WireProtocol.NO_CELL;
+        if (game.isComputerToMove()) {
+            game.setSearchBudget(server.getMoveBudget().forLoad(pendingRequests));
+            reply = game.playComputerMove();
+        }
+        int status = switch (game.getRoundState()) {
+            case WIN -> WireProtocol.WIN;
+            case LOST -> WireProtocol.LOSS;
+            case TIE -> WireProtocol.TIE;
+            default -> WireProtocol.YOUR_MOVE;
+        };
+        putResult(session, status, reply);
+    }
+
+    /**
+     * Records a session and frees its id
+     * @param session The session's id
+     */
+    private void endSession(int session) {
+        HostedGame game = games[session];
+        if (game == null) {
+            return;
+        }
+        games[session] = null;
+        if (freeCount == freeSessions.length) {
+            freeSessions = Arrays.copyOf(freeSessions, freeSessions.length * 2);
+        }
+        freeSessions[freeCount++] = session;
+        server.sessionClosed();
+        game.recordSession();
+    }
+
+    /**
+     * Appends one result to the batch frame being built
+     * @param session The session the result is for
+     * @param status The status of the session
+     * @param cell The computer's reply or NO_CELL
+     */
+    private void putResult(int session, int status, int cell) {
+        out.putShort((short) session).put((byte) status).put((byte) cell);
+    }
+
+    /**
+     * Writes as much of the output buffer as the socket takes, and only reads again once all of it is written
+     * @return True, so callers can chain it
+     * @throws IOException If the connection fails
+     */
+    private boolean flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        out.compact();
+        key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        return true;
+    }
+}
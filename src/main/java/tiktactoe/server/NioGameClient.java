@@ -0,0 +1,162 @@
+package tiktactoe.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import tiktactoe.model.gamedata.GameEnum;
+
+/**
+ * Reference client of the NIO game server. Requests are queued in a buffer and sent together by flush, so many
+ * sessions can be played over one connection with a single round trip per batch. Results are handed to a callback one
+ * at a time straight from the receive buffer, so neither side of a move allocates anything. The client is blocking and
+ * meant for one thread
+ */
+public class NioGameClient implements AutoCloseable {
+    /**
+     * Receives the results of requests, in the order the requests were sent
+     */
+    @FunctionalInterface
+    public interface ResultHandler {
+        /**
+         * Called for each result
+         * @param session The session the result is for, or NO_SESSION
+         * @param status One of the statuses of WireProtocol
+         * @param cell The computer's reply, row * 3 + col, or NO_CELL
+         */
+        void onResult(int session, int status, int cell);
+    }
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(NioConnection.BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(NioConnection.BUFFER_SIZE).flip();
+
+    /**
+     * Connects to a server on the loopback address
+     * @param port The port the server listens on
+     * @throws IOException If the connection fails
+     */
+    public NioGameClient(int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Queues a request to start a session
+     * @param username The player's username
+     * @param difficulty EASY, MEDIUM, HARD, TABLEBASE or MCTS
+     * @param symbol The player's symbol, X or O
+     * @throws IOException If the queue is full and can't be sent
+     * @throws IllegalArgumentException If the username is empty or too long
+     */
+    public void open(String username, int difficulty, GameEnum symbol) throws IOException {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        if (name.length == 0 || name.length > WireProtocol.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Username must be 1 to " + WireProtocol.MAX_NAME_LENGTH + " bytes");
+        }
+        makeRoom(4 + name.length);
+        WireProtocol.putOpen(out, difficulty, symbol, name);
+    }
+
+    /**
+     * Queues a move
+     * @param session The session to play in
+     * @param cell The cell to play, row * 3 + col
+     * @throws IOException If the queue is full and can't be sent
+     */
+    public void move(int session, int cell) throws IOException {
+        makeRoom(4);
+        WireProtocol.putMove(out, session, cell);
+    }
+
+    /**
+     * Queues a request for another round
+     * @param session The session to clear the board of
+     * @throws IOException If the queue is full and can't be sent
+     */
+    public void round(int session) throws IOException {
+        makeRoom(3);
+        WireProtocol.putSessionRequest(out, WireProtocol.ROUND, session);
+    }
+
+    /**
+     * Queues a request to end a session
+     * @param session The session to end
+     * @throws IOException If the queue is full and can't be sent
+     */
+    public void closeSession(int session) throws IOException {
+        makeRoom(3);
+        WireProtocol.putSessionRequest(out, WireProtocol.CLOSE, session);
+    }
+
+    /**
+     * Sends every queued request
+     * @throws IOException If the connection fails
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Waits for the next batch frame and hands each of its results to the handler
+     * @param handler The handler of the results
+     * @return The number of results in the batch
+     * @throws IOException If the connection fails or the server closes it
+     */
+    public int read(ResultHandler handler) throws IOException {
+        fill(WireProtocol.HEADER_SIZE);
+        int count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            fill(WireProtocol.RESULT_SIZE);
+            handler.onResult(in.getShort() & 0xFFFF, in.get() & 0xFF, in.get() & 0xFF);
+        }
+        return count;
+    }
+
+    /**
+     * Disconnects from the server, which ends and records every session of the connection
+     * @throws IOException If the channel can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Sends the queued requests if another frame wouldn't fit
+     * @param frameSize The size of the frame about to be queued
+     * @throws IOException If the connection fails
+     */
+    private void makeRoom(int frameSize) throws IOException {
+        if (out.remaining() < frameSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Reads until the receive buffer holds enough bytes
+     * @param bytes The number of bytes needed
+     * @throws IOException If the connection fails or the server closes it
+     */
+    private void fill(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        in.compact();
+        while (in.position() < bytes) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+        }
+        in.flip();
+    }
+}
@@ -0,0 +1,345 @@
+package tiktactoe.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.model.player.SearchBudget;
+
+/**
+ * Hosts game sessions over the compact binary protocol of WireProtocol. Connections are spread over a few event loops,
+ * each a platform thread with its own selector that reads, plays and answers the requests of all its connections
+ * without blocking. Computer replies are searched right on the event loop, since a loop per core keeps the cores busy
+ * without any hand-off between threads. A client can host many sessions on one connection and pipeline their
+ * requests, which are answered in batches, so the per-move cost is a few bytes rather than a line of text and a
+ * thread. Connections that send nothing for the idle timeout are closed and their sessions recorded
+ */
+public class NioGameServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 7778;
+    private static final int DEFAULT_IDLE_SECONDS = 300;
+    private static final int BACKLOG = 1024;
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+    private static final long MAX_SWEEP_MILLIS = 1000;
+    private static final SearchBudget DEFAULT_MOVE_BUDGET = SearchBudget.ofMillis(50, Long.MAX_VALUE);
+
+    private final int port;
+    private final LeaderBoardService leaderBoardService;
+    private final long idleTimeoutNanos;
+    private final long sweepMillis;
+    private final EventLoop[] loops;
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private volatile boolean running;
+    private volatile MoveBudget moveBudget = new MoveBudget(DEFAULT_MOVE_BUDGET, 1);
+    private ServerSocketChannel serverChannel;
+    private Thread acceptThread;
+
+    /**
+     * Constructor for the server. Nothing is bound until the server is started
+     * @param port The local port to listen on. 0 picks a free port
+     * @param leaderBoardService The service finished rounds and sessions are recorded on
+     * @param idleTimeoutMillis How long a connection may go without sending anything before it is closed
+     * @param eventLoops The number of event loop threads
+     */
+    public NioGameServer(int port, LeaderBoardService leaderBoardService, int idleTimeoutMillis, int eventLoops) {
+        this.port = port;
+        this.leaderBoardService = leaderBoardService;
+        this.idleTimeoutNanos = idleTimeoutMillis * 1_000_000L;
+        this.sweepMillis = Math.max(1, Math.min(MAX_SWEEP_MILLIS, idleTimeoutMillis / 4));
+        this.loops = new EventLoop[eventLoops];
+    }
+
+    /**
+     * Sets how long a computer move may be searched when its event loop isn't busy. The requests a connection has
+     * pipelined are answered one after the other, so they split it between them
+     * @param budget The budget of a move, 50ms by default
+     */
+    public void setMoveBudget(SearchBudget budget) {
+        this.moveBudget = new MoveBudget(budget, 1);
+    }
+
+    /**
+     * Binds the loopback address and starts the event loops and the thread accepting connections
+     * @throws IOException If the port can't be bound or a selector can't be opened
+     */
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        running = true;
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(Selector.open());
+            loops[i].thread = Thread.ofPlatform().name("nio-event-loop-" + i).daemon().start(loops[i]);
+        }
+        acceptThread = Thread.ofPlatform().name("nio-game-server-accept").daemon().start(this::acceptConnections);
+    }
+
+    /**
+     * Obtains the port the server is listening on
+     * @return The bound port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Obtains the number of sessions currently open over all connections
+     * @return The number of open sessions
+     */
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * Obtains the number of clients currently connected
+     * @return The number of open connections
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Waits until the server stops accepting connections
+     * @throws InterruptedException If the caller is interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        acceptThread.join();
+    }
+
+    /**
+     * Stops accepting connections, closes every connection and records their sessions
+     * @throws IOException If the server channel can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        try {
+            // Once the accept thread is done no connection can be handed to a loop that has already stopped
+            acceptThread.join();
+            running = false;
+            for (EventLoop loop : loops) {
+                loop.selector.wakeup();
+            }
+            for (EventLoop loop : loops) {
+                loop.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Obtains the service finished rounds and sessions are recorded on
+     * @return The leaderboard service
+     */
+    LeaderBoardService getLeaderBoardService() {
+        return leaderBoardService;
+    }
+
+    /**
+     * Obtains the policy for the computer players' search budget
+     * @return The move budget
+     */
+    MoveBudget getMoveBudget() {
+        return moveBudget;
+    }
+
+    /**
+     * Counts a session a connection has opened
+     */
+    void sessionOpened() {
+        sessionCount.incrementAndGet();
+    }
+
+    /**
+     * Counts a session a connection has ended
+     */
+    void sessionClosed() {
+        sessionCount.decrementAndGet();
+    }
+
+    /**
+     * Hands the accepted connections to the event loops in turn until the server channel is closed
+     */
+    private void acceptConnections() {
+        int next = 0;
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                EventLoop loop = loops[next];
+                next = (next + 1) % loops.length;
+                loop.accepted.add(channel);
+                loop.selector.wakeup();
+            } catch (ClosedChannelException e) {
+                // The server channel was closed
+                return;
+            } catch (IOException e) {
+                System.out.println("Error accepting connection");
+                System.out.println(e.getMessage());
+                // Usually out of file descriptors, which only a connection closing will fix
+                try {
+                    Thread.sleep(ACCEPT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * One selector and the connections registered with it, served by a single thread
+     */
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+        private final Consumer<SelectionKey> handler = this::handle;
+        private Thread thread;
+
+        /**
+         * Constructor for an event loop
+         * @param selector The selector its connections are registered with
+         */
+        private EventLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * Serves the loop's connections until the server is closed, then closes them all
+         */
+        @Override
+        public void run() {
+            long nextSweep = System.nanoTime() + sweepMillis * 1_000_000L;
+            while (running) {
+                try {
+                    selector.select(handler, sweepMillis);
+                } catch (IOException e) {
+                    System.out.println("Error selecting connections");
+                    System.out.println(e.getMessage());
+                }
+                registerAccepted();
+                long now = System.nanoTime();
+                if (now - nextSweep >= 0) {
+                    closeIdle(now);
+                    nextSweep = now + sweepMillis * 1_000_000L;
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            SocketChannel channel;
+            while ((channel = accepted.poll()) != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Already closed
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+
+        /**
+         * Registers the connections the accept thread has handed over
+         */
+        private void registerAccepted() {
+            SocketChannel channel;
+            while ((channel = accepted.poll()) != null) {
+                try {
+                    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                    key.attach(new NioConnection(NioGameServer.this, channel, key));
+                    connectionCount.incrementAndGet();
+                } catch (IOException e) {
+                    try {
+                        channel.close();
+                    } catch (IOException closeFailed) {
+                        // Already closed
+                    }
+                }
+            }
+        }
+
+        /**
+         * Serves a connection that is ready to read or write
+         * @param key The connection's registration
+         */
+        private void handle(SelectionKey key) {
+            NioConnection connection = (NioConnection) key.attachment();
+            try {
+                boolean open = true;
+                if (key.isReadable()) {
+                    open = connection.onReadable();
+                } else if (key.isWritable()) {
+                    open = connection.onWritable();
+                }
+                if (!open) {
+                    close(key);
+                }
+            } catch (IOException e) {
+                // The client went away
+                close(key);
+            }
+        }
+
+        /**
+         * Closes the connections that have sent nothing for the idle timeout
+         * @param now The current time, in System.nanoTime units
+         */
+        private void closeIdle(long now) {
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid() && now - ((NioConnection) key.attachment()).getLastActive() > idleTimeoutNanos) {
+                    close(key);
+                }
+            }
+        }
+
+        /**
+         * Closes a connection and records its sessions
+         * @param key The connection's registration
+         */
+        private void close(SelectionKey key) {
+            if (key.isValid()) {
+                ((NioConnection) key.attachment()).close();
+                connectionCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped
+     * @param args [port] [idleSeconds] [eventLoops]
+     * @throws IOException If the port can't be bound
+     * @throws InterruptedException If the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int idleSeconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_IDLE_SECONDS;
+        int loops = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        NioGameServer server = new NioGameServer(port, LeaderBoardService.getInstance(), idleSeconds * 1000, loops);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                server.getLeaderBoardService().flush();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }, "nio-game-server-shutdown"));
+        System.out.println("Listening on " + server.getPort());
+        server.join();
+    }
+}
@@ -0,0 +1,142 @@
+package tiktactoe.server;
+
+import java.nio.ByteBuffer;
+
+import tiktactoe.model.gamedata.GameEnum;
+
+/**
+ * The binary protocol spoken by the NIO game server. Numbers are big endian and a connection can host many sessions,
+ * each named by a 16-bit session id the server hands out. The client sends frames that start with an opcode:
+ * <ul>
+ *     <li>OPEN, u8 difficulty, u8 symbol, u8 name length, the UTF-8 username. Starts a session. The username may
+ *     not hold whitespace or control characters</li>
+ *     <li>MOVE, u16 session, u8 cell. Plays the cell, row * 3 + col, and lets the computer reply</li>
+ *     <li>ROUND, u16 session. Clears the board for another round</li>
+ *     <li>CLOSE, u16 session. Ends the session and records it on the leaderboard</li>
+ * </ul>
+ * Every request gets exactly one result, in the order the requests were sent. The server answers whatever it has
+ * read so far in one batch frame: a u16 count followed by that many results of four bytes each, the u16 session, a u8
+ * status and a u8 cell. The cell is the computer's reply to a move, or NO_CELL if it didn't move
+ */
+public final class WireProtocol {
+    public static final int OPEN = 1;
+    public static final int MOVE = 2;
+    public static final int ROUND = 3;
+    public static final int CLOSE = 4;
+
+    public static final int OPENED = 0;
+    public static final int YOUR_MOVE = 1;
+    public static final int WIN = 2;
+    public static final int LOSS = 3;
+    public static final int TIE = 4;
+    public static final int CLOSED = 5;
+    public static final int INVALID_MOVE = 6;
+    public static final int UNKNOWN_SESSION = 7;
+    public static final int BAD_REQUEST = 8;
+
+    public static final int EASY = 0;
+    public static final int MEDIUM = 1;
+    public static final int HARD = 2;
+    public static final int TABLEBASE = 3;
+    public static final int MCTS = 4;
+
+    public static final int NO_CELL = 0xFF;
+    public static final int NO_SESSION = 0xFFFF;
+    public static final int MAX_SESSIONS = NO_SESSION;
+    public static final int MAX_NAME_LENGTH = 0xFF;
+
+    public static final int HEADER_SIZE = 2;
+    public static final int RESULT_SIZE = 4;
+    public static final int MAX_FRAME_SIZE = 4 + MAX_NAME_LENGTH;
+
+    private static final String[] DIFFICULTIES = {"easy", "medium", "hard", "tablebase", "mcts"};
+
+    /**
+     * The protocol is only constants and helpers
+     */
+    private WireProtocol() {
+    }
+
+    /**
+     * Works out how long the request frame at the buffer's position is, without consuming it
+     * @param in A buffer in read mode
+     * @return The length of the frame, 0 if not enough of it has arrived to tell, or -1 if the opcode is unknown
+     */
+    public static int frameLength(ByteBuffer in) {
+        return frameLength(in, in.position());
+    }
+
+    /**
+     * Works out how long the request frame at an index of the buffer is, without consuming it
+     * @param in A buffer in read mode
+     * @param index Where the frame starts, between the buffer's position and limit
+     * @return The length of the frame, 0 if not enough of it has arrived to tell, or -1 if the opcode is unknown
+     */
+    public static int frameLength(ByteBuffer in, int index) {
+        if (index >= in.limit()) {
+            return 0;
+        }
+        return switch (in.get(index)) {
+            case OPEN -> in.limit() - index < 4 ? 0 : 4 + (in.get(index + 3) & 0xFF);
+            case MOVE -> 4;
+            case ROUND, CLOSE -> 3;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Writes an OPEN frame
+     * @param out The buffer to write to
+     * @param difficulty EASY, MEDIUM, HARD, TABLEBASE or MCTS
+     * @param symbol The player's symbol, X or O
+     * @param name The player's username in UTF-8, at most MAX_NAME_LENGTH bytes
+     */
+    public static void putOpen(ByteBuffer out, int difficulty, GameEnum symbol, byte[] name) {
+        out.put((byte) OPEN).put((byte) difficulty).put((byte) (symbol == GameEnum.O ? 1 : 0))
+                .put((byte) name.length).put(name);
+    }
+
+    /**
+     * Writes a MOVE frame
+     * @param out The buffer to write to
+     * @param session The session to play in
+     * @param cell The cell to play, row * 3 + col
+     */
+    public static void putMove(ByteBuffer out, int session, int cell) {
+        out.put((byte) MOVE).putShort((short) session).put((byte) cell);
+    }
+
+    /**
+     * Writes a ROUND or CLOSE frame
+     * @param out The buffer to write to
+     * @param opcode ROUND or CLOSE
+     * @param session The session the request is for
+     */
+    public static void putSessionRequest(ByteBuffer out, int opcode, int session) {
+        out.put((byte) opcode).putShort((short) session);
+    }
+
+    /**
+     * Obtains the name of a difficulty, as the computer player factories know it
+     * @param difficulty EASY, MEDIUM, HARD, TABLEBASE or MCTS
+     * @return The difficulty's name, or null if it is unknown
+     */
+    public static String difficultyName(int difficulty) {
+        return difficulty >= 0 && difficulty < DIFFICULTIES.length ? DIFFICULTIES[difficulty] : null;
+    }
+
+    /**
+     * Obtains the code of a difficulty from its name
+     * @param name easy, medium, hard, tablebase or mcts
+     * @return The difficulty's code
+     * @throws IllegalArgumentException If the difficulty is unknown
+     */
+    public static int difficultyCode(String name) {
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            if (DIFFICULTIES[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown computer player: " + name);
+    }
+}
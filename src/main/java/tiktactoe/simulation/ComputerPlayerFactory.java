@@ -0,0 +1,23 @@
+package tiktactoe.simulation;
+
+import java.util.random.RandomGenerator;
+
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.player.ComputerPlayer;
+
+/**
+ * Creates the computer players for a simulation worker
+ */
+@FunctionalInterface
+public interface ComputerPlayerFactory {
+
+    /**
+     * Creates a computer player
+     * @param username The computer player's name
+     * @param symbol The computer player's symbol
+     * @param random The random source owned by the worker that will use this player. Null to use ThreadLocalRandom of
+     *               whichever thread asks for a move, for players that move on different threads
+     * @return A new computer player
+     */
+    ComputerPlayer create(String username, GameEnum symbol, RandomGenerator random);
+}
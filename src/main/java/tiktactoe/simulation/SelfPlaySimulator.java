@@ -0,0 +1,169 @@
+package tiktactoe.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import tiktactoe.controller.GameEngine;
+import tiktactoe.controller.GameListener;
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.GameState;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.ComputerPlayer;
+import tiktactoe.model.player.EasyComputer;
+import tiktactoe.model.player.HardComputer;
+import tiktactoe.model.player.MctsComputer;
+import tiktactoe.model.player.MediumComputer;
+import tiktactoe.model.player.PlayerType;
+import tiktactoe.model.player.TablebaseComputer;
+
+/**
+ * Command-line simulator that plays computer players against each other across a fork-join pool. Every worker builds
+ * its own players, board and engine, and tallies into its own SimulationResult, so workers never share state. Each task
+ * splits its own SplittableRandom before forking, so a seeded run plays the same games on any number of threads.
+ */
+public class SelfPlaySimulator {
+    private static final int GAMES_PER_TASK = 4096;
+
+    private final ComputerPlayerFactory playerOneFactory;
+    private final ComputerPlayerFactory playerTwoFactory;
+
+    /**
+     * Constructor for SelfPlaySimulator. Player one plays X and always moves first
+     * @param playerOneFactory Creates player one from a username and a symbol
+     * @param playerTwoFactory Creates player two from a username and a symbol
+     */
+    public SelfPlaySimulator(ComputerPlayerFactory playerOneFactory,
+            ComputerPlayerFactory playerTwoFactory) {
+        this.playerOneFactory = playerOneFactory;
+        this.playerTwoFactory = playerTwoFactory;
+    }
+
+    /**
+     * Plays a number of games on a pool and merges the results of every worker
+     * @param games The number of games to play
+     * @param pool The pool that runs the workers
+     * @param seed The seed of the run. Runs with the same seed play the same games
+     * @return The tallies of all the games
+     */
+    public SimulationResult run(long games, ForkJoinPool pool, long seed) {
+        return pool.invoke(new SimulationTask(0, games, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Plays games on the calling thread with a fresh pair of players
+     * @param games The number of games to play
+     * @param random The random source of this worker. Each player gets its own split of it
+     * @return The tallies of those games
+     */
+    public SimulationResult playGames(long games, SplittableRandom random) {
+        ComputerPlayer playerOne = playerOneFactory.create("PlayerOne", GameEnum.X, random.split());
+        ComputerPlayer playerTwo = playerTwoFactory.create("PlayerTwo", GameEnum.O, random.split());
+        GameState gameState = new GameState(playerOne, playerTwo, new Board());
+        GameEngine engine = new GameEngine(gameState);
+        SimulationResult result = new SimulationResult();
+        engine.addListener(new GameListener() {
+            @Override
+            public void onMovePlayed(PlayerType player, Move move) {
+                result.addMove(player == playerOne ? 0 : 1, move.getRow() * 3 + move.getCol());
+            }
+
+            @Override
+            public void onWin(PlayerType winner) {
+                result.addGame(winner == playerOne ? 1 : 2, gameState.getBoard().getMoveHistory().size());
+            }
+
+            @Override
+            public void onTie() {
+                result.addGame(0, gameState.getBoard().getMoveHistory().size());
+            }
+        });
+        for (long i = 0; i < games; i++) {
+            engine.startNewRound();
+            engine.playRound();
+        }
+        return result;
+    }
+
+    /**
+     * Splits a range of games in half until it is small enough to play on one worker
+     */
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long start;
+        private final long end;
+        private final transient SplittableRandom random;
+
+        /**
+         * Constructor for SimulationTask
+         * @param start The first game of the range
+         * @param end One past the last game of the range
+         * @param random The random source owned by this task
+         */
+        SimulationTask(long start, long end, SplittableRandom random) {
+            this.start = start;
+            this.end = end;
+            this.random = random;
+        }
+
+        /**
+         * Plays the range directly or forks the two halves and merges their results
+         * @return The tallies of the range
+         */
+        @Override
+        protected SimulationResult compute() {
+            if (end - start <= GAMES_PER_TASK) {
+                return playGames(end - start, random);
+            }
+            long middle = (start + end) >>> 1;
+            SimulationTask left = new SimulationTask(start, middle, random.split());
+            left.fork();
+            SimulationResult right = new SimulationTask(middle, end, random).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Creates a factory for one of the computer difficulties
+     * @param type easy, medium, hard, tablebase or mcts
+     * @return A factory that creates that computer player
+     */
+    public static ComputerPlayerFactory factoryFor(String type) {
+        return switch (type.toLowerCase()) {
+        case "easy" -> EasyComputer::new;
+        case "medium" -> MediumComputer::new;
+        case "hard" -> (username, symbol, random) -> new HardComputer(username, symbol);
+        case "tablebase" -> (username, symbol, random) -> new TablebaseComputer(username, symbol);
+        case "mcts" -> MctsComputer::new;
+        default -> throw new IllegalArgumentException("Unknown computer player: " + type);
+        };
+    }
+
+    /**
+     * Runs a simulation from the command line
+     * @param args playerOne playerTwo games [threads] [seed]. Players are easy, medium, hard, tablebase or mcts
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: SelfPlaySimulator <playerOne> <playerTwo> <games> [threads] [seed]");
+            System.out.println("Players: easy, medium, hard, tablebase, mcts");
+            return;
+        }
+        SelfPlaySimulator simulator = new SelfPlaySimulator(factoryFor(args[0]), factoryFor(args[1]));
+        long games = Long.parseLong(args[2]);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long startTime = System.nanoTime();
+        SimulationResult result = simulator.run(games, pool, seed);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        pool.shutdown();
+
+        System.out.print(result);
+        System.out.printf("Played %d games on %d threads in %.2fs (%.0f games/s), seed %d%n",
+                result.getGames(), threads, seconds, result.getGames() / seconds, seed);
+    }
+}
@@ -0,0 +1,155 @@
+package tiktactoe.simulation;
+
+/**
+ * The tallies of a batch of simulated games. Each worker fills in its own result and results are merged when workers
+ * finish, so no counter is ever shared between threads.
+ */
+public class SimulationResult {
+    private long playerOneWins;
+    private long playerTwoWins;
+    private long ties;
+    private long[][] cellCounts;
+    private long[] gameLengths;
+
+    /**
+     * Constructor for SimulationResult. Initializes every tally to 0
+     */
+    public SimulationResult() {
+        this.cellCounts = new long[2][9];
+        this.gameLengths = new long[10];
+    }
+
+    /**
+     * Records a finished game
+     * @param winner 1 if player one won, 2 if player two won, 0 for a tie
+     * @param moves The number of moves played in the game
+     */
+    public void addGame(int winner, int moves) {
+        if (winner == 1) {
+            playerOneWins++;
+        } else if (winner == 2) {
+            playerTwoWins++;
+        } else {
+            ties++;
+        }
+        gameLengths[moves]++;
+    }
+
+    /**
+     * Records a single move
+     * @param player 0 for player one, 1 for player two
+     * @param cell The cell index of the move (row * 3 + col)
+     */
+    public void addMove(int player, int cell) {
+        cellCounts[player][cell]++;
+    }
+
+    /**
+     * Adds the tallies of another result to this one
+     * @param other The result to merge in
+     * @return This result
+     */
+    public SimulationResult merge(SimulationResult other) {
+        playerOneWins += other.playerOneWins;
+        playerTwoWins += other.playerTwoWins;
+        ties += other.ties;
+        for (int player = 0; player < 2; player++) {
+            for (int cell = 0; cell < 9; cell++) {
+                cellCounts[player][cell] += other.cellCounts[player][cell];
+            }
+        }
+        for (int moves = 0; moves < gameLengths.length; moves++) {
+            gameLengths[moves] += other.gameLengths[moves];
+        }
+        return this;
+    }
+
+    /**
+     * Obtains the number of games player one won
+     * @return Player one's wins
+     */
+    public long getPlayerOneWins() {
+        return playerOneWins;
+    }
+
+    /**
+     * Obtains the number of games player two won
+     * @return Player two's wins
+     */
+    public long getPlayerTwoWins() {
+        return playerTwoWins;
+    }
+
+    /**
+     * Obtains the number of tied games
+     * @return The ties
+     */
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Obtains the total number of games
+     * @return Wins of both players plus ties
+     */
+    public long getGames() {
+        return playerOneWins + playerTwoWins + ties;
+    }
+
+    /**
+     * Obtains how often a player placed a move on a cell
+     * @param player 0 for player one, 1 for player two
+     * @param cell The cell index (row * 3 + col)
+     * @return The number of moves on that cell
+     */
+    public long getCellCount(int player, int cell) {
+        return cellCounts[player][cell];
+    }
+
+    /**
+     * Obtains how many games lasted a given number of moves
+     * @param moves The number of moves (0-9)
+     * @return The number of games of that length
+     */
+    public long getGameLengthCount(int moves) {
+        return gameLengths[moves];
+    }
+
+    /**
+     * Builds a printable summary of the tallies
+     * @return The summary with percentages and the move distribution of both players as 3x3 grids
+     */
+    @Override
+    public String toString() {
+        long games = Math.max(1, getGames());
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Games: %d%n", getGames()));
+        builder.append(String.format("Player one wins: %d (%.2f%%)%n", playerOneWins, 100.0 * playerOneWins / games));
+        builder.append(String.format("Player two wins: %d (%.2f%%)%n", playerTwoWins, 100.0 * playerTwoWins / games));
+        builder.append(String.format("Ties: %d (%.2f%%)%n", ties, 100.0 * ties / games));
+        for (int player = 0; player < 2; player++) {
+            long total = Math.max(1, sum(cellCounts[player]));
+            builder.append(String.format("Player %s move distribution:%n", player == 0 ? "one" : "two"));
+            for (int cell = 0; cell < 9; cell++) {
+                builder.append(String.format("%7.2f%%", 100.0 * cellCounts[player][cell] / total));
+                if (cell % 3 == 2) {
+                    builder.append(System.lineSeparator());
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Adds up an array of tallies
+     * @param counts The tallies
+     * @return Their sum
+     */
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
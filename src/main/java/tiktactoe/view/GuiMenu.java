@@ -15,9 +15,10 @@ import javax.swing.JPanel;
 import tiktactoe.model.gamedata.Board;
 import tiktactoe.model.gamedata.GameEnum;
 import tiktactoe.model.gamedata.GameState;
-import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardService;
 import tiktactoe.model.gamedata.PlayerRecord;
 import tiktactoe.model.player.EasyComputer;
+import tiktactoe.model.player.HardComputer;
 import tiktactoe.model.player.HumanPlayer;
 import tiktactoe.model.player.MediumComputer;
 import tiktactoe.model.player.PlayerType;
@@ -165,7 +166,7 @@ public class GuiMenu extends JFrame {
         System.out.println("Computer game");
         PlayerType playerTwo = null;
 
-        String[] difficulty = {"Medium", "Easy"};
+        String[] difficulty = {"Medium", "Easy", "Hard"};
         int difficultyChoice = JOptionPane.showOptionDialog(
                 null,
                 "Please select a computer difficulty",
@@ -179,6 +180,9 @@ public class GuiMenu extends JFrame {
         if (difficultyChoice == 1) {
             System.out.println("Easy");
             playerTwo = new EasyComputer("EasyAi", opponentSymbol);
+        } else if (difficultyChoice == 2) {
+            System.out.println("Hard");
+            playerTwo = new HardComputer("HardAi", opponentSymbol);
         } else {
             System.out.println("Medium");
             playerTwo = new MediumComputer("MediumAi", opponentSymbol);
@@ -226,16 +230,14 @@ public class GuiMenu extends JFrame {
     }
 
     /**
-     * Helper method for displayLeaderBoard that obtains the necessary information from the json file and stores the
-     * info as a string.
-     * @return A string representation of the top five players in terms of wins.
+     * Helper method for displayLeaderBoard that obtains the necessary information from the leaderboard service and
+     * stores the info as a string.
+     * @return A string representation of the top five players in terms of rating.
      */
     public String getInfoFromLeaderBoard() {
-        LeaderBoard leaderBoard = new LeaderBoard();
-        leaderBoard.initializeLeaderBoard();
         String data = "<html><div>";
         int count = 1;
-        Map<String, PlayerRecord> topFive = leaderBoard.getTopFiveLeaderBoard();
+        Map<String, PlayerRecord> topFive = LeaderBoardService.getInstance().getTopFive();
         System.out.println(topFive.size());
         for (Map.Entry<String, PlayerRecord> entry : topFive.entrySet()) {
             System.out.println(entry.getKey() + ": " + entry.getValue().getWins());
@@ -243,9 +245,10 @@ public class GuiMenu extends JFrame {
             int win = entry.getValue().getWins();
             int loss = entry.getValue().getLosses();
             int tie = entry.getValue().getTies();
+            long rating = Math.round(entry.getValue().getRating());
             data += "<div>"
                 + count
-                + ". " + username
+                + ". " + username + " (" + rating + ")"
                 + "<br>" + "Wins: " + win + " Losses: " + loss + " Ties: " + tie + "<br>" + "<br>"
                 + "</div>";
             count++;
@@ -5,6 +5,8 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.GridLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -13,15 +15,17 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
+import tiktactoe.controller.GameListener;
 import tiktactoe.controller.GuiController;
 import tiktactoe.model.gamedata.GameEnum;
 import tiktactoe.model.gamedata.GameState;
+import tiktactoe.model.gamedata.Move;
 import tiktactoe.model.player.PlayerType;
 
 /**
  * Class that displays the gui application for the tic-tac-toe game
  */
-public class TicTacToeGui extends JFrame {
+public class TicTacToeGui extends JFrame implements GameListener {
     private GameState gameState;
     private GuiController guiController;
     private JButton[][] buttons;
@@ -54,6 +58,12 @@ public class TicTacToeGui extends JFrame {
         setSize(600, 600);
         setResizable(false);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                guiController.shutdown();
+            }
+        });
         setLocationRelativeTo(null);
         add(window);
         setVisible(true);
@@ -94,6 +104,33 @@ public class TicTacToeGui extends JFrame {
         buttons[row][col].setText(symbol.toString());
     }
 
+    /**
+     * Shows a move placed by the game engine on the grid
+     * @param player The player who made the move
+     * @param move The move that was placed
+     */
+    @Override
+    public void onMovePlayed(PlayerType player, Move move) {
+        updateSlot(move.getRow(), move.getCol(), player.getSymbol());
+    }
+
+    /**
+     * Shows the winner popup when the game engine reports a win
+     * @param winner The player who won
+     */
+    @Override
+    public void onWin(PlayerType winner) {
+        displayWinner();
+    }
+
+    /**
+     * Shows the tie popup when the game engine reports a tie
+     */
+    @Override
+    public void onTie() {
+        displayTie();
+    }
+
     /**
      * Displays a popup that tells the user that a player has won and asks to play again to continue the game session
      */
@@ -109,7 +146,6 @@ public class TicTacToeGui extends JFrame {
             gameState.setPlayerScoreBoard(gameState.getPlayerOne(), gameState.getPlayerTwo());
             resetTicTacToeBoard();
             updatePlayerInfo();
-            this.gameState.setCurrentPlayer(this.gameState.getPlayerOne());
         } else {
             guiController.exitGameSession();
         }
@@ -130,7 +166,6 @@ public class TicTacToeGui extends JFrame {
             gameState.setPlayerScoreBoard(gameState.getPlayerOne(), gameState.getPlayerTwo());
             resetTicTacToeBoard();
             updatePlayerInfo();
-            this.gameState.setCurrentPlayer(this.gameState.getPlayerOne());
         } else {
             guiController.exitGameSession();
         }
@@ -146,8 +181,7 @@ public class TicTacToeGui extends JFrame {
                 buttons[i][j].setBackground(Color.WHITE);
             }
         }
-        this.gameState.getBoard().resetBoard();
-        this.gameState.setCurrentPlayer(this.gameState.getCurrentPlayer());
+        guiController.startNewRound();
     }
 
     /**
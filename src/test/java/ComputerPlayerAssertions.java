@@ -0,0 +1,57 @@
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.ComputerPlayer;
+
+/**
+ * Assertions shared by the tests of the computer players
+ */
+final class ComputerPlayerAssertions {
+
+    private ComputerPlayerAssertions() {
+    }
+
+    /**
+     * Plays out every line of the game where the computer answers each opponent move
+     * @param board The current board
+     * @param computer The computer player under test
+     * @param toMove The symbol of the player about to move
+     */
+    static void assertNeverLoses(Board board, ComputerPlayer computer, GameEnum toMove) {
+        GameEnum opponent = computer.getSymbol() == GameEnum.X ? GameEnum.O : GameEnum.X;
+        assertFalse(board.checkWin(opponent));
+        if (board.checkWin(computer.getSymbol()) || board.getEmptyPositions() == 0) {
+            return;
+        }
+        if (toMove == computer.getSymbol()) {
+            Board copy = copyOf(board);
+            copy.makeMove(computer.getMove(board));
+            assertNeverLoses(copy, computer, opponent);
+        } else {
+            List<Move> replies = board.getValidMoves(opponent);
+            for (Move reply : replies) {
+                Board copy = copyOf(board);
+                copy.makeMove(reply);
+                assertNeverLoses(copy, computer, computer.getSymbol());
+            }
+        }
+    }
+
+    /**
+     * Replays the move history of a board onto a new board
+     * @param board The board to copy
+     * @return A new board with the same moves played
+     */
+    private static Board copyOf(Board board) {
+        Board copy = new Board();
+        copy.initializeBoard();
+        for (Move move : board.getMoveHistory()) {
+            copy.makeMove(move);
+        }
+        return copy;
+    }
+}
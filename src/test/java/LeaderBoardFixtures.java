@@ -0,0 +1,31 @@
+import java.util.HashMap;
+import java.util.Map;
+
+import tiktactoe.model.gamedata.PlayerRecord;
+
+/**
+ * Builds the leaderboard data shared by the leaderboard tests
+ */
+final class LeaderBoardFixtures {
+
+    private LeaderBoardFixtures() {
+    }
+
+    /**
+     * Builds the records of a game session with a single player
+     * @param username The player's username
+     * @param wins The wins in the session
+     * @param losses The losses in the session
+     * @param ties The ties in the session
+     * @return The records of the session
+     */
+    static Map<String, PlayerRecord> session(String username, int wins, int losses, int ties) {
+        PlayerRecord record = new PlayerRecord();
+        record.initializeWins(wins);
+        record.initializeLoss(losses);
+        record.initializeTie(ties);
+        Map<String, PlayerRecord> gameRecords = new HashMap<>();
+        gameRecords.put(username, record);
+        return gameRecords;
+    }
+}
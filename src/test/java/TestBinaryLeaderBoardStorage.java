@@ -0,0 +1,212 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tiktactoe.model.gamedata.BinaryLeaderBoardStorage;
+import tiktactoe.model.gamedata.JsonLeaderBoardStorage;
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardConverter;
+import tiktactoe.model.gamedata.PlayerRecord;
+
+/**
+ * Tests the binary leaderboard storage and the converter against files in a temporary directory
+ */
+public class TestBinaryLeaderBoardStorage {
+    @TempDir
+    Path directory;
+    private Path recordFile;
+    private Path nameFile;
+
+    /**
+     * Picks the files of an empty binary leaderboard
+     */
+    @BeforeEach
+    public void setUp() {
+        recordFile = directory.resolve("leaderboard.bin");
+        nameFile = directory.resolve("leaderboard.names");
+    }
+
+    /**
+     * Tests that sessions are added to the stored totals in place, so the record file keeps its size
+     * @throws IOException If the files can't be read or written
+     */
+    @Test
+    public void testAppendUpdatesInPlace() throws IOException {
+        BinaryLeaderBoardStorage storage = storage();
+        storage.append(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        long size = Files.size(recordFile);
+        storage.append(LeaderBoardFixtures.session("Coco", 2, 1, 1));
+
+        PlayerRecord coco = storage.read("Coco");
+        assertEquals(3, coco.getWins());
+        assertEquals(1, coco.getLosses());
+        assertEquals(1, coco.getTies());
+        assertFalse(coco.hasRating());
+        assertNull(storage.read("Aqua"));
+        assertEquals(size, Files.size(recordFile));
+    }
+
+    /**
+     * Tests that players added by one storage are seen by another one that opened the files earlier
+     * @throws IOException If the files can't be read or written
+     */
+    @Test
+    public void testPlayersAddedElsewhereAreSeen() throws IOException {
+        BinaryLeaderBoardStorage first = storage();
+        BinaryLeaderBoardStorage second = storage();
+        first.append(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        assertEquals(1, second.read("Coco").getWins());
+
+        for (int i = 0; i < 3000; i++) {
+            second.append(LeaderBoardFixtures.session("Player" + i, i, 0, 0));
+        }
+        first.append(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        assertEquals(2999, first.read("Player2999").getWins());
+        assertEquals(2, second.read("Coco").getWins());
+        assertEquals(3001, storage().load().size());
+    }
+
+    /**
+     * Tests that ratings are stored and that a leaderboard over the binary storage ranks its players the same way
+     * after reading them back
+     * @throws IOException If the files can't be read or written
+     */
+    @Test
+    public void testLeaderBoardRoundTrip() throws IOException {
+        LeaderBoard leaderBoard = new LeaderBoard(storage());
+        leaderBoard.initializeLeaderBoard();
+        leaderBoard.recordSession(LeaderBoardFixtures.session("Aqua", 1, 0, 0));
+        leaderBoard.recordSession(LeaderBoardFixtures.session("Bob", 0, 1, 0));
+        leaderBoard.recordGame("Aqua", "Bob", 1);
+        leaderBoard.recordSession(ratings(leaderBoard, "Aqua", "Bob"));
+
+        LeaderBoard reloaded = new LeaderBoard(storage());
+        reloaded.initializeLeaderBoard();
+        assertEquals(List.of("Aqua", "Bob"), List.copyOf(reloaded.getRankRange(1, 10).keySet()));
+        assertEquals(leaderBoard.getRecord("Aqua").getRating(), reloaded.getRecord("Aqua").getRating());
+        assertEquals(leaderBoard.getRecord("Bob").getDeviation(), reloaded.getRecord("Bob").getDeviation());
+        assertEquals(1, reloaded.getRecord("Bob").getLosses());
+    }
+
+    /**
+     * Tests that replacing every record drops players that aren't in the new records and that a storage holding the
+     * old file mapped reads the new one
+     * @throws IOException If the files can't be read or written
+     */
+    @Test
+    public void testReplaceAll() throws IOException {
+        BinaryLeaderBoardStorage other = storage();
+        other.append(LeaderBoardFixtures.session("Coco", 5, 0, 0));
+        other.append(LeaderBoardFixtures.session("Aqua", 1, 0, 0));
+
+        Map<String, PlayerRecord> replacement = LeaderBoardFixtures.session("Coco", 7, 0, 0);
+        replacement.putAll(LeaderBoardFixtures.session("Bob", 0, 2, 0));
+        storage().replaceAll(replacement);
+
+        assertEquals(7, other.read("Coco").getWins());
+        assertEquals(2, other.read("Bob").getLosses());
+        assertNull(other.read("Aqua"));
+        other.append(LeaderBoardFixtures.session("Aqua", 1, 0, 0));
+        assertEquals(3, storage().load().size());
+    }
+
+    /**
+     * Tests that a file that isn't a binary leaderboard is rejected rather than read as records
+     * @throws IOException If the file can't be written
+     */
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Files.writeString(recordFile, "[{\"wins\":3,\"loss\":1,\"tie\":2,\"username\":\"Coco\"}]");
+        boolean rejected = false;
+        try {
+            storage().load();
+        } catch (IOException e) {
+            rejected = true;
+        }
+        assertTrue(rejected);
+    }
+
+    /**
+     * Tests that converting a json leaderboard to binary and back keeps every record, journaled sessions included
+     * @throws IOException If the files can't be read or written
+     */
+    @Test
+    public void testConvertBothWays() throws IOException {
+        Path snapshotFile = directory.resolve("leaderboard.json");
+        Path journalFile = directory.resolve("leaderboard.journal");
+        Files.writeString(snapshotFile, "[{\"wins\":3,\"loss\":1,\"tie\":2,\"username\":\"Coco\"}]");
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Aqua", 0, 4, 0));
+
+        assertEquals(2, LeaderBoardConverter.convert(new JsonLeaderBoardStorage(snapshotFile, journalFile),
+                storage()));
+        assertEquals(3, storage().read("Coco").getWins());
+        assertEquals(4, storage().read("Aqua").getLosses());
+
+        storage().append(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        Path otherSnapshot = directory.resolve("other.json");
+        Path otherJournal = directory.resolve("other.journal");
+        LeaderBoardConverter.convert(storage(), new JsonLeaderBoardStorage(otherSnapshot, otherJournal));
+        Map<String, PlayerRecord> converted = new JsonLeaderBoardStorage(otherSnapshot, otherJournal).load();
+        assertEquals(4, converted.get("Coco").getWins());
+        assertEquals(2, converted.get("Coco").getTies());
+        assertEquals(4, converted.get("Aqua").getLosses());
+    }
+
+    /**
+     * Tests that a json leaderboard that can't be read, or has no players, never replaces the binary one
+     * @throws IOException If the files can't be read or written
+     */
+    @Test
+    public void testConvertRefusesUnreadableSource() throws IOException {
+        storage().append(LeaderBoardFixtures.session("Coco", 3, 0, 0));
+        Path snapshotFile = directory.resolve("leaderboard.json");
+        Path journalFile = directory.resolve("leaderboard.journal");
+        assertThrows(IOException.class, () -> LeaderBoardConverter.convert(
+                new JsonLeaderBoardStorage(snapshotFile, journalFile), storage()));
+
+        Files.writeString(snapshotFile, "[{\"wins\":3,");
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Aqua", 0, 4, 0));
+        assertThrows(IOException.class, () -> LeaderBoardConverter.convert(
+                new JsonLeaderBoardStorage(snapshotFile, journalFile), storage()));
+        assertEquals(3, storage().read("Coco").getWins());
+        assertNull(storage().read("Aqua"));
+    }
+
+    /**
+     * Opens the binary leaderboard in the temporary directory
+     * @return A new storage over the temporary files
+     */
+    private BinaryLeaderBoardStorage storage() {
+        return new BinaryLeaderBoardStorage(recordFile, nameFile);
+    }
+
+    /**
+     * Builds the ratings of some players as session records
+     * @param leaderBoard The leaderboard holding the ratings
+     * @param usernames The players
+     * @return Records that only carry the players' ratings
+     */
+    private Map<String, PlayerRecord> ratings(LeaderBoard leaderBoard, String... usernames) {
+        Map<String, PlayerRecord> gameRecords = new HashMap<>();
+        for (String username : usernames) {
+            PlayerRecord rating = new PlayerRecord();
+            rating.initializeRating(leaderBoard.getRecord(username).getRating(),
+                    leaderBoard.getRecord(username).getDeviation());
+            gameRecords.put(username, rating);
+        }
+        return gameRecords;
+    }
+}
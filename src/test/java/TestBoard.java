@@ -1,6 +1,7 @@
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -10,6 +11,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.CanonicalPosition;
 import tiktactoe.model.gamedata.GameEnum;
 import tiktactoe.model.gamedata.Move;
 import tiktactoe.model.player.HumanPlayer;
@@ -348,4 +350,228 @@ public class TestBoard {
         board.resetBoard();
         assertEquals(0, board.getMoveHistory().size());
     }
+
+    /**
+     * Tests the checkWin method against every one of the eight winning lines for both symbols
+     */
+    @Test
+    public void testCheckWinEveryLine() {
+        int[][][] lines = {
+                {{0, 0}, {1, 0}, {2, 0}}, {{0, 1}, {1, 1}, {2, 1}}, {{0, 2}, {1, 2}, {2, 2}},
+                {{0, 0}, {0, 1}, {0, 2}}, {{1, 0}, {1, 1}, {1, 2}}, {{2, 0}, {2, 1}, {2, 2}},
+                {{0, 0}, {1, 1}, {2, 2}}, {{0, 2}, {1, 1}, {2, 0}}
+        };
+        for (int[][] line : lines) {
+            Board board = new Board();
+            board.initializeBoard();
+            for (int[] cell : line) {
+                board.makeMove(new Move(cell[0], cell[1], GameEnum.O));
+            }
+            assertTrue(board.checkWin(GameEnum.O));
+            assertFalse(board.checkWin(GameEnum.X));
+        }
+    }
+
+    /**
+     * Tests that overwriting a slot moves the cell from one player's positions to the other
+     */
+    @Test
+    public void testGetPositionsOverwrite() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(1, 1, GameEnum.X));
+        assertEquals(Board.toBit(1, 1), board.getPositions(GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        assertEquals(0, board.getPositions(GameEnum.X));
+        assertEquals(Board.toBit(1, 1), board.getPositions(GameEnum.O));
+        assertEquals(Board.FULL_BOARD & ~Board.toBit(1, 1), board.getEmptyPositions());
+    }
+
+    /**
+     * Tests that a board that was never initialized has no empty slots and no winner
+     */
+    @Test
+    public void testPositionsUninitialized() {
+        Board board = new Board();
+        assertEquals(0, board.getEmptyPositions());
+        assertFalse(board.isValidMove(new Move(0, 0, GameEnum.X)));
+        assertFalse(board.checkWin(GameEnum.X));
+    }
+
+    /**
+     * Tests that every rotation and reflection of a position shares the same canonical key
+     */
+    @Test
+    public void testGetCanonicalPositionSymmetric() {
+        Board corner = new Board();
+        corner.initializeBoard();
+        corner.makeMove(new Move(0, 0, GameEnum.X));
+        corner.makeMove(new Move(0, 1, GameEnum.O));
+        Board rotated = new Board();
+        rotated.initializeBoard();
+        rotated.makeMove(new Move(0, 2, GameEnum.X));
+        rotated.makeMove(new Move(1, 2, GameEnum.O));
+        Board reflected = new Board();
+        reflected.initializeBoard();
+        reflected.makeMove(new Move(2, 0, GameEnum.X));
+        reflected.makeMove(new Move(2, 1, GameEnum.O));
+
+        int key = corner.getCanonicalPosition(GameEnum.X).getKey();
+        assertEquals(key, rotated.getCanonicalPosition(GameEnum.X).getKey());
+        assertEquals(key, reflected.getCanonicalPosition(GameEnum.X).getKey());
+    }
+
+    /**
+     * Tests that valid moves mapped to the canonical board and back end up on the original cell
+     */
+    @Test
+    public void testCanonicalPositionMoveRoundTrip() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(2, 2, GameEnum.X));
+        board.makeMove(new Move(1, 2, GameEnum.O));
+        CanonicalPosition canonical = board.getCanonicalPosition(GameEnum.X);
+        for (Move move : board.getValidMoves(GameEnum.X)) {
+            Move canonicalMove = canonical.toCanonical(move);
+            int bit = Board.toBit(canonicalMove.getRow(), canonicalMove.getCol());
+            assertEquals(0, (canonical.getFirst() | canonical.getSecond()) & bit);
+            Move original = canonical.toOriginal(canonicalMove);
+            assertEquals(move.getRow(), original.getRow());
+            assertEquals(move.getCol(), original.getCol());
+        }
+    }
+
+    /**
+     * Tests that the same position reached through different move orders has the same Zobrist hash
+     */
+    @Test
+    public void testZobristHashTransposition() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(2, 2, GameEnum.X));
+        Board other = new Board();
+        other.initializeBoard();
+        other.makeMove(new Move(2, 2, GameEnum.X));
+        other.makeMove(new Move(1, 1, GameEnum.O));
+        other.makeMove(new Move(0, 0, GameEnum.X));
+        assertEquals(board.getZobristHash(), other.getZobristHash());
+        assertNotEquals(0L, board.getZobristHash());
+    }
+
+    /**
+     * Tests that undoing a move restores the slot, the move history and the Zobrist hash
+     */
+    @Test
+    public void testUndoLastMove() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        long hash = board.getZobristHash();
+        board.makeMove(new Move(1, 2, GameEnum.O));
+        assertTrue(board.undoLastMove());
+        assertEquals(hash, board.getZobristHash());
+        assertEquals(1, board.getMoveHistory().size());
+        assertEquals(' ', board.getBoard()[1][2]);
+        assertTrue(board.isValidMove(new Move(1, 2, GameEnum.O)));
+        assertTrue(board.undoLastMove());
+        assertEquals(0L, board.getZobristHash());
+        assertFalse(board.undoLastMove());
+    }
+
+    /**
+     * Tests that resetting the board resets the Zobrist hash
+     */
+    @Test
+    public void testResetBoardZobristHash() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.resetBoard();
+        assertEquals(0L, board.getZobristHash());
+    }
+
+    /**
+     * Tests that fillValidMoves writes the empty cells into the buffer in row-major order
+     */
+    @Test
+    public void testFillValidMoves() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.O));
+        board.makeMove(new Move(1, 1, GameEnum.X));
+        board.makeMove(new Move(2, 1, GameEnum.O));
+        int[] cells = new int[9];
+        assertEquals(6, board.fillValidMoves(cells));
+        assertArrayEquals(new int[] {1, 2, 3, 5, 6, 8}, Arrays.copyOf(cells, 6));
+    }
+
+    /**
+     * Tests that the line table reports owner counts and the empty slot of a line
+     */
+    @Test
+    public void testLineSummary() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(2, 0, GameEnum.O));
+        // Line 0 is the first column
+        assertEquals(1, board.countInLine(0, GameEnum.X));
+        assertEquals(1, board.countInLine(0, GameEnum.O));
+        assertEquals(3, board.getEmptyCellInLine(0));
+        board.makeMove(new Move(1, 0, GameEnum.X));
+        assertEquals(-1, board.getEmptyCellInLine(0));
+    }
+
+    /**
+     * Tests that findCompletingCell finds the empty slot of a line with two of the player's symbols
+     */
+    @Test
+    public void testFindCompletingCell() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 2, GameEnum.X));
+        board.makeMove(new Move(2, 0, GameEnum.X));
+        board.makeMove(new Move(0, 0, GameEnum.O));
+        assertEquals(4, Board.findCompletingCell(board.getPositions(GameEnum.X), board.getEmptyPositions()));
+        assertEquals(-1, Board.findCompletingCell(board.getPositions(GameEnum.O), board.getEmptyPositions()));
+    }
+
+    /**
+     * Tests that a copy has the same position and that moves on it leave the original alone
+     */
+    @Test
+    public void testCopy() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(1, 1, GameEnum.X));
+        board.makeMove(new Move(0, 2, GameEnum.O));
+        Board copy = board.copy();
+        assertEquals(board.getZobristHash(), copy.getZobristHash());
+        assertEquals(board.getEmptyPositions(), copy.getEmptyPositions());
+        assertArrayEquals(board.getBoard(), copy.getBoard());
+
+        copy.makeMove(new Move(2, 2, GameEnum.X));
+        copy.undoLastMove();
+        copy.undoLastMove();
+        assertEquals(2, board.getMoveHistory().size());
+        assertEquals('O', board.getBoard()[0][2]);
+        assertFalse(board.isValidMove(new Move(0, 2, GameEnum.X)));
+    }
+
+    /**
+     * Tests that the winning lines are the three rows, three columns and two diagonals, each a winning position
+     */
+    @Test
+    public void testGetWinningLine() {
+        int covered = 0;
+        for (int line = 0; line < Board.WINNING_LINE_COUNT; line++) {
+            assertEquals(3, Integer.bitCount(Board.getWinningLine(line)));
+            assertTrue(Board.isWinningPosition(Board.getWinningLine(line)));
+            covered |= Board.getWinningLine(line);
+        }
+        assertEquals(8, Board.WINNING_LINE_COUNT);
+        assertEquals(Board.FULL_BOARD, covered);
+    }
 }
@@ -0,0 +1,196 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.controller.ComputerMoveSearch;
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.ComputerPlayer;
+import tiktactoe.model.player.HardComputer;
+
+/**
+ * Tests searching computer moves in the background, with a single thread standing in for the event dispatch thread
+ */
+public class TestComputerMoveSearch {
+    private ExecutorService publisher;
+    private Board board;
+
+    /**
+     * Starts the publishing thread and sets up a board where O has to block the top row
+     */
+    @BeforeEach
+    public void setUp() {
+        publisher = Executors.newSingleThreadExecutor();
+        board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+    }
+
+    /**
+     * Stops the publishing thread
+     */
+    @AfterEach
+    public void tearDown() {
+        publisher.shutdownNow();
+    }
+
+    /**
+     * Tests that the searched move is published on the publishing thread and that the board isn't touched
+     * @throws Exception If the test is interrupted
+     */
+    @Test
+    public void testPublishesSearchedMove() throws Exception {
+        AtomicReference<Move> published = new AtomicReference<>();
+        AtomicReference<Thread> publishedOn = new AtomicReference<>();
+        Thread publishingThread = publisher.submit(Thread::currentThread).get();
+        CountDownLatch done = new CountDownLatch(1);
+        try (ComputerMoveSearch search = new ComputerMoveSearch(5000, publisher)) {
+            search.search(new HardComputer("HardAi", GameEnum.O), board, move -> {
+                published.set(move);
+                publishedOn.set(Thread.currentThread());
+                done.countDown();
+            });
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Move.of(0, 2, GameEnum.O), published.get());
+        assertEquals(publishingThread, publishedOn.get());
+        assertEquals(3, board.getMoveHistory().size());
+    }
+
+    /**
+     * Tests that a search running over its budget is interrupted and a blocking move is played instead
+     * @throws Exception If the test is interrupted
+     */
+    @Test
+    public void testTimeoutPlaysFallback() throws Exception {
+        SlowComputer slow = new SlowComputer();
+        AtomicReference<Move> published = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        try (ComputerMoveSearch search = new ComputerMoveSearch(50, publisher)) {
+            search.search(slow, board, move -> {
+                published.set(move);
+                done.countDown();
+            });
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Move.of(0, 2, GameEnum.O), published.get());
+    }
+
+    /**
+     * Tests that a cancelled search is interrupted and never publishes its move
+     * @throws Exception If the test is interrupted
+     */
+    @Test
+    public void testCancelDropsMove() throws Exception {
+        SlowComputer slow = new SlowComputer();
+        AtomicReference<Move> published = new AtomicReference<>();
+        try (ComputerMoveSearch search = new ComputerMoveSearch(100, publisher)) {
+            search.search(slow, board, published::set);
+            slow.started.await(5, TimeUnit.SECONDS);
+            search.cancel();
+            assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            publisher.submit(() -> { }).get();
+        }
+        assertNull(published.get());
+    }
+
+    /**
+     * Tests that a search given up on but ignoring its interrupt keeps the next search from using the same player
+     * until it stops
+     * @throws Exception If the test is interrupted
+     */
+    @Test
+    public void testAbandonedSearchFinishesFirst() throws Exception {
+        StubbornComputer stubborn = new StubbornComputer();
+        try (ComputerMoveSearch search = new ComputerMoveSearch(100, publisher)) {
+            for (int i = 0; i < 2; i++) {
+                CountDownLatch done = new CountDownLatch(1);
+                search.search(stubborn, board, move -> done.countDown());
+                assertTrue(done.await(5, TimeUnit.SECONDS));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (stubborn.active.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        assertEquals(1, stubborn.mostActive.get());
+    }
+
+    /**
+     * A computer player that thinks until it is interrupted
+     */
+    private static final class SlowComputer extends ComputerPlayer {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        /**
+         * Constructor for the slow computer, playing O
+         */
+        private SlowComputer() {
+            super("SlowAi", GameEnum.O);
+        }
+
+        /**
+         * Waits for an interrupt and gives up
+         * @param board The board of the tic-tac-toe game in data representation
+         * @return Null, since it never finds a move
+         */
+        @Override
+        public Move getMove(Board board) {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A computer player that ignores interrupts and counts how many of its searches run at once
+     */
+    private static final class StubbornComputer extends ComputerPlayer {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger mostActive = new AtomicInteger();
+
+        /**
+         * Constructor for the stubborn computer, playing O
+         */
+        private StubbornComputer() {
+            super("StubbornAi", GameEnum.O);
+        }
+
+        /**
+         * Keeps thinking well past the budget whether interrupted or not
+         * @param board The board of the tic-tac-toe game in data representation
+         * @return The blocking move
+         */
+        @Override
+        public Move getMove(Board board) {
+            mostActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(250);
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            active.decrementAndGet();
+            return Move.of(0, 2, GameEnum.O);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.Test;
 
@@ -113,4 +115,20 @@ public class TestEasyComputer {
         assertEquals(0, easyAi.getRecord().getLosses());
         assertEquals(0, easyAi.getRecord().getTies());
     }
+
+    /**
+     * Tests that two easy computers with equally seeded random sources pick the same moves
+     */
+    @Test
+    public void testGetMoveSeeded() {
+        EasyComputer first = new EasyComputer("EasyAi", GameEnum.X, new SplittableRandom(7L));
+        EasyComputer second = new EasyComputer("EasyAi", GameEnum.X, new SplittableRandom(7L));
+        Board board = new Board();
+        board.initializeBoard();
+        for (int i = 0; i < 5; i++) {
+            Move move = first.getMove(board);
+            assertSame(move, second.getMove(board));
+            board.makeMove(move);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.controller.GameEngine;
+import tiktactoe.controller.GameListener;
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.GameState;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.HardComputer;
+import tiktactoe.model.player.HumanPlayer;
+import tiktactoe.model.player.PlayerType;
+
+/**
+ * Tests the headless game engine
+ */
+public class TestGameEngine {
+
+    /**
+     * Listener that writes every event it receives into a list
+     */
+    private static class RecordingListener implements GameListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onMovePlayed(PlayerType player, Move move) {
+            events.add(player.getUsername() + " " + move.getRow() + "," + move.getCol());
+        }
+
+        @Override
+        public void onWin(PlayerType winner) {
+            events.add("win " + winner.getUsername());
+        }
+
+        @Override
+        public void onTie() {
+            events.add("tie");
+        }
+    }
+
+    /**
+     * Creates an engine for a game between two humans where player one moves first
+     * @return The engine
+     */
+    private GameEngine createHumanGame() {
+        HumanPlayer playerOne = new HumanPlayer("TikTacMaster", GameEnum.X);
+        HumanPlayer playerTwo = new HumanPlayer("TikTacker", GameEnum.O);
+        GameState gameState = new GameState(playerOne, playerTwo, new Board());
+        gameState.setCurrentPlayer(playerOne);
+        return new GameEngine(gameState);
+    }
+
+    /**
+     * Tests that a winning move updates both records and notifies the listener
+     */
+    @Test
+    public void testPlayMoveWin() {
+        GameEngine engine = createHumanGame();
+        RecordingListener listener = new RecordingListener();
+        engine.addListener(listener);
+        engine.playMove(new Move(0, 0, GameEnum.X));
+        engine.playMove(new Move(1, 0, GameEnum.O));
+        engine.playMove(new Move(0, 1, GameEnum.X));
+        engine.playMove(new Move(1, 1, GameEnum.O));
+        engine.playMove(new Move(0, 2, GameEnum.X));
+
+        GameState gameState = engine.getGameState();
+        assertTrue(engine.isRoundOver());
+        assertEquals(1, gameState.getPlayerOne().getRecord().getWins());
+        assertEquals(1, gameState.getPlayerTwo().getRecord().getLosses());
+        assertEquals("win TikTacMaster", listener.events.get(listener.events.size() - 1));
+        assertSame(gameState.getPlayerOne(), gameState.getCurrentPlayer());
+    }
+
+    /**
+     * Tests that moves on a taken slot or after the round is over are rejected
+     */
+    @Test
+    public void testPlayMoveRejected() {
+        GameEngine engine = createHumanGame();
+        assertTrue(engine.playMove(new Move(1, 1, GameEnum.X)));
+        assertFalse(engine.playMove(new Move(1, 1, GameEnum.O)));
+        assertSame(engine.getGameState().getPlayerTwo(), engine.getGameState().getCurrentPlayer());
+    }
+
+    /**
+     * Tests that two perfect computer players draw a headless round and the engine can start another one
+     */
+    @Test
+    public void testPlayRoundComputers() {
+        HardComputer playerOne = new HardComputer("HardX", GameEnum.X);
+        HardComputer playerTwo = new HardComputer("HardO", GameEnum.O);
+        GameState gameState = new GameState(playerOne, playerTwo, new Board());
+        GameEngine engine = new GameEngine(gameState);
+        RecordingListener listener = new RecordingListener();
+        engine.addListener(listener);
+
+        engine.startNewRound();
+        engine.playRound();
+        assertTrue(engine.isRoundOver());
+        assertEquals("tie", listener.events.get(listener.events.size() - 1));
+        assertEquals(1, playerOne.getRecord().getTies());
+        assertEquals(1, playerTwo.getRecord().getTies());
+
+        engine.startNewRound();
+        assertFalse(engine.isRoundOver());
+        assertEquals(0, gameState.getBoard().getMoveHistory().size());
+    }
+}
@@ -0,0 +1,200 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.server.GameServer;
+
+/**
+ * Tests the game server with socket clients on the loopback address
+ */
+public class TestGameServer {
+    @TempDir
+    Path directory;
+    private LeaderBoardService service;
+    private GameServer server;
+
+    /**
+     * Starts a server backed by a leaderboard in a temporary directory
+     * @throws IOException If the port can't be bound
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        service = new LeaderBoardService(new LeaderBoard(directory.resolve("leaderboard.json"),
+                directory.resolve("leaderboard.journal")), directory.resolve("games.log"), 60000);
+        server = new GameServer(0, service, 500, 2);
+        server.start();
+    }
+
+    /**
+     * Stops the server
+     * @throws IOException If the server socket can't be closed
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Tests that a player's move is answered with the computer's reply and that bad commands are answered with errors
+     * @throws IOException If the connection fails
+     */
+    @Test
+    public void testPlayMove() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            assertTrue(client.send("MOVE 0 0").startsWith("ERROR"));
+            assertEquals("BOARD --------- YOUR_MOVE", client.send("NEW Aqua hard"));
+            String board = client.send("MOVE 1 1");
+            assertTrue(board.matches("BOARD [-O]{4}X[-O]{4} YOUR_MOVE"), board);
+            assertEquals(1, board.substring(6, 15).chars().filter(cell -> cell == 'O').count());
+            assertTrue(client.send("MOVE 1 1").startsWith("ERROR"));
+            assertTrue(client.send("MOVE 3 0").startsWith("ERROR"));
+            assertTrue(client.send("FLY").startsWith("ERROR"));
+            assertEquals("BYE", client.send("QUIT"));
+        }
+    }
+
+    /**
+     * Tests that a finished round is rated and the session's record is written to the leaderboard when the client
+     * disconnects
+     * @throws Exception If the connection fails or the test is interrupted
+     */
+    @Test
+    public void testSessionRecordedOnDisconnect() throws Exception {
+        try (Client client = new Client(server.getPort())) {
+            client.send("NEW Coco hard");
+            playRound(client);
+        }
+        waitForSessions(0);
+        assertEquals(1, service.getRankRange(1, 10).get("Coco").getWins()
+                + service.getRankRange(1, 10).get("Coco").getLosses()
+                + service.getRankRange(1, 10).get("Coco").getTies());
+        assertTrue(service.getRank("HardAi") > 0);
+    }
+
+    /**
+     * Tests that a client that stops sending is disconnected once the idle timeout passes
+     * @throws Exception If the connection fails or the test is interrupted
+     */
+    @Test
+    public void testIdleSessionReclaimed() throws Exception {
+        try (Client client = new Client(server.getPort())) {
+            client.send("NEW Bob easy");
+            assertEquals(1, server.getSessionCount());
+            waitForSessions(0);
+            assertNull(client.in.readLine());
+        }
+    }
+
+    /**
+     * Tests that many clients can play at the same time, each in their own session
+     * @throws Exception If a connection fails or the test is interrupted
+     */
+    @Test
+    public void testManyConcurrentSessions() throws Exception {
+        int clients = 200;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                String username = "Player" + i;
+                results.add(executor.submit(() -> {
+                    try (Client client = new Client(server.getPort())) {
+                        client.send("NEW " + username + " medium");
+                        return playRound(client);
+                    }
+                }));
+            }
+            for (Future<String> result : results) {
+                assertTrue(result.get().matches("BOARD [XO-]{9} (WIN \\w+|TIE)"), result.get());
+            }
+        }
+        assertEquals(clients, server.getSessionsStarted());
+    }
+
+    /**
+     * Plays the first empty cell until the round is over
+     * @param client A client with a session started
+     * @return The last board
+     * @throws IOException If the connection fails
+     */
+    private String playRound(Client client) throws IOException {
+        String board = client.send("BOARD");
+        while (board.endsWith("YOUR_MOVE")) {
+            int cell = board.indexOf('-', "BOARD ".length()) - "BOARD ".length();
+            board = client.send("MOVE " + cell / 3 + " " + cell % 3);
+        }
+        return board;
+    }
+
+    /**
+     * Waits for the number of open sessions to drop
+     * @param sessions The number of sessions to wait for
+     * @throws InterruptedException If the test is interrupted while waiting
+     */
+    private void waitForSessions(int sessions) throws InterruptedException {
+        for (int i = 0; i < 500 && server.getSessionCount() != sessions; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(sessions, server.getSessionCount());
+    }
+
+    /**
+     * A line-based client of the game server
+     */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        /**
+         * Connects to the server
+         * @param port The port the server listens on
+         * @throws IOException If the connection fails
+         */
+        private Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Sends a command and waits for the answer
+         * @param command The command to send
+         * @return The answer
+         * @throws IOException If the connection fails
+         */
+        private String send(String command) throws IOException {
+            out.println(command);
+            return in.readLine();
+        }
+
+        /**
+         * Disconnects from the server
+         * @throws IOException If the socket can't be closed
+         */
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.PlayerRecord;
+import tiktactoe.model.rating.Glicko;
+import tiktactoe.model.rating.RatingPeriod;
+
+/**
+ * Tests the Glicko formulas and the rating period class
+ */
+public class TestGlicko {
+
+    /**
+     * Tests the worked example from Glickman's description of the Glicko system
+     */
+    @Test
+    public void testRatingPeriodExample() {
+        RatingPeriod period = new RatingPeriod(1500, 200);
+        period.addGame(1400, 30, 1);
+        period.addGame(1550, 100, 0);
+        period.addGame(1700, 300, 0);
+        assertEquals(1464, period.getNewRating(), 1);
+        assertEquals(151.4, period.getNewDeviation(), 0.5);
+    }
+
+    /**
+     * Tests that a period without games leaves the rating alone
+     */
+    @Test
+    public void testRatingPeriodWithoutGames() {
+        RatingPeriod period = new RatingPeriod(1620, 80);
+        assertEquals(1620, period.getNewRating());
+        assertEquals(80, period.getNewDeviation());
+    }
+
+    /**
+     * Tests that beating a much weaker player gains far less than beating an equal one
+     */
+    @Test
+    public void testRateGameFavorite() {
+        PlayerRecord favorite = new PlayerRecord();
+        favorite.initializeRating(1800, 60);
+        PlayerRecord underdog = new PlayerRecord();
+        underdog.initializeRating(1200, 60);
+        Glicko.rateGame(favorite, underdog, 1);
+
+        PlayerRecord one = new PlayerRecord();
+        one.initializeRating(1500, 60);
+        PlayerRecord two = new PlayerRecord();
+        two.initializeRating(1500, 60);
+        Glicko.rateGame(one, two, 1);
+
+        assertTrue(favorite.getRating() - 1800 < (one.getRating() - 1500) / 5);
+        assertEquals(1500 - two.getRating(), one.getRating() - 1500, 1e-9);
+        assertTrue(one.getDeviation() < 60);
+    }
+
+    /**
+     * Tests that idle periods grow the deviation but never past that of a new player
+     */
+    @Test
+    public void testDecay() {
+        assertEquals(50, Glicko.decay(50, 0, Glicko.DEFAULT_PERIOD_DECAY));
+        assertEquals(Math.sqrt(50 * 50 + 4 * Glicko.DEFAULT_PERIOD_DECAY * Glicko.DEFAULT_PERIOD_DECAY),
+                Glicko.decay(50, 4, Glicko.DEFAULT_PERIOD_DECAY), 1e-9);
+        assertEquals(Glicko.INITIAL_DEVIATION, Glicko.decay(50, 1000, Glicko.DEFAULT_PERIOD_DECAY));
+    }
+}
@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.HardComputer;
+
+/**
+ * Tests the methods of the hard computer class
+ */
+public class TestHardComputer {
+
+    /**
+     * Tests that the hard computer takes a win when one is available
+     */
+    @Test
+    public void testGetMoveTakesWin() {
+        Board board = new Board();
+        board.initializeBoard();
+        HardComputer hardAi = new HardComputer("HardAi", GameEnum.X);
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 0, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        Move move = hardAi.getMove(board);
+        assertEquals(0, move.getRow());
+        assertEquals(2, move.getCol());
+        assertEquals('X', move.getPlayerSymbolAsChar());
+    }
+
+    /**
+     * Tests that the hard computer blocks the opponent when it cannot win right away
+     */
+    @Test
+    public void testGetMoveBlocks() {
+        Board board = new Board();
+        board.initializeBoard();
+        HardComputer hardAi = new HardComputer("HardAi", GameEnum.O);
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        Move move = hardAi.getMove(board);
+        assertEquals(0, move.getRow());
+        assertEquals(2, move.getCol());
+    }
+
+    /**
+     * Tests that no move is returned on a full board
+     */
+    @Test
+    public void testGetMoveFullBoard() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.O));
+        board.makeMove(new Move(0, 2, GameEnum.X));
+        board.makeMove(new Move(1, 0 , GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.X));
+        board.makeMove(new Move(1, 2, GameEnum.O));
+        board.makeMove(new Move(2, 0, GameEnum.O));
+        board.makeMove(new Move(2, 1, GameEnum.X));
+        board.makeMove(new Move(2, 2, GameEnum.O));
+        HardComputer hardAi = new HardComputer("HardAi", GameEnum.X);
+        assertNull(hardAi.getMove(board));
+    }
+
+    /**
+     * Tests that the node and table hit statistics describe the last search
+     */
+    @Test
+    public void testSearchStatistics() {
+        Board board = new Board();
+        board.initializeBoard();
+        HardComputer hardAi = new HardComputer("HardAi", GameEnum.X);
+        hardAi.getMove(board);
+        assertTrue(hardAi.getNodeCount() > 0);
+        assertTrue(hardAi.getTableHits() <= hardAi.getNodeCount());
+
+        hardAi.getMove(board);
+        assertTrue(hardAi.getTableHits() > 0);
+    }
+
+    /**
+     * Tests that the hard computer never loses by playing it against every possible sequence of opponent moves
+     */
+    @Test
+    public void testNeverLoses() {
+        for (GameEnum hardSymbol : new GameEnum[] {GameEnum.X, GameEnum.O}) {
+            HardComputer hardAi = new HardComputer("HardAi", hardSymbol);
+            Board board = new Board();
+            board.initializeBoard();
+            ComputerPlayerAssertions.assertNeverLoses(board, hardAi, GameEnum.X);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.PlayerRecord;
+
+/**
+ * Tests the methods of the leaderboard class against files in a temporary directory
+ */
+public class TestLeaderBoard {
+    @TempDir
+    Path directory;
+    private Path snapshotFile;
+    private Path journalFile;
+
+    /**
+     * Creates a snapshot holding one player in the original list format and no journal
+     * @throws IOException If the snapshot can't be written
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        snapshotFile = directory.resolve("leaderboard.json");
+        journalFile = directory.resolve("leaderboard.journal");
+        Files.writeString(snapshotFile, "[{\"wins\":3,\"loss\":1,\"tie\":2,\"username\":\"Coco\"}]");
+    }
+
+    /**
+     * Tests that a recorded session is added on top of the snapshot when the leaderboard is read again
+     */
+    @Test
+    public void testRecordSession() {
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Aqua", 0, 2, 1));
+
+        Map<String, PlayerRecord> records = load().getTopFiveLeaderBoard();
+        assertEquals(4, records.get("Coco").getWins());
+        assertEquals(1, records.get("Coco").getLosses());
+        assertEquals(2, records.get("Aqua").getLosses());
+        assertEquals(1, records.get("Aqua").getTies());
+    }
+
+    /**
+     * Tests that compaction folds the journal into the snapshot and leaves a single checkpoint behind
+     * @throws IOException If the journal can't be read
+     */
+    @Test
+    public void testCompact() throws IOException {
+        LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+        leaderBoard.recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        leaderBoard.recordSession(LeaderBoardFixtures.session("Coco", 0, 0, 1));
+        leaderBoard.compact();
+
+        List<String> lines = Files.readAllLines(journalFile);
+        assertEquals(List.of("{\"seq\":2}"), lines);
+        assertEquals(4, load().getTopFiveLeaderBoard().get("Coco").getWins());
+
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        assertEquals(5, load().getTopFiveLeaderBoard().get("Coco").getWins());
+        assertEquals(3, load().getTopFiveLeaderBoard().get("Coco").getTies());
+    }
+
+    /**
+     * Tests that sessions already included in the snapshot are not counted again if the journal was never truncated
+     */
+    @Test
+    public void testReplaySkipsSessionsInSnapshot() {
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        load().updateJsonFile();
+
+        assertEquals(4, load().getTopFiveLeaderBoard().get("Coco").getWins());
+    }
+
+    /**
+     * Tests that a line torn by a crash is skipped and later sessions still start on a line of their own
+     * @throws IOException If the journal can't be written
+     */
+    @Test
+    public void testTornLineIsSkipped() throws IOException {
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        Files.write(journalFile, "{\"seq\":2,\"userna".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        new LeaderBoard(snapshotFile, journalFile).recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+
+        assertEquals(5, load().getTopFiveLeaderBoard().get("Coco").getWins());
+    }
+
+    /**
+     * Tests that resetting a session record doesn't change the leaderboard it was added to
+     */
+    @Test
+    public void testUpdateLeaderBoardCopiesNewRecords() {
+        LeaderBoard leaderBoard = load();
+        Map<String, PlayerRecord> gameRecords = LeaderBoardFixtures.session("Aqua", 2, 0, 0);
+        leaderBoard.updateLeaderBoard(gameRecords);
+        gameRecords.get("Aqua").reset();
+        assertEquals(2, leaderBoard.getTopFiveLeaderBoard().get("Aqua").getWins());
+    }
+
+    /**
+     * Tests that sessions ended by many threads at once are all kept and never share a sequence number
+     * @throws InterruptedException If the test is interrupted while waiting for the threads
+     * @throws IOException If the journal can't be read
+     */
+    @Test
+    public void testConcurrentRecordSession() throws InterruptedException, IOException {
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int session = 0; session < 25; session++) {
+                    new LeaderBoard(snapshotFile, journalFile)
+                            .recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(203, load().getTopFiveLeaderBoard().get("Coco").getWins());
+        assertEquals(200, Files.readAllLines(journalFile).stream().distinct().count());
+    }
+
+    /**
+     * Tests that a snapshot that can't be read is never replaced by a leaderboard that is missing its players
+     * @throws IOException If the snapshot can't be written
+     */
+    @Test
+    public void testUnreadableSnapshotIsKept() throws IOException {
+        Files.writeString(snapshotFile, "[{\"wins\":3,");
+        LeaderBoard leaderBoard = load();
+        leaderBoard.updateJsonFile();
+        leaderBoard.compact();
+        assertEquals("[{\"wins\":3,", Files.readString(snapshotFile));
+    }
+
+    /**
+     * Tests that ranks and pages follow the ratings as games are rated, whatever the number of wins
+     */
+    @Test
+    public void testGetRank() {
+        LeaderBoard leaderBoard = load();
+        leaderBoard.updateLeaderBoard(LeaderBoardFixtures.session("Aqua", 2, 0, 0));
+        leaderBoard.updateLeaderBoard(LeaderBoardFixtures.session("Bob", 5, 0, 0));
+        assertEquals(List.of("Aqua", "Bob", "Coco"), List.copyOf(leaderBoard.getTopFiveLeaderBoard().keySet()));
+        assertEquals(-1, leaderBoard.getRank("Nobody"));
+
+        leaderBoard.recordGame("Coco", "Aqua", 1);
+        assertEquals(1, leaderBoard.getRank("Coco"));
+        assertEquals(3, leaderBoard.getRank("Aqua"));
+        leaderBoard.recordGame("Aqua", "Bob", 0.5);
+        assertEquals(List.of("Bob", "Aqua"), List.copyOf(leaderBoard.getRankRange(2, 10).keySet()));
+    }
+
+    /**
+     * Tests that sessions and rated games from many threads at once are all applied while other threads read pages,
+     * and that the ranking ends up ordered by the final ratings
+     * @throws InterruptedException If the test is interrupted while waiting for the threads
+     */
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        LeaderBoard leaderBoard = load();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            int thread = i;
+            threads[i] = new Thread(() -> {
+                for (int game = 0; game < 500; game++) {
+                    String player = "Player" + (game % 20);
+                    leaderBoard.updateLeaderBoard(LeaderBoardFixtures.session(player, 1, 0, 0));
+                    leaderBoard.recordGame(player, "Player" + ((game + thread + 1) % 20), game % 3 / 2.0);
+                    assertTrue(leaderBoard.getRankRange(1, 30).size() <= 21);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<String> ranked = List.copyOf(leaderBoard.getRankRange(1, 30).keySet());
+        assertEquals(21, ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            assertEquals(i + 1, leaderBoard.getRank(ranked.get(i)));
+            if (i > 0) {
+                assertTrue(leaderBoard.getRecord(ranked.get(i - 1)).getRating()
+                        >= leaderBoard.getRecord(ranked.get(i)).getRating());
+            }
+        }
+        assertEquals(200, leaderBoard.getRecord("Player7").getWins());
+    }
+
+    /**
+     * Tests that ratings survive compaction and that the latest rating in the journal wins
+     */
+    @Test
+    public void testRatingsPersist() {
+        PlayerRecord rating = new PlayerRecord();
+        rating.initializeRating(1600, 200);
+        Map<String, PlayerRecord> first = new HashMap<>();
+        first.put("Coco", rating);
+        LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+        leaderBoard.recordSession(first);
+        leaderBoard.compact();
+        leaderBoard.recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+
+        PlayerRecord record = load().getRecord("Coco");
+        assertEquals(1600, record.getRating());
+        assertEquals(200, record.getDeviation());
+        assertEquals(4, record.getWins());
+    }
+
+    /**
+     * Tests that a snapshot written with its player count reads back every player, and that unknown fields are skipped
+     * @throws IOException If the snapshot can't be written
+     */
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        LeaderBoard leaderBoard = load();
+        for (int i = 0; i < 10000; i++) {
+            leaderBoard.updateLeaderBoard(LeaderBoardFixtures.session("Player" + i, i % 7, i % 5, i % 3));
+        }
+        leaderBoard.recordGame("Player1", "Player2", 1);
+        leaderBoard.updateJsonFile();
+        assertTrue(Files.readString(snapshotFile).startsWith("{\"sequence\":0,\"count\":10001,\"players\":["));
+
+        LeaderBoard reloaded = load();
+        assertEquals(List.copyOf(leaderBoard.getRankRange(1, 10001).keySet()),
+                List.copyOf(reloaded.getRankRange(1, 10001).keySet()));
+        assertEquals(leaderBoard.getRecord("Player1").getRating(), reloaded.getRecord("Player1").getRating());
+        assertEquals(6, reloaded.getRecord("Player6").getWins());
+        assertEquals(3, reloaded.getRecord("Coco").getWins());
+
+        Files.writeString(snapshotFile, "{\"format\":{\"version\":[2]},\"players\":[{\"username\":\"Aqua\","
+                + "\"wins\":1,\"loss\":2,\"tie\":3,\"note\":{\"a\":1}}],\"sequence\":0}");
+        PlayerRecord aqua = load().getRecord("Aqua");
+        assertEquals(2, aqua.getLosses());
+        assertFalse(aqua.hasRating());
+    }
+
+    /**
+     * Reads the leaderboard stored in the temporary files
+     * @return The initialized leaderboard
+     */
+    private LeaderBoard load() {
+        LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+        leaderBoard.initializeLeaderBoard();
+        return leaderBoard;
+    }
+}
@@ -0,0 +1,160 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.model.gamedata.PlayerRecord;
+
+/**
+ * Tests the methods of the leaderboard service class against files in a temporary directory
+ */
+public class TestLeaderBoardService {
+    @TempDir
+    Path directory;
+    private Path snapshotFile;
+    private Path journalFile;
+    private Path gameLog;
+
+    /**
+     * Creates a snapshot holding one player and no journal
+     * @throws IOException If the snapshot can't be written
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        snapshotFile = directory.resolve("leaderboard.json");
+        journalFile = directory.resolve("leaderboard.journal");
+        gameLog = directory.resolve("games.log");
+        Files.writeString(snapshotFile, "[{\"wins\":3,\"loss\":1,\"tie\":2,\"username\":\"Coco\"}]");
+    }
+
+    /**
+     * Tests that a recorded session is served from memory before it is written
+     */
+    @Test
+    public void testRecordSessionServedFromMemory() {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(snapshotFile, journalFile), gameLog,
+                60000);
+        service.recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        service.recordSession(LeaderBoardFixtures.session("Aqua", 0, 1, 0));
+
+        Map<String, PlayerRecord> topFive = service.getTopFive();
+        assertEquals(List.of("Aqua", "Coco"), List.copyOf(topFive.keySet()));
+        assertEquals(4, topFive.get("Coco").getWins());
+        assertFalse(Files.exists(journalFile));
+    }
+
+    /**
+     * Tests that sessions queued before a flush are merged into one journal line per player
+     * @throws IOException If the journal can't be read
+     */
+    @Test
+    public void testFlushMergesSessions() throws IOException {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(snapshotFile, journalFile), gameLog,
+                60000);
+        service.recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        service.recordSession(LeaderBoardFixtures.session("Coco", 0, 1, 0));
+        service.flush();
+
+        assertEquals(1, Files.readAllLines(journalFile).size());
+        LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+        leaderBoard.initializeLeaderBoard();
+        assertEquals(4, leaderBoard.getTopFiveLeaderBoard().get("Coco").getWins());
+        assertEquals(2, leaderBoard.getTopFiveLeaderBoard().get("Coco").getLosses());
+    }
+
+    /**
+     * Tests that the records handed out can't change the records held by the service
+     */
+    @Test
+    public void testGetTopFiveReturnsCopies() {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(snapshotFile, journalFile), gameLog,
+                60000);
+        service.getTopFive().get("Coco").reset();
+        assertEquals(3, service.getTopFive().get("Coco").getWins());
+    }
+
+    /**
+     * Tests that sessions ended by many threads at once are all applied in memory and all written by one flush
+     * @throws InterruptedException If the test is interrupted while waiting for the threads
+     */
+    @Test
+    public void testConcurrentRecordSession() throws InterruptedException {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(snapshotFile, journalFile), gameLog,
+                60000);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int session = 0; session < 100; session++) {
+                    service.recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+                    service.recordGame("Coco", "Aqua", 1);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(803, service.getTopFive().get("Coco").getWins());
+        double rating = service.getTopFive().get("Coco").getRating();
+        service.flush();
+
+        LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+        leaderBoard.initializeLeaderBoard();
+        assertEquals(803, leaderBoard.getRecord("Coco").getWins());
+        assertEquals(rating, leaderBoard.getRecord("Coco").getRating());
+    }
+
+    /**
+     * Tests that the background writer flushes on its own once the delay has passed
+     * @throws InterruptedException If the test is interrupted while waiting for the writer
+     */
+    @Test
+    public void testWriteBehind() throws InterruptedException {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(snapshotFile, journalFile), gameLog,
+                10);
+        service.recordSession(LeaderBoardFixtures.session("Coco", 1, 0, 0));
+        int wins = 0;
+        for (int i = 0; i < 500 && wins != 4; i++) {
+            Thread.sleep(10);
+            LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+            leaderBoard.initializeLeaderBoard();
+            wins = leaderBoard.getTopFiveLeaderBoard().get("Coco").getWins();
+        }
+        assertEquals(4, wins);
+    }
+
+    /**
+     * Tests that a rated game reorders the players right away and that its ratings and result are written on flush
+     * @throws IOException If the game log can't be read
+     */
+    @Test
+    public void testRecordGame() throws IOException {
+        LeaderBoardService service = new LeaderBoardService(new LeaderBoard(snapshotFile, journalFile), gameLog,
+                60000);
+        service.recordGame("Aqua", "Coco", 1);
+        assertEquals(1, service.getRank("Aqua"));
+        assertEquals(2, service.getRank("Coco"));
+        double rating = service.getTopFive().get("Aqua").getRating();
+        service.flush();
+
+        LeaderBoard leaderBoard = new LeaderBoard(snapshotFile, journalFile);
+        leaderBoard.initializeLeaderBoard();
+        assertEquals(rating, leaderBoard.getRecord("Aqua").getRating());
+        assertEquals(3, leaderBoard.getRecord("Coco").getWins());
+        assertEquals(1, leaderBoard.getRank("Aqua"));
+        List<String> lines = Files.readAllLines(gameLog);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("\tAqua\tCoco\t1.0"));
+    }
+}
@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.MctsComputer;
+import tiktactoe.model.player.SearchBudget;
+import tiktactoe.model.player.SearchStatistics;
+
+/**
+ * Tests the Monte Carlo tree search computer player
+ */
+public class TestMctsComputer {
+
+    /**
+     * Tests that the Monte Carlo computer takes a win when one is available
+     */
+    @Test
+    public void testTakesWin() {
+        Board board = emptyBoard();
+        board.makeMove(new Move(0, 0, GameEnum.O));
+        board.makeMove(new Move(1, 0, GameEnum.X));
+        board.makeMove(new Move(0, 1, GameEnum.O));
+        board.makeMove(new Move(1, 1, GameEnum.X));
+        MctsComputer mctsAi = new MctsComputer("MctsAi", GameEnum.O, new SplittableRandom(1));
+        assertEquals(Move.of(0, 2, GameEnum.O), mctsAi.getMove(board));
+    }
+
+    /**
+     * Tests that workers growing one tree in parallel still find the only move that doesn't lose
+     */
+    @Test
+    public void testParallelSearchBlocks() {
+        Board board = emptyBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MctsComputer mctsAi = new MctsComputer("MctsAi", GameEnum.O, new SplittableRandom(2), pool, 4,
+                    MctsComputer.DEFAULT_EXPLORATION, MctsComputer.DEFAULT_CAPACITY);
+            assertEquals(Move.of(0, 2, GameEnum.O), mctsAi.getMove(board));
+            assertEquals(MctsComputer.DEFAULT_PLAYOUTS, mctsAi.getLastSearch().getNodes());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the Monte Carlo computer has no move on a full board
+     */
+    @Test
+    public void testFullBoard() {
+        Board board = emptyBoard();
+        GameEnum[] cells = {
+            GameEnum.X, GameEnum.O, GameEnum.X,
+            GameEnum.X, GameEnum.O, GameEnum.O,
+            GameEnum.O, GameEnum.X, GameEnum.X
+        };
+        for (int i = 0; i < cells.length; i++) {
+            board.makeMove(Move.of(i, cells[i]));
+        }
+        assertNull(new MctsComputer("MctsAi", GameEnum.X).getMove(board));
+    }
+
+    /**
+     * Tests that a node budget caps the playouts and that the reused tree starts afresh on every move
+     */
+    @Test
+    public void testPlayoutBudget() {
+        MctsComputer mctsAi = new MctsComputer("MctsAi", GameEnum.X, new SplittableRandom(3));
+        mctsAi.setSearchBudget(new SearchBudget(Long.MAX_VALUE, 500));
+        for (int i = 0; i < 2; i++) {
+            assertTrue(emptyBoard().isValidMove(mctsAi.getMove(emptyBoard())));
+            SearchStatistics search = mctsAi.getLastSearch();
+            assertEquals(500, search.getNodes());
+            assertTrue(search.getDepth() >= 1);
+            assertFalse(search.isComplete());
+        }
+    }
+
+    /**
+     * Tests that a time budget stops a search whose playout limit is far out of reach
+     */
+    @Test
+    public void testTimeBudget() {
+        MctsComputer mctsAi = new MctsComputer("MctsAi", GameEnum.X, new SplittableRandom(4));
+        mctsAi.setSearchBudget(SearchBudget.ofMillis(20, Long.MAX_VALUE));
+        assertTrue(emptyBoard().isValidMove(mctsAi.getMove(emptyBoard())));
+        SearchStatistics search = mctsAi.getLastSearch();
+        assertTrue(search.getElapsedNanos() >= 20_000_000L);
+        assertTrue(search.getElapsedNanos() < 5_000_000_000L);
+        assertTrue(search.getNodes() > 0);
+    }
+
+    /**
+     * Tests that players moving one after another share the spare trees rather than each making its own. Spares left
+     * too small by earlier tests may be replaced, but never more of them than the spares kept
+     */
+    @Test
+    public void testPlayersShareTrees() {
+        int treesMade = MctsComputer.getTreesMade();
+        for (int i = 0; i < 500; i++) {
+            MctsComputer mctsAi = new MctsComputer("MctsAi" + i, GameEnum.X, new SplittableRandom(i));
+            mctsAi.setSearchBudget(new SearchBudget(Long.MAX_VALUE, 200));
+            assertTrue(emptyBoard().isValidMove(mctsAi.getMove(emptyBoard())));
+        }
+        assertTrue(MctsComputer.getTreesMade() - treesMade <= Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Builds an empty board
+     * @return A board with every cell empty
+     */
+    private Board emptyBoard() {
+        Board board = new Board();
+        board.initializeBoard();
+        return board;
+    }
+}
@@ -359,4 +359,27 @@ public class TestMediumComputer {
         assertEquals(0, mediumAi.getRecord().getLosses());
         assertEquals(0, mediumAi.getRecord().getTies());
     }
+
+    /**
+     * Tests that a single scan prefers a winning move over a blocking move
+     */
+    @Test
+    public void testFindWinningOrBlockMove() {
+        Board board = new Board();
+        board.initializeBoard();
+        MediumComputer mediumAi = new MediumComputer("MediumAi", GameEnum.O);
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 0, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(2, 2, GameEnum.X));
+        Move move = mediumAi.findWinningOrBlockMove(board, GameEnum.O);
+        assertEquals(1, move.getRow());
+        assertEquals(2, move.getCol());
+
+        board.makeMove(new Move(1, 2, GameEnum.X));
+        Move block = mediumAi.findWinningOrBlockMove(board, GameEnum.O);
+        assertEquals(0, block.getRow());
+        assertEquals(2, block.getCol());
+    }
 }
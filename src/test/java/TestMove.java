@@ -1,4 +1,5 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
@@ -36,4 +37,27 @@ public class TestMove {
         Move move = new Move(2, 1, GameEnum.O);
         assertEquals('O', move.getPlayerSymbolAsChar());
     }
+
+    /**
+     * Tests that Move.of hands out the same instance for the same position and symbol
+     */
+    @Test
+    public void testOfInterned() {
+        Move move = Move.of(2, 1, GameEnum.O);
+        assertSame(move, Move.of(2, 1, GameEnum.O));
+        assertSame(move, Move.of(7, GameEnum.O));
+        assertEquals(2, move.getRow());
+        assertEquals(1, move.getCol());
+        assertEquals('O', move.getPlayerSymbolAsChar());
+    }
+
+    /**
+     * Tests that Move.of still creates moves outside the board so they can be rejected by the board
+     */
+    @Test
+    public void testOfOutOfBounds() {
+        Move move = Move.of(3, 0, GameEnum.X);
+        assertEquals(3, move.getRow());
+        assertEquals(0, move.getCol());
+    }
 }
@@ -0,0 +1,278 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.LeaderBoard;
+import tiktactoe.model.gamedata.LeaderBoardService;
+import tiktactoe.model.player.SearchBudget;
+import tiktactoe.server.LoadGenerator;
+import tiktactoe.server.NioGameClient;
+import tiktactoe.server.NioGameServer;
+import tiktactoe.server.WireProtocol;
+
+/**
+ * Tests the NIO game server with the reference client on the loopback address
+ */
+public class TestNioGameServer {
+    @TempDir
+    Path directory;
+    private LeaderBoardService service;
+    private NioGameServer server;
+
+    /**
+     * Starts a server backed by a leaderboard in a temporary directory
+     * @throws IOException If the port can't be bound
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        service = new LeaderBoardService(new LeaderBoard(directory.resolve("leaderboard.json"),
+                directory.resolve("leaderboard.journal")), directory.resolve("games.log"), 60000);
+        server = new NioGameServer(0, service, 500, 2);
+        server.start();
+    }
+
+    /**
+     * Stops the server
+     * @throws IOException If the server channel can't be closed
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Tests that a move is answered with the computer's reply and that bad moves and unknown sessions are refused
+     * @throws IOException If the connection fails
+     */
+    @Test
+    public void testOpenAndMove() throws IOException {
+        try (NioGameClient client = new NioGameClient(server.getPort())) {
+            client.open("Aqua", WireProtocol.HARD, GameEnum.X);
+            client.flush();
+            int session = readOne(client)[0];
+
+            client.move(session, 4);
+            client.flush();
+            int[] result = readOne(client);
+            assertEquals(WireProtocol.YOUR_MOVE, result[1]);
+            assertTrue(result[2] >= 0 && result[2] < 9 && result[2] != 4);
+
+            client.move(session, 4);
+            client.move(session, 9);
+            client.move(session + 1, 0);
+            client.round(session);
+            client.flush();
+            List<int[]> results = readAll(client, 4);
+            assertEquals(WireProtocol.INVALID_MOVE, results.get(0)[1]);
+            assertEquals(WireProtocol.INVALID_MOVE, results.get(1)[1]);
+            assertEquals(WireProtocol.UNKNOWN_SESSION, results.get(2)[1]);
+            assertEquals(WireProtocol.YOUR_MOVE, results.get(3)[1]);
+            assertEquals(WireProtocol.NO_CELL, results.get(3)[2]);
+        }
+    }
+
+    /**
+     * Tests that OPEN is refused for usernames that could break the game log and that no session is started
+     * @throws IOException If the connection fails
+     */
+    @Test
+    public void testBadUsernamesRefused() throws IOException {
+        try (NioGameClient client = new NioGameClient(server.getPort())) {
+            client.open("x\n20000\tAlice\tBob\t1.0", WireProtocol.EASY, GameEnum.X);
+            client.open("Two words", WireProtocol.EASY, GameEnum.X);
+            client.open("Bell\u0007", WireProtocol.EASY, GameEnum.X);
+            client.open("Aqua", WireProtocol.EASY, GameEnum.X);
+            client.flush();
+            List<int[]> results = readAll(client, 4);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(WireProtocol.NO_SESSION, results.get(i)[0]);
+                assertEquals(WireProtocol.BAD_REQUEST, results.get(i)[1]);
+            }
+            assertEquals(WireProtocol.OPENED, results.get(3)[1]);
+            assertEquals(1, server.getSessionCount());
+        }
+    }
+
+    /**
+     * Tests that many sessions on one connection can be played to the end with pipelined requests, more of them at
+     * once than fit in one batch frame, and that closing them records them on the leaderboard
+     * @throws IOException If the connection fails
+     */
+    @Test
+    public void testPipelinedSessions() throws IOException {
+        int sessions = 1100;
+        try (NioGameClient client = new NioGameClient(server.getPort())) {
+            for (int i = 0; i < sessions; i++) {
+                client.open("Player" + i, WireProtocol.MEDIUM, GameEnum.O);
+            }
+            client.flush();
+            int[] ids = new int[sessions];
+            boolean[][] taken = new boolean[sessions][9];
+            List<int[]> opened = readAll(client, sessions);
+            for (int i = 0; i < sessions; i++) {
+                assertEquals(WireProtocol.OPENED, opened.get(i)[1]);
+                ids[i] = opened.get(i)[0];
+            }
+            assertEquals(sessions, server.getSessionCount());
+
+            boolean[] over = new boolean[sessions];
+            int playing = sessions;
+            while (playing > 0) {
+                List<Integer> sent = new ArrayList<>();
+                for (int i = 0; i < sessions; i++) {
+                    if (!over[i]) {
+                        int cell = 0;
+                        while (taken[i][cell]) {
+                            cell++;
+                        }
+                        taken[i][cell] = true;
+                        client.move(ids[i], cell);
+                        sent.add(i);
+                    }
+                }
+                client.flush();
+                List<int[]> results = readAll(client, sent.size());
+                for (int j = 0; j < sent.size(); j++) {
+                    int i = sent.get(j);
+                    int[] result = results.get(j);
+                    assertEquals(ids[i], result[0]);
+                    assertNotEquals(WireProtocol.INVALID_MOVE, result[1]);
+                    if (result[2] != WireProtocol.NO_CELL) {
+                        taken[i][result[2]] = true;
+                    }
+                    if (result[1] != WireProtocol.YOUR_MOVE) {
+                        over[i] = true;
+                        playing--;
+                    }
+                }
+            }
+
+            for (int i = 0; i < sessions; i++) {
+                client.closeSession(ids[i]);
+            }
+            client.flush();
+            for (int[] result : readAll(client, sessions)) {
+                assertEquals(WireProtocol.CLOSED, result[1]);
+            }
+        }
+        assertEquals(0, server.getSessionCount());
+        assertEquals(sessions, service.getRankRange(1, 2 * sessions).keySet().stream()
+                .filter(username -> username.startsWith("Player")).count());
+    }
+
+    /**
+     * Tests that hundreds of Monte Carlo sessions can be hosted at once and each get a reply
+     * @throws IOException If the connection fails
+     */
+    @Test
+    public void testManyMctsSessions() throws IOException {
+        int sessions = 500;
+        server.setMoveBudget(new SearchBudget(Long.MAX_VALUE, 2000));
+        try (NioGameClient client = new NioGameClient(server.getPort())) {
+            for (int i = 0; i < sessions; i++) {
+                client.open("Mcts" + i, WireProtocol.MCTS, GameEnum.X);
+            }
+            client.flush();
+            List<int[]> opened = readAll(client, sessions);
+            for (int[] result : opened) {
+                client.move(result[0], 4);
+            }
+            client.flush();
+            for (int[] result : readAll(client, sessions)) {
+                assertEquals(WireProtocol.YOUR_MOVE, result[1]);
+                assertTrue(result[2] >= 0 && result[2] < 9 && result[2] != 4);
+            }
+            assertEquals(sessions, server.getSessionCount());
+        }
+    }
+
+    /**
+     * Tests that a frame with an unknown opcode is refused and the connection closed, and that a connection that
+     * sends nothing is closed once the idle timeout passes
+     * @throws Exception If the connection fails or the test is interrupted
+     */
+    @Test
+    public void testBadAndIdleConnectionsClosed() throws Exception {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                server.getPort()))) {
+            channel.write(ByteBuffer.wrap(new byte[] {99, 0, 0}));
+            ByteBuffer reply = ByteBuffer.allocate(16);
+            while (channel.read(reply) >= 0) {
+                // Reads until the server closes the connection
+            }
+            assertEquals(6, reply.position());
+            assertEquals(WireProtocol.BAD_REQUEST, reply.get(4));
+        }
+
+        try (NioGameClient client = new NioGameClient(server.getPort())) {
+            client.open("Bob", WireProtocol.EASY, GameEnum.X);
+            client.flush();
+            readOne(client);
+            assertEquals(1, server.getSessionCount());
+            for (int i = 0; i < 500 && server.getSessionCount() != 0; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, server.getSessionCount());
+            boolean closed = false;
+            try {
+                readOne(client);
+            } catch (EOFException e) {
+                closed = true;
+            }
+            assertTrue(closed);
+        }
+    }
+
+    /**
+     * Tests that the load generator plays moves and finishes rounds against the server
+     * @throws IOException If the connection fails
+     */
+    @Test
+    public void testLoadGenerator() throws IOException {
+        LoadGenerator.Result result = new LoadGenerator(server.getPort(), 20, WireProtocol.HARD, 200).run("Load");
+        assertTrue(result.moves() > 0);
+        assertTrue(result.rounds() > 0);
+        assertTrue(result.latencies().length > 0);
+    }
+
+    /**
+     * Reads a single result
+     * @param client The client to read from
+     * @return The session, status and cell of the result
+     * @throws IOException If the connection fails
+     */
+    private int[] readOne(NioGameClient client) throws IOException {
+        return readAll(client, 1).get(0);
+    }
+
+    /**
+     * Reads results until enough have arrived, whatever batches they come in
+     * @param client The client to read from
+     * @param count The number of results to read
+     * @return The session, status and cell of each result, in order
+     * @throws IOException If the connection fails
+     */
+    private List<int[]> readAll(NioGameClient client, int count) throws IOException {
+        List<int[]> results = new ArrayList<>();
+        while (results.size() < count) {
+            client.read((session, status, cell) -> results.add(new int[] {session, status, cell}));
+        }
+        return results;
+    }
+}
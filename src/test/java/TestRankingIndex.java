@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.RankingIndex;
+
+/**
+ * Tests the methods of the ranking index class
+ */
+public class TestRankingIndex {
+
+    /**
+     * Tests that players are ranked by wins with equal wins ordered by username
+     */
+    @Test
+    public void testTop() {
+        RankingIndex index = new RankingIndex();
+        index.insert("Coco", 46);
+        index.insert("Aqua", 6);
+        index.insert("MediumAi", 10);
+        index.insert("Justin", 0);
+        index.insert("Bob", 10);
+        assertEquals(List.of("Coco", "Bob", "MediumAi"), index.top(3));
+        assertEquals(5, index.size());
+        assertEquals(2, index.rankOf("Bob", 10));
+        assertEquals(5, index.rankOf("Justin", 0));
+        assertEquals(-1, index.rankOf("Justin", 1));
+    }
+
+    /**
+     * Tests that a page past the end of the index is empty and a page running off the end is cut short
+     */
+    @Test
+    public void testRangeBounds() {
+        RankingIndex index = new RankingIndex();
+        index.insert("Coco", 46);
+        index.insert("Aqua", 6);
+        assertEquals(List.of(), index.range(3, 5));
+        assertEquals(List.of(), index.range(0, 5));
+        assertEquals(List.of("Aqua"), index.range(2, 5));
+    }
+
+    /**
+     * Tests ranks and pages against a sorted list while many players are added, updated and removed
+     */
+    @Test
+    public void testMatchesSortedList() {
+        RankingIndex index = new RankingIndex();
+        Map<String, Integer> wins = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(5L);
+        for (int i = 0; i < 5000; i++) {
+            String username = "Player" + random.nextInt(1000);
+            Integer old = wins.get(username);
+            if (old != null) {
+                assertTrue(index.remove(username, old));
+            }
+            if (random.nextInt(5) == 0) {
+                wins.remove(username);
+                assertFalse(index.remove(username, old == null ? 0 : old));
+            } else {
+                int updated = (old == null ? 0 : old) + random.nextInt(3);
+                wins.put(username, updated);
+                index.insert(username, updated);
+            }
+        }
+
+        List<String> sorted = new ArrayList<>(wins.keySet());
+        sorted.sort(Comparator.comparing((String username) -> -wins.get(username)).thenComparing(username -> username));
+        assertEquals(sorted.size(), index.size());
+        assertEquals(sorted, index.range(1, sorted.size()));
+        assertEquals(sorted.subList(100, 120), index.range(101, 20));
+        for (int rank = 1; rank <= sorted.size(); rank++) {
+            String username = sorted.get(rank - 1);
+            assertEquals(rank, index.rankOf(username, wins.get(username)));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tiktactoe.model.gamedata.PlayerRecord;
+import tiktactoe.model.rating.GameResult;
+import tiktactoe.model.rating.Glicko;
+import tiktactoe.model.rating.RatingBatch;
+import tiktactoe.model.rating.RatingPeriod;
+
+/**
+ * Tests the methods of the rating batch class
+ */
+public class TestRatingBatch {
+
+    /**
+     * Tests that a period is rated against the ratings from its start and that results are counted
+     */
+    @Test
+    public void testRatePeriod() {
+        RatingBatch batch = new RatingBatch(Glicko.DEFAULT_PERIOD_DECAY, ForkJoinPool.commonPool());
+        batch.ratePeriod(0, List.of(new GameResult(0, "Coco", "Aqua", 1), new GameResult(0, "Aqua", "Bob", 0.5)));
+
+        RatingPeriod aqua = new RatingPeriod(Glicko.INITIAL_RATING, Glicko.INITIAL_DEVIATION);
+        aqua.addGame(Glicko.INITIAL_RATING, Glicko.INITIAL_DEVIATION, 0);
+        aqua.addGame(Glicko.INITIAL_RATING, Glicko.INITIAL_DEVIATION, 0.5);
+        PlayerRecord record = batch.getRecords().get("Aqua");
+        assertEquals(aqua.getNewRating(), record.getRating(), 1e-9);
+        assertEquals(aqua.getNewDeviation(), record.getDeviation(), 1e-9);
+        assertEquals(1, record.getLosses());
+        assertEquals(1, record.getTies());
+        assertEquals(2, batch.getGamesRated());
+    }
+
+    /**
+     * Tests that a streamed log gives the same ratings on one thread and on many, and that bad lines are skipped
+     * @param directory A temporary directory for the log
+     * @throws IOException If the temporary log can't be written or read
+     */
+    @Test
+    public void testRateLogParallel(@TempDir Path directory) throws IOException {
+        Path gameLog = directory.resolve("games.log");
+        SplittableRandom random = new SplittableRandom(9L);
+        try (BufferedWriter writer = Files.newBufferedWriter(gameLog)) {
+            for (int period = 0; period < 20; period++) {
+                for (int game = 0; game < 500; game++) {
+                    String one = "Player" + random.nextInt(200);
+                    String two = "Player" + random.nextInt(200);
+                    writer.write(new GameResult(period, one, two, random.nextInt(3) / 2.0).toLogLine());
+                    writer.newLine();
+                }
+            }
+            writer.write("5\tTorn");
+        }
+
+        RatingBatch sequential = new RatingBatch(Glicko.DEFAULT_PERIOD_DECAY, new ForkJoinPool(1));
+        sequential.rate(gameLog);
+        RatingBatch parallel = new RatingBatch(Glicko.DEFAULT_PERIOD_DECAY, new ForkJoinPool(4));
+        parallel.rate(gameLog);
+
+        assertEquals(1, parallel.getLinesSkipped());
+        assertEquals(sequential.getGamesRated(), parallel.getGamesRated());
+        Map<String, PlayerRecord> expected = sequential.getRecords();
+        Map<String, PlayerRecord> actual = parallel.getRecords();
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<String, PlayerRecord> entry : expected.entrySet()) {
+            PlayerRecord record = actual.get(entry.getKey());
+            assertEquals(entry.getValue().getRating(), record.getRating());
+            assertEquals(entry.getValue().getDeviation(), record.getDeviation());
+            assertEquals(entry.getValue().getWins(), record.getWins());
+            assertTrue(record.getDeviation() < Glicko.INITIAL_DEVIATION);
+        }
+    }
+
+    /**
+     * Tests that a player who sits out periods is rated with a grown deviation when they come back
+     */
+    @Test
+    public void testIdlePlayerDecays() {
+        RatingBatch batch = new RatingBatch(Glicko.DEFAULT_PERIOD_DECAY, ForkJoinPool.commonPool());
+        batch.ratePeriod(0, List.of(new GameResult(0, "Coco", "Aqua", 1)));
+        double settled = batch.getRecords().get("Coco").getDeviation();
+        batch.ratePeriod(10, List.of(new GameResult(10, "Aqua", "Bob", 1)));
+        assertEquals(Glicko.decay(settled, 10, Glicko.DEFAULT_PERIOD_DECAY),
+                batch.getRecords().get("Coco").getDeviation(), 1e-9);
+    }
+
+    /**
+     * Tests that usernames holding tabs, line breaks or backslashes stay on one line of the game log and read back
+     * unchanged
+     */
+    @Test
+    public void testLogLineEscapesUsernames() {
+        GameResult forged = new GameResult(3, "x\n20000\tAlice\tBob\t1.0", "C:\\new\\t", 0.5);
+        String line = forged.toLogLine();
+        assertEquals(-1, line.indexOf('\n'));
+        assertEquals(3, line.chars().filter(c -> c == '\t').count());
+        GameResult parsed = GameResult.parse(line);
+        assertEquals(3, parsed.getPeriod());
+        assertEquals(forged.getPlayerOne(), parsed.getPlayerOne());
+        assertEquals(forged.getPlayerTwo(), parsed.getPlayerTwo());
+        assertEquals(0.5, parsed.getScoreOne());
+    }
+}
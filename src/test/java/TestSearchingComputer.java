@@ -0,0 +1,159 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.HardComputer;
+import tiktactoe.model.player.SearchBudget;
+import tiktactoe.model.player.SearchStatistics;
+import tiktactoe.model.player.SearchingComputer;
+
+/**
+ * Tests the iterative deepening of searching computer players and their search budgets
+ */
+public class TestSearchingComputer {
+
+    /**
+     * Tests that without a budget the search deepens until no line is cut short
+     */
+    @Test
+    public void testUnlimitedSearchCompletes() {
+        CountingComputer computer = new CountingComputer(1000, false);
+        Move move = computer.getMove(emptyBoard());
+        SearchStatistics search = computer.getLastSearch();
+        assertEquals(9, search.getDepth());
+        assertTrue(search.isComplete());
+        assertEquals(45_000, search.getNodes());
+        assertEquals(Move.of(8, GameEnum.O), move);
+    }
+
+    /**
+     * Tests that a node budget throws away the unfinished depth and plays the move of the deepest finished one
+     */
+    @Test
+    public void testNodeBudget() {
+        CountingComputer computer = new CountingComputer(1000, false);
+        computer.setSearchBudget(new SearchBudget(Long.MAX_VALUE, 5000));
+        Move move = computer.getMove(emptyBoard());
+        SearchStatistics search = computer.getLastSearch();
+        assertEquals(2, search.getDepth());
+        assertFalse(search.isComplete());
+        assertEquals(5000, search.getNodes());
+        assertEquals(Move.of(1, GameEnum.O), move);
+    }
+
+    /**
+     * Tests that the first depth always finishes, however small the budget
+     */
+    @Test
+    public void testFirstDepthIgnoresBudget() {
+        CountingComputer computer = new CountingComputer(1000, false);
+        computer.setSearchBudget(new SearchBudget(1, 1));
+        assertEquals(Move.of(0, GameEnum.O), computer.getMove(emptyBoard()));
+        assertEquals(1, computer.getLastSearch().getDepth());
+    }
+
+    /**
+     * Tests that a time budget stops a search that would never finish on its own, and that an interrupt does too
+     */
+    @Test
+    public void testTimeBudgetAndInterrupt() {
+        CountingComputer computer = new CountingComputer(10, true);
+        computer.setSearchBudget(SearchBudget.ofMillis(20, Long.MAX_VALUE));
+        assertEquals(Move.of(0, GameEnum.O), computer.getMove(emptyBoard()));
+        SearchStatistics search = computer.getLastSearch();
+        assertTrue(search.getElapsedNanos() >= 20_000_000L);
+        assertTrue(search.getElapsedNanos() < 5_000_000_000L);
+        assertTrue(search.getNodesPerSecond() > 0);
+
+        computer.setSearchBudget(SearchBudget.UNLIMITED);
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(Move.of(0, GameEnum.O), computer.getMove(emptyBoard()));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Tests that the hard computer reports its search and still finds the only move that doesn't lose on a budget
+     */
+    @Test
+    public void testHardComputerOnBudget() {
+        Board board = emptyBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        HardComputer hardAi = new HardComputer("HardAi", GameEnum.O);
+        hardAi.setSearchBudget(new SearchBudget(Long.MAX_VALUE, 50));
+        assertEquals(Move.of(0, 2, GameEnum.O), hardAi.getMove(board));
+        assertTrue(hardAi.getLastSearch().getDepth() >= 1);
+        assertTrue(hardAi.getNodeCount() <= 50 || hardAi.getLastSearch().getDepth() == 1);
+
+        hardAi.setSearchBudget(SearchBudget.UNLIMITED);
+        hardAi.getMove(board);
+        assertTrue(hardAi.getLastSearch().isComplete());
+    }
+
+    /**
+     * Tests that sharing a budget divides both limits and leaves missing limits alone
+     */
+    @Test
+    public void testShareBudget() {
+        SearchBudget budget = SearchBudget.ofMillis(40, 1000).share(4);
+        assertEquals(10_000_000L, budget.getTimeNanos());
+        assertEquals(250, budget.getNodes());
+        assertEquals(Long.MAX_VALUE, SearchBudget.UNLIMITED.share(8).getNodes());
+        assertEquals(1, new SearchBudget(3, 3).share(10).getTimeNanos());
+    }
+
+    /**
+     * Builds an empty board
+     * @return A board with every cell empty
+     */
+    private Board emptyBoard() {
+        Board board = new Board();
+        board.initializeBoard();
+        return board;
+    }
+
+    /**
+     * A computer player whose search of each depth visits a fixed number of nodes per ply and picks cell depth - 1
+     */
+    private static final class CountingComputer extends SearchingComputer {
+        private final int nodesPerPly;
+        private final boolean endless;
+
+        /**
+         * Constructor for the counting computer, playing O
+         * @param nodesPerPly The nodes visited for each ply of depth
+         * @param endless True to keep visiting nodes after the first depth until the budget runs out
+         */
+        private CountingComputer(int nodesPerPly, boolean endless) {
+            super("CountingAi", GameEnum.O);
+            this.nodesPerPly = nodesPerPly;
+            this.endless = endless;
+        }
+
+        /**
+         * Visits the nodes of one depth
+         * @param board The tic-tac-toe board in data representation
+         * @param depth The number of plies to look ahead
+         * @return Cell depth - 1
+         */
+        @Override
+        protected int searchDepth(Board board, int depth) {
+            for (long i = 0; i < (long) depth * nodesPerPly || endless && depth > 1; i++) {
+                visitNode();
+            }
+            if (depth < Integer.bitCount(board.getEmptyPositions())) {
+                noteHorizon();
+            }
+            return depth - 1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.player.EasyComputer;
+import tiktactoe.model.player.MediumComputer;
+import tiktactoe.simulation.SelfPlaySimulator;
+import tiktactoe.simulation.SimulationResult;
+
+/**
+ * Tests the self-play simulator
+ */
+public class TestSelfPlaySimulator {
+
+    /**
+     * Tests that two perfect players only ever draw and every game is counted once
+     */
+    @Test
+    public void testRunHardVsHard() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(SelfPlaySimulator.factoryFor("hard"),
+                SelfPlaySimulator.factoryFor("hard"));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        SimulationResult result = simulator.run(10000, pool, 1L);
+        pool.shutdown();
+        assertEquals(10000, result.getGames());
+        assertEquals(10000, result.getTies());
+        assertEquals(10000, result.getGameLengthCount(9));
+    }
+
+    /**
+     * Tests that the move distribution adds up to the number of moves played
+     */
+    @Test
+    public void testPlayGamesMoveDistribution() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(EasyComputer::new, EasyComputer::new);
+        SimulationResult result = simulator.playGames(500, new SplittableRandom(1L));
+        long moves = 0;
+        long lengths = 0;
+        for (int cell = 0; cell < 9; cell++) {
+            moves += result.getCellCount(0, cell) + result.getCellCount(1, cell);
+        }
+        for (int length = 0; length <= 9; length++) {
+            lengths += length * result.getGameLengthCount(length);
+        }
+        assertEquals(500, result.getGames());
+        assertEquals(lengths, moves);
+    }
+
+    /**
+     * Tests that a seeded run plays exactly the same games no matter how many threads run it
+     */
+    @Test
+    public void testRunSeededIsReproducible() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(MediumComputer::new, EasyComputer::new);
+        ForkJoinPool onePool = new ForkJoinPool(1);
+        ForkJoinPool fourPool = new ForkJoinPool(4);
+        SimulationResult first = simulator.run(20000, onePool, 42L);
+        SimulationResult second = simulator.run(20000, fourPool, 42L);
+        onePool.shutdown();
+        fourPool.shutdown();
+        assertEquals(first.getPlayerOneWins(), second.getPlayerOneWins());
+        assertEquals(first.getTies(), second.getTies());
+        for (int cell = 0; cell < 9; cell++) {
+            assertEquals(first.getCellCount(1, cell), second.getCellCount(1, cell));
+        }
+    }
+
+    /**
+     * Tests that an unknown difficulty is rejected
+     */
+    @Test
+    public void testFactoryForUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> SelfPlaySimulator.factoryFor("impossible"));
+    }
+}
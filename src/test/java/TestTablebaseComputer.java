@@ -0,0 +1,85 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.player.Tablebase;
+import tiktactoe.model.player.TablebaseComputer;
+
+/**
+ * Tests the methods of the tablebase computer class and the tablebase it reads from
+ */
+public class TestTablebaseComputer {
+
+    /**
+     * Tests that the table holds exactly the 5,478 positions reachable from an empty board
+     */
+    @Test
+    public void testCountReachable() {
+        assertEquals(5478, Tablebase.countReachable());
+    }
+
+    /**
+     * Tests that the empty board is a draw with perfect play
+     */
+    @Test
+    public void testEmptyBoardIsDraw() {
+        assertEquals(GameEnum.TIE, Tablebase.getValue(0, 0));
+        assertEquals(Board.FULL_BOARD, Tablebase.getBestMoves(0, 0));
+    }
+
+    /**
+     * Tests that the tablebase computer takes a win when one is available
+     */
+    @Test
+    public void testGetMoveTakesWin() {
+        Board board = new Board();
+        board.initializeBoard();
+        TablebaseComputer tablebaseAi = new TablebaseComputer("PerfectAi", GameEnum.O);
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 0, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(2, 2, GameEnum.X));
+        Move move = tablebaseAi.getMove(board);
+        assertEquals(1, move.getRow());
+        assertEquals(2, move.getCol());
+        assertEquals('O', move.getPlayerSymbolAsChar());
+    }
+
+    /**
+     * Tests that no move is returned on a full board
+     */
+    @Test
+    public void testGetMoveFullBoard() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.O));
+        board.makeMove(new Move(0, 2, GameEnum.X));
+        board.makeMove(new Move(1, 0 , GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.X));
+        board.makeMove(new Move(1, 2, GameEnum.O));
+        board.makeMove(new Move(2, 0, GameEnum.O));
+        board.makeMove(new Move(2, 1, GameEnum.X));
+        board.makeMove(new Move(2, 2, GameEnum.O));
+        TablebaseComputer tablebaseAi = new TablebaseComputer("PerfectAi", GameEnum.X);
+        assertNull(tablebaseAi.getMove(board));
+    }
+
+    /**
+     * Tests that the tablebase computer never loses against every possible sequence of opponent moves
+     */
+    @Test
+    public void testNeverLoses() {
+        for (GameEnum symbol : new GameEnum[] {GameEnum.X, GameEnum.O}) {
+            TablebaseComputer tablebaseAi = new TablebaseComputer("PerfectAi", symbol);
+            Board board = new Board();
+            board.initializeBoard();
+            ComputerPlayerAssertions.assertNeverLoses(board, tablebaseAi, GameEnum.X);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import tiktactoe.model.gamedata.Board;
+import tiktactoe.model.gamedata.GameEnum;
+import tiktactoe.model.gamedata.Move;
+import tiktactoe.model.gamedata.ThreatAnalysis;
+
+/**
+ * Tests the threat analysis of the board
+ */
+public class TestThreatAnalysis {
+
+    /**
+     * Tests that an empty board has no threats
+     */
+    @Test
+    public void testEmptyBoard() {
+        Board board = new Board();
+        board.initializeBoard();
+        ThreatAnalysis threats = board.analyzeThreats(GameEnum.X);
+        assertEquals(0, threats.getWinningCells());
+        assertEquals(0, threats.getBlockingCells());
+        assertEquals(0, threats.getForkCells());
+        assertEquals(-1, threats.getFirstWinningCell());
+        assertEquals(-1, threats.getFirstBlockingCell());
+    }
+
+    /**
+     * Tests that winning and blocking cells are reported for both players
+     */
+    @Test
+    public void testWinningAndBlockingCells() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 0, GameEnum.O));
+        board.makeMove(new Move(0, 1, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        ThreatAnalysis threats = board.analyzeThreats(GameEnum.X);
+        assertEquals(Board.toBit(0, 2), threats.getWinningCells());
+        assertEquals(Board.toBit(1, 2), threats.getBlockingCells());
+        assertEquals(2, threats.getFirstWinningCell());
+        assertEquals(5, threats.getFirstBlockingCell());
+        assertFalse(threats.hasDoubleThreat());
+    }
+
+    /**
+     * Tests that a cell joining two open lines is reported as a fork
+     */
+    @Test
+    public void testForkCells() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(2, 2, GameEnum.X));
+        ThreatAnalysis threats = board.analyzeThreats(GameEnum.X);
+        assertEquals(Board.toBit(0, 2) | Board.toBit(2, 0), threats.getForkCells());
+        assertEquals(0, board.analyzeThreats(GameEnum.O).getForkCells());
+    }
+
+    /**
+     * Tests that two winning cells at once are reported as a double threat
+     */
+    @Test
+    public void testDoubleThreat() {
+        Board board = new Board();
+        board.initializeBoard();
+        board.makeMove(new Move(0, 0, GameEnum.X));
+        board.makeMove(new Move(1, 1, GameEnum.O));
+        board.makeMove(new Move(2, 2, GameEnum.X));
+        board.makeMove(new Move(0, 1, GameEnum.O));
+        board.makeMove(new Move(2, 0, GameEnum.X));
+        assertTrue(board.analyzeThreats(GameEnum.X).hasDoubleThreat());
+        assertTrue(board.analyzeThreats(GameEnum.O).opponentHasDoubleThreat());
+    }
+}